@@ -0,0 +1,113 @@
+package net.shoreline.client.util.collection;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive ring buffers with the boxed
+ * {@link ConcurrentLinkedDeque} based <tt>EvictingQueue</tt> they replaced.
+ * Each operation adds a value and reads the average of the window, as the
+ * tick manager does every tick and the attack latency every attack. Run
+ * with the gc profiler for the bytes per operation.
+ *
+ * @author linus
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RingBufferBenchmark
+{
+    @Param({"20", "100"})
+    public int capacity;
+    //
+    private FloatRingBuffer floatBuffer;
+    private LongRingBuffer longBuffer;
+    private LegacyEvictingQueue<Float> floatQueue;
+    private LegacyEvictingQueue<Long> longQueue;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        floatBuffer = new FloatRingBuffer(capacity);
+        longBuffer = new LongRingBuffer(capacity);
+        floatQueue = new LegacyEvictingQueue<>(capacity);
+        longQueue = new LegacyEvictingQueue<>(capacity);
+        for (int i = 0; i < capacity; i++)
+        {
+            floatBuffer.add(20.0f);
+            longBuffer.add(i);
+            floatQueue.add(20.0f);
+            longQueue.add((long) i);
+        }
+    }
+
+    @Benchmark
+    public float floatRingBuffer()
+    {
+        floatBuffer.add((next++ & 15) + 5.0f);
+        return floatBuffer.average();
+    }
+
+    @Benchmark
+    public float floatEvictingQueue()
+    {
+        floatQueue.add((next++ & 15) + 5.0f);
+        float sum = 0.0f;
+        for (float value : floatQueue)
+        {
+            sum += value;
+        }
+        return sum / floatQueue.size();
+    }
+
+    @Benchmark
+    public double longRingBuffer()
+    {
+        longBuffer.add(next++ & 255);
+        return longBuffer.average();
+    }
+
+    @Benchmark
+    public double longEvictingQueue()
+    {
+        longQueue.add(next++ & 255);
+        long sum = 0;
+        for (long value : longQueue)
+        {
+            sum += value;
+        }
+        return (double) sum / longQueue.size();
+    }
+
+    /**
+     * The previous <tt>EvictingQueue</tt>, whose {@link #size()} is O(n)
+     * and is called on every add
+     */
+    private static class LegacyEvictingQueue<E> extends ConcurrentLinkedDeque<E>
+    {
+        private final int limit;
+
+        private LegacyEvictingQueue(int limit)
+        {
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean add(E element)
+        {
+            boolean add = super.add(element);
+            while (add && size() > limit)
+            {
+                super.remove();
+            }
+            return add;
+        }
+    }
+}
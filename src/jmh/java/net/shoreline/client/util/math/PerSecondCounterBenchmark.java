@@ -0,0 +1,94 @@
+package net.shoreline.client.util.math;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bucketed {@link PerSecondCounter} with the previous counter,
+ * which kept a time stamp per event in a {@link LinkedList}. Each operation
+ * counts one event and reads the rate every {@link #READ_INTERVAL} events,
+ * like the packet counters which are updated per packet and read per frame.
+ * The thread benchmarks update from several threads like the netty
+ * thread does. Run with the gc profiler for the bytes per operation.
+ *
+ * @author linus
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PerSecondCounterBenchmark
+{
+    private static final int READ_INTERVAL = 64;
+    //
+    private final PerSecondCounter counter = new PerSecondCounter();
+    private final LegacyPerSecondCounter legacyCounter = new LegacyPerSecondCounter();
+
+    @State(Scope.Thread)
+    public static class ThreadState
+    {
+        private int events;
+    }
+
+    @Benchmark
+    public int counter(ThreadState state)
+    {
+        counter.updateCounter();
+        return ++state.events % READ_INTERVAL == 0 ? counter.getPerSecond() : 0;
+    }
+
+    @Benchmark
+    public int legacyCounter(ThreadState state)
+    {
+        synchronized (legacyCounter)
+        {
+            legacyCounter.updateCounter();
+            return ++state.events % READ_INTERVAL == 0 ? legacyCounter.getPerSecond() : 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int counterThreads(ThreadState state)
+    {
+        return counter(state);
+    }
+
+    /**
+     * Synchronized since the previous counter was not thread safe
+     */
+    @Benchmark
+    @Threads(4)
+    public int legacyCounterThreads(ThreadState state)
+    {
+        return legacyCounter(state);
+    }
+
+    /**
+     * The previous counter
+     */
+    private static class LegacyPerSecondCounter
+    {
+        private final LinkedList<Long> counter = new LinkedList<>();
+
+        public void updateCounter()
+        {
+            counter.add(System.currentTimeMillis() + 1000L);
+        }
+
+        public int getPerSecond()
+        {
+            long time = System.currentTimeMillis();
+            while (!counter.isEmpty() && counter.peek() < time)
+            {
+                counter.remove();
+            }
+            return counter.size();
+        }
+    }
+}
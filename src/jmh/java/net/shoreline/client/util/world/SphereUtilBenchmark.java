@@ -0,0 +1,78 @@
+package net.shoreline.client.util.world;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link SphereUtil} offset tables with the per-call sphere
+ * builders they replaced, which looped over the <tt>double</tt> cube of the
+ * radius every tick and allocated a {@link BlockPos} per position. The
+ * callers then filtered the cube by distance, which the <tt>legacy</tt>
+ * benchmarks include. Run with the gc profiler for the bytes per sphere.
+ *
+ * @author linus
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SphereUtilBenchmark
+{
+    @Param({"4", "5", "6", "7", "8"})
+    public int radius;
+    // Not block aligned, like the player eye position
+    private final Vec3d origin = new Vec3d(103.37, 64.62, -57.81);
+
+    @Benchmark
+    public List<BlockPos> legacyCube()
+    {
+        double rad = Math.ceil(radius);
+        List<BlockPos> sphere = new ArrayList<>();
+        for (double x = -rad; x <= rad; x++)
+        {
+            for (double y = -rad; y <= rad; y++)
+            {
+                for (double z = -rad; z <= rad; z++)
+                {
+                    sphere.add(new BlockPos((int) (origin.getX() + x),
+                            (int) (origin.getY() + y), (int) (origin.getZ() + z)));
+                }
+            }
+        }
+        return sphere;
+    }
+
+    @Benchmark
+    public void legacySphere(Blackhole blackhole)
+    {
+        double radiusSq = radius * radius;
+        for (BlockPos pos : legacyCube())
+        {
+            if (pos.getSquaredDistance(origin) <= radiusSq)
+            {
+                blackhole.consume(pos);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<BlockPos> sphereList()
+    {
+        return SphereUtil.getSphere(origin, radius);
+    }
+
+    @Benchmark
+    public void sphereVisit(Blackhole blackhole)
+    {
+        SphereUtil.forEach(origin, radius, pos -> blackhole.consume(pos.asLong()));
+    }
+}
@@ -0,0 +1,114 @@
+package net.shoreline.eventbus;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import net.shoreline.eventbus.annotation.EventListener;
+import net.shoreline.eventbus.event.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Time and allocations of a single dispatch to 1, 10 and 50 listeners. The
+ * <tt>legacy</tt> mode is the previous bus, which kept a PriorityQueue per
+ * event type and copied it into a new ArrayList on every dispatch. Run with
+ * the gc profiler for the bytes per dispatch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBusBenchmark {
+    @Param({"1", "10", "50"})
+    public int listeners;
+    @Param({"legacy", "snapshot", "generated"})
+    public String mode;
+    private EventHandler bus;
+    private final BenchmarkEvent event = new BenchmarkEvent();
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        if (this.mode.equals("legacy")) {
+            this.bus = new LegacyEventBus();
+        } else {
+            EventBus eventBus = new EventBus();
+            eventBus.setGeneratedDispatch(this.mode.equals("generated"));
+            this.bus = eventBus;
+        }
+        for (int i = 0; i < this.listeners; ++i) {
+            this.bus.subscribe(new BenchmarkSubscriber(blackhole));
+        }
+    }
+
+    @Benchmark
+    public boolean dispatch() {
+        return this.bus.dispatch(this.event);
+    }
+
+    public static class BenchmarkEvent extends Event {
+    }
+
+    public static class BenchmarkSubscriber {
+        private final Blackhole blackhole;
+
+        public BenchmarkSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @EventListener
+        public void onBenchmark(BenchmarkEvent event) {
+            this.blackhole.consume(event);
+        }
+    }
+
+    /**
+     * The dispatch of the previous bus
+     */
+    private static class LegacyEventBus implements EventHandler {
+        private final Map<Object, PriorityQueue<Listener>> listeners = new ConcurrentHashMap<Object, PriorityQueue<Listener>>();
+
+        @Override
+        public void subscribe(Object obj) {
+            for (Method method : obj.getClass().getMethods()) {
+                EventListener listener = method.getAnnotation(EventListener.class);
+                if (listener == null || method.getParameterCount() != 1) continue;
+                PriorityQueue<Listener> active = this.listeners.computeIfAbsent(method.getParameterTypes()[0], v -> new PriorityQueue<Listener>());
+                active.add(new Listener(method, obj, listener.receiveCanceled(), listener.priority()));
+            }
+        }
+
+        @Override
+        public void unsubscribe(Object obj) {
+            this.listeners.values().forEach(set -> set.removeIf(l -> l.getSubscriber() == obj));
+        }
+
+        @Override
+        public boolean dispatch(Event event) {
+            PriorityQueue<Listener> active = this.listeners.get(event.getClass());
+            if (active == null || active.isEmpty()) {
+                return false;
+            }
+            for (Listener listener : new ArrayList<Listener>(active)) {
+                if (event.isCanceled() && !listener.isReceiveCanceled()) continue;
+                listener.invokeSubscriber(event);
+            }
+            return event.isCanceled();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package net.shoreline.eventbus.event;
+
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.annotation.Cancelable;
+import net.shoreline.eventbus.annotation.EventListener;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocations of a packet heavy replay, {@link #PACKETS} packets of mixed
+ * types per operation dispatched to a few packet listeners. The
+ * <tt>allocated</tt> mode creates a new event per packet and looks up the
+ * cancelable annotation reflectively as the previous {@link Event}
+ * constructor did, the <tt>pooled</tt> mode acquires and releases the event
+ * from an {@link EventPool}. Run with the gc profiler for the bytes per
+ * replay.
+ *
+ * @author linus
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventPoolBenchmark
+{
+    private static final int PACKETS = 1024;
+    //
+    @Param({"allocated", "pooled"})
+    public String mode;
+    private final EventBus bus = new EventBus();
+    private final Object[] packets = new Object[PACKETS];
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole)
+    {
+        // Stand-ins for packet classes, the listeners filter by these
+        Object[] types = {"chat", 1, 1L, 1.0f, 1.0, 'c', true};
+        Random random = new Random(0);
+        for (int i = 0; i < packets.length; i++)
+        {
+            packets[i] = types[random.nextInt(types.length)];
+        }
+        bus.subscribe(new PacketSubscriber(blackhole));
+    }
+
+    @Benchmark
+    public int replay()
+    {
+        int canceled = 0;
+        boolean pooled = mode.equals("pooled");
+        for (Object packet : packets)
+        {
+            PacketEvent event = pooled ? PacketEvent.acquire(packet) : new LegacyPacketEvent(packet);
+            if (bus.dispatch(event))
+            {
+                canceled++;
+            }
+            event.release();
+        }
+        return canceled;
+    }
+
+    @Cancelable
+    public static class PacketEvent extends Event implements FilterableEvent
+    {
+        private static final EventPool<PacketEvent> POOL = new EventPool<>(() -> new PacketEvent(null));
+        //
+        private Object packet;
+
+        public PacketEvent(Object packet)
+        {
+            this.packet = packet;
+        }
+
+        public static PacketEvent acquire(Object packet)
+        {
+            PacketEvent event = POOL.acquire();
+            event.packet = packet;
+            return event;
+        }
+
+        @Override
+        protected void reset()
+        {
+            super.reset();
+            packet = null;
+        }
+
+        @Override
+        public Class<?> getFilterType()
+        {
+            return packet.getClass();
+        }
+    }
+
+    /**
+     * A packet event with the reflective cancelable lookup of the previous
+     * {@link Event} constructor. The bus dispatches by the exact event class,
+     * so it has its own listeners.
+     */
+    @Cancelable
+    public static class LegacyPacketEvent extends PacketEvent
+    {
+        private final boolean legacyCancelable = getClass().isAnnotationPresent(Cancelable.class);
+
+        public LegacyPacketEvent(Object packet)
+        {
+            super(packet);
+        }
+
+        @Override
+        public boolean isCancelable()
+        {
+            return legacyCancelable;
+        }
+    }
+
+    public static class PacketSubscriber
+    {
+        private final Blackhole blackhole;
+
+        public PacketSubscriber(Blackhole blackhole)
+        {
+            this.blackhole = blackhole;
+        }
+
+        @EventListener
+        public void onPacket(PacketEvent event)
+        {
+            blackhole.consume(event);
+        }
+
+        @EventListener(filter = String.class)
+        public void onChatPacket(PacketEvent event)
+        {
+            event.cancel();
+        }
+
+        @EventListener
+        public void onLegacyPacket(LegacyPacketEvent event)
+        {
+            blackhole.consume(event);
+        }
+
+        @EventListener(filter = String.class)
+        public void onLegacyChatPacket(LegacyPacketEvent event)
+        {
+            event.cancel();
+        }
+    }
+}
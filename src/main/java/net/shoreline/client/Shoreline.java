@@ -4,12 +4,18 @@ import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.shoreline.client.api.Identifiable;
+import net.minecraft.client.MinecraftClient;
 import net.shoreline.client.api.file.ClientConfiguration;
+import net.shoreline.client.init.InitGraph;
 import net.shoreline.client.init.Managers;
+import net.shoreline.eventbus.EventBus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
@@ -31,6 +37,9 @@ public class Shoreline implements ClientModInitializer
     // game instance is shutdown.
     public static ShutdownHook SHUTDOWN;
     public static Executor EXECUTOR;
+    // Threads which run the parallel init stages
+    private static final int INIT_THREADS =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
 
     /**
      * Called during {@link ShorelineMod#onInitializeClient()}
@@ -42,17 +51,56 @@ public class Shoreline implements ClientModInitializer
         info("Starting preInit ...");
 
         EXECUTOR = Executors.newFixedThreadPool(1);
-        info("Starting init ...");
-        Managers.init();
-        // Commands.init();
-        info("Starting postInit ...");
-        CONFIG = new ClientConfiguration();
-        Managers.postInit();
-        SHUTDOWN = new ShutdownHook();
-        Runtime.getRuntime().addShutdownHook(SHUTDOWN);
-        // load configs AFTER everything has been initialized
-        // this is to prevent configs loading before certain aspects of managers are available
-        CONFIG.loadClient();
+        final ExecutorService initExecutor = Executors.newFixedThreadPool(INIT_THREADS, r ->
+        {
+            Thread thread = new Thread(r, "Shoreline-Init");
+            thread.setDaemon(true);
+            return thread;
+        });
+        new InitGraph(initExecutor)
+                .stage("listener-invokers", Shoreline::prepareListeners)
+                .mainStage("managers", () ->
+                {
+                    info("Starting init ...");
+                    Managers.init();
+                })
+                // Commands.init();
+                .mainStage("config", () ->
+                {
+                    info("Starting postInit ...");
+                    CONFIG = new ClientConfiguration();
+                }, "managers")
+                .mainStage("post-init", () ->
+                {
+                    Managers.postInit();
+                    SHUTDOWN = new ShutdownHook();
+                    Runtime.getRuntime().addShutdownHook(SHUTDOWN);
+                }, "config")
+                // load configs AFTER everything has been initialized
+                // this is to prevent configs loading before certain aspects of managers are available
+                .stage("config-load", () -> CONFIG.loadClient().join(), "post-init")
+                .stage("cape-prefetch", () -> Managers.CAPES.prefetch(
+                        MinecraftClient.getInstance().getSession().getUsername()), "post-init")
+                .run()
+                .whenComplete((v, t) -> initExecutor.shutdown());
+    }
+
+    /**
+     * Builds the listener invokers of the managers while they are
+     * constructed. The managers are prepared in reverse init order so the
+     * init thread and the main thread meet in the middle. Toggle modules
+     * build their invokers once they are first enabled.
+     */
+    private static void prepareListeners()
+    {
+        Field[] fields = Managers.class.getFields();
+        for (int i = fields.length - 1; i >= 0; i--)
+        {
+            if (Modifier.isStatic(fields[i].getModifiers()))
+            {
+                EventBus.INSTANCE.prepare(fields[i].getType());
+            }
+        }
     }
 
     @Override
@@ -8,6 +8,7 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import net.shoreline.client.api.config.Config;
 import net.shoreline.client.api.module.Module;
+import net.shoreline.client.init.Managers;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -35,21 +36,9 @@ public class ConfigArgumentType implements ArgumentType<Config<?>>
     public Config<?> parse(StringReader reader) throws CommandSyntaxException
     {
         String string = reader.readString();
-        Config<?> config = null;
-        for (Config<?> config1 : module.getConfigs())
-        {
-            if (config1.getName().equalsIgnoreCase("Enabled") || config1.getName().equalsIgnoreCase("Keybind")
-                    || config1.getName().equalsIgnoreCase("Hidden") || config1.getName().equalsIgnoreCase("Notify"))
-            {
-                continue;
-            }
-            if (config1.getName().equalsIgnoreCase(string))
-            {
-                config = config1;
-                break;
-            }
-        }
-        if (config == null)
+        Config<?> config = Managers.MODULE.getConfig(Config.toId(module, string));
+        if (config == null || config.getName().equalsIgnoreCase("Enabled") || config.getName().equalsIgnoreCase("Keybind")
+                || config.getName().equalsIgnoreCase("Hidden") || config.getName().equalsIgnoreCase("Notify"))
         {
             throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, null);
         }
@@ -60,7 +49,7 @@ public class ConfigArgumentType implements ArgumentType<Config<?>>
     public <S> CompletableFuture<Suggestions> listSuggestions(final CommandContext<S> context,
                                                               final SuggestionsBuilder builder)
     {
-        for (Config<?> config : module.getConfigs())
+        for (Config<?> config : Managers.MODULE.getConfigs().getConfigs(module))
         {
             if (config.getName().equalsIgnoreCase("Enabled") || config.getName().equalsIgnoreCase("Keybind")
                     || config.getName().equalsIgnoreCase("Hidden"))
@@ -47,6 +47,8 @@ public abstract class Config<T> implements Identifiable, Serializable<T>
     // Parent container. All configs should be added to a config container,
     // otherwise they will not be saved locally.
     private ConfigContainer container;
+    // Interned unique identifier, computed once the container is set
+    private String id;
     //
     private Supplier<Boolean> visible;
     //
@@ -148,7 +150,7 @@ public abstract class Config<T> implements Identifiable, Serializable<T>
     @Override
     public String getId()
     {
-        return String.format("%s-%s-config", container.getName().toLowerCase(), name.toLowerCase());
+        return id;
     }
 
     /**
@@ -214,6 +216,18 @@ public abstract class Config<T> implements Identifiable, Serializable<T>
     public void setContainer(final ConfigContainer cont)
     {
         container = cont;
+        id = toId(cont, name).intern();
+    }
+
+    /**
+     * @param cont The parent container
+     * @param name The config name, case-insensitive
+     * @return The id of the config with the name in the container
+     * @see #getId()
+     */
+    public static String toId(ConfigContainer cont, String name)
+    {
+        return String.format("%s-%s-config", cont.getName().toLowerCase(), name.toLowerCase());
     }
 
     public Animation getAnimation()
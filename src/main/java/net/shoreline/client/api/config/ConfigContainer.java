@@ -12,11 +12,12 @@ import net.shoreline.client.util.Globals;
 import java.awt.*;
 import java.util.List;
 import java.util.*;
-import java.util.concurrent.ConcurrentMap;
 
 /**
- * Container for {@link Config} backed by a {@link ConcurrentMap}. Manages
- * all declared configurations for the container class.
+ * Container for {@link Config}. Manages all declared configurations for the
+ * container class. Configs are registered while the container is
+ * constructed, lookups read an immutable {@link ConfigIndex} which is built
+ * on the first lookup after the configs changed, so lookups never lock.
  *
  * @author linus
  * @see Config
@@ -27,9 +28,10 @@ public class ConfigContainer implements Identifiable, Serializable<Config<?>>, G
     // Container name is its UNIQUE identifier.
     protected final String name;
     // List of all configurations in the container. The configs are managed
-    // by a Map with references to their data tags.
-    private final Map<String, Config<?>> configurations =
-            Collections.synchronizedMap(new LinkedHashMap<>());
+    // by a Map with references to their data tags. Guarded by itself.
+    private final Map<String, Config<?>> configurations = new LinkedHashMap<>();
+    // Snapshot of the configurations, null after the configs changed
+    private volatile ConfigIndex index;
 
     /**
      * Declared {@link Config}s will not be registered if this process does not complete.
@@ -49,7 +51,11 @@ public class ConfigContainer implements Identifiable, Serializable<Config<?>>, G
     protected <T> Config<T> register(Config<T> config)
     {
         config.setContainer(this);
-        configurations.put(config.getId(), config);
+        synchronized (configurations)
+        {
+            configurations.put(config.getId(), config);
+            index = null;
+        }
         return config;
     }
 
@@ -66,7 +72,11 @@ public class ConfigContainer implements Identifiable, Serializable<Config<?>>, G
 
     protected void unregister(Config<?> config)
     {
-        configurations.remove(config.getId());
+        synchronized (configurations)
+        {
+            configurations.remove(config.getId());
+            index = null;
+        }
     }
 
     protected void unregister(Config<?>... configs)
@@ -261,14 +271,45 @@ public class ConfigContainer implements Identifiable, Serializable<Config<?>>, G
      */
     public Config<?> getConfig(String id)
     {
-        return configurations.get(id);
+        return getIndex().getById(id);
     }
 
     /**
-     * @return
+     * @param name The config name, case-insensitive
+     * @return The config with the name or <tt>null</tt>
+     * @see Config#getName()
+     */
+    public Config<?> getConfigByName(String name)
+    {
+        return getIndex().getByName(name);
+    }
+
+    /**
+     * @return The configs in registration order, unmodifiable
      */
     public Collection<Config<?>> getConfigs()
     {
-        return configurations.values();
+        return getIndex().getConfigs();
+    }
+
+    /**
+     * @return The index of the current configs
+     */
+    public ConfigIndex getIndex()
+    {
+        ConfigIndex current = index;
+        if (current == null)
+        {
+            synchronized (configurations)
+            {
+                current = index;
+                if (current == null)
+                {
+                    current = new ConfigIndex(configurations.values());
+                    index = current;
+                }
+            }
+        }
+        return current;
     }
 }
@@ -0,0 +1,84 @@
+package net.shoreline.client.api.config;
+
+import java.util.*;
+
+/**
+ * Immutable index of a set of {@link Config}s by their interned id and by
+ * their case-insensitive name. Safe to read from any thread.
+ *
+ * @author linus
+ * @see ConfigContainer#getIndex()
+ * @since 1.0
+ */
+public final class ConfigIndex
+{
+    //
+    private final Map<String, Config<?>> byId;
+    private final Map<String, Config<?>> byName;
+    private final List<Config<?>> configs;
+    private final Map<ConfigContainer, List<Config<?>>> byContainer;
+
+    /**
+     * @param configs The indexed configs, the first config wins if names
+     *                collide
+     */
+    public ConfigIndex(Collection<Config<?>> configs)
+    {
+        Map<String, Config<?>> byId = new HashMap<>(configs.size() * 2);
+        Map<String, Config<?>> byName = new HashMap<>(configs.size() * 2);
+        Map<ConfigContainer, List<Config<?>>> byContainer = new HashMap<>();
+        for (Config<?> config : configs)
+        {
+            byId.put(config.getId(), config);
+            byName.putIfAbsent(config.getName().toLowerCase(Locale.ROOT), config);
+            byContainer.computeIfAbsent(config.getContainer(), c -> new ArrayList<>()).add(config);
+        }
+        byContainer.replaceAll((c, list) -> List.copyOf(list));
+        this.byId = byId;
+        this.byName = byName;
+        this.configs = List.copyOf(configs);
+        this.byContainer = byContainer;
+    }
+
+    /**
+     * @param id The config id
+     * @return The config with the id or <tt>null</tt>
+     * @see Config#getId()
+     */
+    public Config<?> getById(String id)
+    {
+        return byId.get(id);
+    }
+
+    /**
+     * @param name The config name, case-insensitive
+     * @return The config with the name or <tt>null</tt>
+     * @see Config#getName()
+     */
+    public Config<?> getByName(String name)
+    {
+        return byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return The indexed configs in order, unmodifiable
+     */
+    public List<Config<?>> getConfigs()
+    {
+        return configs;
+    }
+
+    /**
+     * @param container The config container
+     * @return The indexed configs of the container in order, unmodifiable
+     */
+    public List<Config<?>> getConfigs(ConfigContainer container)
+    {
+        return byContainer.getOrDefault(container, List.of());
+    }
+
+    public int size()
+    {
+        return configs.size();
+    }
+}
@@ -3,7 +3,10 @@ package net.shoreline.client.api.config.setting;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import net.shoreline.client.api.config.Config;
+import net.shoreline.client.impl.event.config.ConfigUpdateEvent;
 import net.shoreline.client.impl.module.client.ColorsModule;
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.event.StageEvent;
 
 import java.awt.*;
 import java.util.function.Supplier;
@@ -139,6 +142,17 @@ public class ColorConfig extends Config<Color>
 
     public void setGlobal(boolean global)
     {
+        // Configs are constructed before they are added to their container
+        if (this.global != global && getContainer() != null)
+        {
+            // The global state is saved with the color
+            ConfigUpdateEvent configUpdateEvent = new ConfigUpdateEvent(this);
+            configUpdateEvent.setStage(StageEvent.EventStage.PRE);
+            EventBus.INSTANCE.dispatch(configUpdateEvent);
+            this.global = global;
+            configUpdateEvent.setStage(StageEvent.EventStage.POST);
+            EventBus.INSTANCE.dispatch(configUpdateEvent);
+        }
         this.global = global;
         configAnimation.setState(global);
         if (ColorsModule.getInstance() != null && global)
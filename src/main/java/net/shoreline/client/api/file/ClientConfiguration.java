@@ -1,5 +1,6 @@
 package net.shoreline.client.api.file;
 
+import com.google.gson.JsonObject;
 import net.shoreline.client.Shoreline;
 import net.shoreline.client.api.font.FontFile;
 import net.shoreline.client.api.macro.MacroFile;
@@ -9,28 +10,42 @@ import net.shoreline.client.api.module.file.ModuleFile;
 import net.shoreline.client.api.social.SocialFile;
 import net.shoreline.client.api.social.SocialRelation;
 import net.shoreline.client.api.waypoint.WaypointFile;
+import net.shoreline.client.impl.event.config.ConfigUpdateEvent;
 import net.shoreline.client.impl.gui.click.ClickGuiFile;
 import net.shoreline.client.impl.module.misc.InvCleanerModule;
 import net.shoreline.client.init.Managers;
 import net.shoreline.client.util.Globals;
 import net.shoreline.client.util.chat.ChatUtil;
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.annotation.EventListener;
+import net.shoreline.eventbus.event.StageEvent;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * Module files are only written after one of their configs changed, the
+ * modules are tracked through {@link ConfigUpdateEvent}. Changed modules are
+ * serialized on the thread which saves and written by the writer thread,
+ * saves which are queued before the writer runs are coalesced into one
+ * write per file.
+ *
  * @author linus
  * @see ConfigFile
  * @since 1.0
  */
 public class ClientConfiguration implements Globals
 {
+    // Max time the shutdown waits for the pending writes
+    private static final long SHUTDOWN_TIMEOUT = 5000L;
     // Set of configuration files that must be saved and loaded. This can be
     // modified after init.
     private final Set<ConfigFile> files = new HashSet<>();
@@ -44,6 +59,18 @@ public class ClientConfiguration implements Globals
     private final FontFile fontFile;
 
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    //
+    private final Map<Module, ModuleFile> moduleFiles = new HashMap<>();
+    private final Set<ModuleFile> dirtyFiles = ConcurrentHashMap.newKeySet();
+    // The latest serialized module of every file waiting for the writer
+    private final Map<ModuleFile, JsonObject> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean writeQueued = new AtomicBoolean();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "Shoreline-ConfigWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      *
@@ -108,7 +135,9 @@ public class ClientConfiguration implements Globals
         for (Module module : Managers.MODULE.getModules())
         {
             // files.add(new ModulePreset(clientDir.resolve("Defaults"), module));
-            files.add(new ModuleFile(clientDir.resolve("Modules"), module));
+            ModuleFile file = new ModuleFile(clientDir.resolve("Modules"), module);
+            files.add(file);
+            moduleFiles.put(module, file);
         }
         files.add(InvCleanerModule.getInstance().getBlacklistFile(clientDir));
         files.add(new WaypointFile(clientDir));
@@ -118,42 +147,113 @@ public class ClientConfiguration implements Globals
         }
         this.clickGuiFile = new ClickGuiFile(clientDir);
         this.fontFile = new FontFile(clientDir);
+        EventBus.INSTANCE.subscribe(this);
+    }
+
+    @EventListener
+    public void onConfigUpdate(ConfigUpdateEvent event)
+    {
+        if (event.getStage() == StageEvent.EventStage.POST
+                && event.getConfig().getContainer() instanceof Module module)
+        {
+            ModuleFile file = moduleFiles.get(module);
+            if (file != null)
+            {
+                dirtyFiles.add(file);
+            }
+        }
     }
 
     /**
-     *
+     * Writes the changed modules and all other files and waits for the
+     * writer to finish. Used by the {@link net.shoreline.client.ShutdownHook}.
      */
     public void saveClient()
     {
-        for (ConfigFile file : files)
+        queueModules();
+        Future<?> future = writer.submit(() ->
         {
-            file.save();
+            writePending();
+            for (ConfigFile file : files)
+            {
+                if (!(file instanceof ModuleFile))
+                {
+                    file.save();
+                }
+            }
+        });
+        try
+        {
+            future.get(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException | ExecutionException | TimeoutException e)
+        {
+            Shoreline.error("Could not finish saving configs!");
+            e.printStackTrace();
         }
     }
 
+    /**
+     * Writes the changed modules on the writer thread, does not block
+     */
     public void saveClientModules()
     {
-        for (ConfigFile file : files)
+        queueModules();
+        if (writeQueued.compareAndSet(false, true))
+        {
+            writer.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Serializes the changed modules on the calling thread, the configs can
+     * change while the writer runs
+     */
+    private void queueModules()
+    {
+        for (ModuleFile file : dirtyFiles)
+        {
+            dirtyFiles.remove(file);
+            pendingWrites.put(file, file.getModule().toJson());
+        }
+    }
+
+    /**
+     * Runs on the writer thread
+     */
+    private void writePending()
+    {
+        // Saves queued after this point are written by the next task
+        writeQueued.set(false);
+        for (ModuleFile file : pendingWrites.keySet())
         {
-            if (file instanceof ModuleFile)
+            JsonObject json = pendingWrites.remove(file);
+            if (json != null)
             {
-                file.save();
+                file.write(json);
             }
         }
     }
 
     /**
+     * Loads all files on the config executor
      *
+     * @return A future which completes once all files are loaded
      */
-    public void loadClient()
+    public CompletableFuture<Void> loadClient()
     {
-        executor.submit(() ->
+        return CompletableFuture.runAsync(() ->
         {
             for (ConfigFile file : files)
             {
                 file.load();
+                // Loaded modules match their files
+                if (file instanceof ModuleFile moduleFile)
+                {
+                    dirtyFiles.remove(moduleFile);
+                }
             }
-        });
+        }, executor);
     }
 
     public void loadClientModules()
@@ -162,9 +262,10 @@ public class ClientConfiguration implements Globals
         {
             for (ConfigFile file : files)
             {
-                if (file instanceof ModuleFile)
+                if (file instanceof ModuleFile moduleFile)
                 {
-                    file.load();
+                    moduleFile.load();
+                    dirtyFiles.remove(moduleFile);
                 }
             }
         });
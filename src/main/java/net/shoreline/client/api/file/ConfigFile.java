@@ -3,16 +3,20 @@ package net.shoreline.client.api.file;
 import com.google.gson.*;
 import net.shoreline.client.Shoreline;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-
-import static org.apache.logging.log4j.core.util.IOUtils.EOF;
+import java.nio.file.StandardCopyOption;
 
 /**
+ * Files are read and written as <tt>UTF-8</tt> through buffered streams.
+ * Writes go to a temporary file next to the target which then replaces the
+ * target, so a crash while saving never leaves a truncated file.
+ *
  * @author linus
  * @since 1.0
  */
@@ -59,16 +63,40 @@ public abstract class ConfigFile
     protected String read(Path path) throws IOException
     {
         StringBuilder content = new StringBuilder();
-        InputStream in = Files.newInputStream(path);
-        int b;
-        while ((b = in.read()) != EOF)
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8))
         {
-            content.append((char) b);
+            char[] buf = new char[8192];
+            int n;
+            while ((n = in.read(buf)) != -1)
+            {
+                content.append(buf, 0, n);
+            }
         }
-        in.close();
         return content.toString();
     }
 
+    /**
+     * Parses the file without reading it into a string first
+     *
+     * @param path
+     * @return The json object or <tt>null</tt> if the file is not a valid
+     * json object
+     * @throws IOException
+     */
+    protected JsonObject readObject(Path path) throws IOException
+    {
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            return GSON.fromJson(in, JsonObject.class);
+        }
+        catch (JsonParseException e)
+        {
+            Shoreline.error("Invalid json syntax!");
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     /**
      * @param obj
      * @return
@@ -123,10 +151,64 @@ public abstract class ConfigFile
      */
     protected void write(Path path, String content) throws IOException
     {
-        OutputStream out = Files.newOutputStream(path);
-        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
-        out.write(bytes, 0, bytes.length);
-        out.close();
+        Path temp = getTempPath(path);
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+        {
+            out.write(content);
+        }
+        replace(temp, path);
+    }
+
+    /**
+     * Serializes the json directly to the file without building the string
+     * first
+     *
+     * @param path
+     * @param json
+     * @throws IOException
+     */
+    protected void write(Path path, JsonElement json) throws IOException
+    {
+        Path temp = getTempPath(path);
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8))
+        {
+            GSON.toJson(json, out);
+        }
+        catch (JsonIOException e)
+        {
+            throw new IOException(e);
+        }
+        replace(temp, path);
+    }
+
+    /**
+     * @param path
+     * @return The temporary file which is written before replacing the file
+     */
+    private Path getTempPath(Path path)
+    {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    /**
+     * Replaces the file with the written temporary file. Falls back to a
+     * non-atomic replace on file systems which do not support atomic moves.
+     *
+     * @param temp
+     * @param path
+     * @throws IOException
+     */
+    private void replace(Path temp, Path path) throws IOException
+    {
+        try
+        {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 
     public String getFileName()
@@ -1,10 +1,11 @@
 package net.shoreline.client.api.font;
 
 import com.mojang.blaze3d.systems.RenderSystem;
-import it.unimi.dsi.fastutil.chars.Char2ObjectArrayMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
 import net.minecraft.client.texture.NativeImage;
 import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.util.Identifier;
+import net.shoreline.client.Shoreline;
 import net.shoreline.client.mixin.accessor.AccessorNativeImage;
 import net.shoreline.client.util.Globals;
 import org.lwjgl.system.MemoryUtil;
@@ -14,12 +15,15 @@ import java.awt.font.FontRenderContext;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.DataBuffer;
-import java.awt.image.WritableRaster;
-import java.nio.IntBuffer;
-import java.util.ArrayList;
-import java.util.List;
+import java.awt.image.DataBufferInt;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * GlyphCache - 한글(CJK) 폰트 fallback 지원 버전.
@@ -28,9 +32,30 @@ import java.util.List;
  * - fallbackFont 필드 추가: primary 폰트가 렌더 불가한 문자를 fallback으로 처리
  * - createBitmap()에서 문자별로 canDisplay() 체크 → 적합한 폰트 선택
  * - 한글, 일본어, 중국어 등 CJK 문자 정상 렌더링
+ * - 아틀라스는 백그라운드 스레드에서 굽고 렌더 스레드에서 업로드만 한다.
+ *   업로드 전에는 측정한 크기만 가진 임시 글리프를 반환한다 ({@link #isGenerated()})
+ * - 구운 아틀라스는 cacheFile 에 저장해 다음 실행부터는 픽셀만 읽어 업로드한다
+ * - spread 가 0보다 크면 픽셀을 거리장으로 바꾼다 ({@link SignedDistanceField}).
+ *   글리프 주변 spread 픽셀까지 거리가 저장되므로 padding 은 2 * spread 이상이어야 한다
  */
 public class GlyphCache implements Globals
 {
+    // 아틀라스는 한 번에 하나씩 굽는다
+    private static final ExecutorService BAKE_EXECUTOR = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread t = new Thread(r, "Shoreline-GlyphBaker");
+        t.setDaemon(true);
+        return t;
+    });
+    // 캐시 파일 헤더, 형식이 바뀌면 버전을 올린다
+    private static final int CACHE_MAGIC = 0x53474c59;
+    private static final int CACHE_VERSION = 2;
+    // 캐시 파일에서 읽을 수 있는 최대 아틀라스 픽셀 수 (4096 * 4096)
+    private static final int MAX_CACHE_PIXELS = 1 << 24;
+    // 굽기 실패 시 최대 시도 횟수와 첫 재시도 대기 시간, 대기 시간은 실패마다 두 배가 된다
+    private static final int MAX_BAKE_ATTEMPTS = 4;
+    private static final long BAKE_RETRY_MS = 1000L;
+
     private final char start, end;
 
     // 기본 폰트 (영문/숫자 등)
@@ -42,22 +67,35 @@ public class GlyphCache implements Globals
 
     private final Identifier id;
     private final int padding;
+    // 거리장 범위 (픽셀), 0이면 일반 비트맵
+    private final int spread;
     private int width, height;
-    private final Char2ObjectArrayMap<Glyph> glyphs = new Char2ObjectArrayMap<>();
-    private boolean generated;
+    private final Char2ObjectOpenHashMap<Glyph> glyphs = new Char2ObjectOpenHashMap<>();
+    // 업로드 전까지 사용하는 임시 글리프 (크기만 유효)
+    private final Char2ObjectOpenHashMap<Glyph> placeholders = new Char2ObjectOpenHashMap<>();
+    private volatile boolean generated;
+    private volatile boolean closed;
+    // 렌더 스레드에서만 읽고 쓴다. 굽기가 실패하면 false 로 돌려 대기 후 다시 굽는다
+    private boolean baking;
+    private int bakeFailures;
+    private long bakeRetryTime;
 
     private final boolean antiAlias, fractionalMetrics;
+    private final FontRenderContext frc;
+
+    // 구운 아틀라스를 저장할 파일, null이면 디스크 캐시를 사용하지 않는다
+    private final Path cacheFile;
 
     // 기존 호환용 생성자
     public GlyphCache(char from, char to, Font font, Identifier id, int padding,
                       boolean antiAlias, boolean fractionalMetrics)
     {
-        this(from, to, font, null, id, padding, antiAlias, fractionalMetrics);
+        this(from, to, font, null, id, padding, antiAlias, fractionalMetrics, null, 0);
     }
 
     // fallback 폰트 포함 생성자
     public GlyphCache(char from, char to, Font font, Font fallbackFont, Identifier id,
-                      int padding, boolean antiAlias, boolean fractionalMetrics)
+                      int padding, boolean antiAlias, boolean fractionalMetrics, Path cacheFile, int spread)
     {
         this.start           = from;
         this.end             = to;
@@ -67,18 +105,46 @@ public class GlyphCache implements Globals
         this.padding         = padding;
         this.antiAlias       = antiAlias;
         this.fractionalMetrics = fractionalMetrics;
+        this.cacheFile       = cacheFile;
+        this.spread          = spread;
+        this.frc = new FontRenderContext(new AffineTransform(), antiAlias, fractionalMetrics);
     }
 
+    /**
+     * 글리프를 반환한다. 아틀라스가 아직 업로드되지 않았으면 굽기를 시작하고
+     * 크기만 측정한 임시 글리프를 반환한다.
+     */
     public Glyph getGlyph(char c)
     {
-        if (!generated) createBitmap();
-        return glyphs.get(c);
+        if (generated) return glyphs.get(c);
+        if (!baking && bakeFailures < MAX_BAKE_ATTEMPTS && System.currentTimeMillis() >= bakeRetryTime)
+        {
+            baking = true;
+            BAKE_EXECUTOR.execute(this::bake);
+        }
+        return placeholders.computeIfAbsent(c, ch -> measure(ch));
     }
 
+    /**
+     * @return 아틀라스가 업로드되어 글리프의 텍스처 좌표가 유효한지 여부
+     */
+    public boolean isGenerated()
+    {
+        return generated;
+    }
+
+    /**
+     * 텍스처를 해제한다. clear 후의 캐시는 다시 굽지 않으므로 버려야 한다.
+     */
     public void clear()
     {
-        mc.getTextureManager().destroyTexture(id);
+        closed = true;
+        if (generated)
+        {
+            mc.getTextureManager().destroyTexture(id);
+        }
         glyphs.clear();
+        placeholders.clear();
         generated = false;
     }
 
@@ -87,6 +153,49 @@ public class GlyphCache implements Globals
         return c >= start && c < end;
     }
 
+    /**
+     * 디스크 캐시에서 아틀라스를 읽거나 새로 구운 뒤 렌더 스레드에 업로드를 요청한다.
+     * 굽기 스레드에서 실행된다.
+     */
+    private void bake()
+    {
+        try
+        {
+            Atlas atlas = cacheFile != null ? readCache() : null;
+            if (atlas == null)
+            {
+                atlas = createBitmap();
+                if (cacheFile != null)
+                {
+                    writeCache(atlas);
+                }
+            }
+            Atlas baked = atlas;
+            RenderSystem.recordRenderCall(() -> upload(baked));
+        }
+        catch (Throwable e)
+        {
+            e.printStackTrace();
+            deleteCache();
+            RenderSystem.recordRenderCall(this::onBakeFailed);
+        }
+    }
+
+    /**
+     * 다음 굽기를 대기 시간 후로 미루고, 최대 시도 횟수를 넘으면 포기한다.
+     * 렌더 스레드에서 실행된다.
+     */
+    private void onBakeFailed()
+    {
+        bakeFailures++;
+        bakeRetryTime = System.currentTimeMillis() + (BAKE_RETRY_MS << (bakeFailures - 1));
+        baking = false;
+        if (bakeFailures >= MAX_BAKE_ATTEMPTS)
+        {
+            Shoreline.error("Failed to bake glyphs {} after {} attempts", id, bakeFailures);
+        }
+    }
+
     /**
      * 이 블록(start~end)의 모든 문자에 대해 텍스처 아틀라스를 생성한다.
      *
@@ -96,30 +205,26 @@ public class GlyphCache implements Globals
      * 한글 문자에 대해 canDisplay() = false를 반환하므로
      * fallbackFont(예: Noto Sans CJK KR)로 대체 렌더링한다.
      */
-    public void createBitmap()
+    private Atlas createBitmap()
     {
-        if (generated) return;
-
-        FontRenderContext frc = new FontRenderContext(
-                new AffineTransform(), antiAlias, fractionalMetrics);
-
         // 1단계: 각 문자의 크기 측정 + 폰트 결정
-        // [charCode, useFont, texX, texY, w, h]
-        List<long[]> entryData = new ArrayList<>();  // [c, texX, texY, w, h]
-        List<Font> entryFonts  = new ArrayList<>();  // 위치 대응
+        // [c, texX, texY, w, h] 가 문자마다 이어진다
+        int count = end - start;
+        int[] glyphData = new int[count * 5];
+        Font[] entryFonts = new Font[count];
 
         int range   = end - start - 1;
         int ceiling = (int) (Math.ceil(Math.sqrt(range)) * 1.5);
         int cached  = 0;
         int charX   = 0;
         int maxX = 0, maxY = 0;
-        int currX = 0, currY = 0;
+        // 첫 줄과 첫 열도 padding 만큼 띄워 거리장 여백이 아틀라스 안에 들어가게 한다
+        int currX = padding, currY = padding;
         int currentRowMaxY = 0;
 
         while (cached <= range)
         {
             char c = (char) (start + cached);
-            cached++;
 
             // 핵심: primary 폰트가 렌더 불가하면 fallback 폰트 사용
             Font useFont = selectFont(c);
@@ -128,30 +233,35 @@ public class GlyphCache implements Globals
             int w = Math.max(1, (int) Math.ceil(bounds.getWidth()));
             int h = Math.max(1, (int) Math.ceil(bounds.getHeight()));
 
-            maxX = Math.max(maxX, currX + w);
-            maxY = Math.max(maxY, currY + h);
-
             if (charX >= ceiling)
             {
-                currX = 0;
+                currX = padding;
                 currY += currentRowMaxY + padding;
                 charX = 0;
                 currentRowMaxY = 0;
             }
 
+            // 줄바꿈 후의 위치로 크기를 계산해야 마지막 줄이 잘리지 않는다
+            maxX = Math.max(maxX, currX + w);
+            maxY = Math.max(maxY, currY + h);
+
             currentRowMaxY = Math.max(currentRowMaxY, h);
-            entryData.add(new long[]{c, currX, currY, w, h});
-            entryFonts.add(useFont);
+            int i = cached * 5;
+            glyphData[i]     = c;
+            glyphData[i + 1] = currX;
+            glyphData[i + 2] = currY;
+            glyphData[i + 3] = w;
+            glyphData[i + 4] = h;
+            entryFonts[cached] = useFont;
             currX += w + padding;
             charX++;
+            cached++;
         }
 
         // 2단계: 아틀라스 이미지 생성 & 글리프 렌더링
         int imgW = Math.max(maxX + padding, 1);
         int imgH = Math.max(maxY + padding, 1);
         BufferedImage bufferedImage = new BufferedImage(imgW, imgH, BufferedImage.TYPE_INT_ARGB);
-        width  = imgW;
-        height = imgH;
 
         Graphics2D g2d = bufferedImage.createGraphics();
         g2d.setColor(new Color(255, 255, 255, 0));
@@ -173,99 +283,204 @@ public class GlyphCache implements Globals
                         : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
 
         // 문자별로 적합한 폰트로 렌더링
-        for (int i = 0; i < entryData.size(); i++)
+        for (int n = 0; n < count; n++)
         {
-            long[] d    = entryData.get(i);
-            char   c    = (char) d[0];
-            int    texX = (int) d[1];
-            int    texY = (int) d[2];
-            int    w    = (int) d[3];
-            int    h    = (int) d[4];
-            Font   useFont = entryFonts.get(i);
-
-            g2d.setFont(useFont);
+            int i = n * 5;
+            g2d.setFont(entryFonts[n]);
             FontMetrics fm = g2d.getFontMetrics();
-            g2d.drawString(String.valueOf(c), texX, texY + fm.getAscent());
-            glyphs.put(c, new Glyph(texX, texY, w, h, c, this));
+            g2d.drawString(String.valueOf((char) glyphData[i]), glyphData[i + 1],
+                    glyphData[i + 2] + fm.getAscent());
         }
-
         g2d.dispose();
-        registerTexture(id, bufferedImage);
-        generated = true;
+
+        // ARGB → NativeImage 의 ABGR 로 변환
+        int[] pixels = ((DataBufferInt) bufferedImage.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < pixels.length; i++)
+        {
+            int p = pixels[i];
+            pixels[i] = (p & 0xFF00FF00) | (p >> 16 & 0xFF) | (p & 0xFF) << 16;
+        }
+        if (spread > 0)
+        {
+            SignedDistanceField.convert(pixels, imgW, imgH, spread);
+        }
+        return new Atlas(imgW, imgH, pixels, glyphData);
     }
 
     /**
-     * 문자에 맞는 폰트를 선택한다.
-     *
-     * 1. primary 폰트가 표시 가능 → primary 사용
-     * 2. fallbackFont가 null이 아니고 표시 가능 → fallback 사용
-     * 3. 둘 다 불가 → primary 반환 (최선 시도)
+     * 아틀라스를 텍스처로 업로드한다. 렌더 스레드에서 실행된다.
      */
-    private Font selectFont(char c)
-    {
-        if (font.canDisplay(c)) return font;
-        if (fallbackFont != null && fallbackFont.canDisplay(c)) return fallbackFont;
-        return font;
-    }
-
-    public Identifier getId()  { return id; }
-    public int getWidth()      { return width; }
-    public int getHeight()     { return height; }
-
-    // https://github.com/0x3C50/Renderer
-    public void registerTexture(Identifier identifier, BufferedImage bufferedImage)
+    private void upload(Atlas atlas)
     {
+        if (closed)
+        {
+            return;
+        }
         try
         {
-            int imageWidth  = bufferedImage.getWidth();
-            int imageHeight = bufferedImage.getHeight();
             NativeImage image = new NativeImage(
-                    NativeImage.Format.RGBA, imageWidth, imageHeight, false);
+                    NativeImage.Format.RGBA, atlas.width(), atlas.height(), false);
             long ptr = ((AccessorNativeImage) (Object) image).hookGetPointer();
-            IntBuffer backingBuffer = MemoryUtil.memIntBuffer(ptr, imageWidth * imageHeight);
+            MemoryUtil.memIntBuffer(ptr, atlas.width() * atlas.height()).put(atlas.pixels());
 
-            WritableRaster raster     = bufferedImage.getRaster();
-            ColorModel     colorModel = bufferedImage.getColorModel();
-            int bands    = raster.getNumBands();
-            int dataType = raster.getDataBuffer().getDataType();
+            // 생성자가 렌더 스레드에서 이미지를 업로드한다
+            NativeImageBackedTexture texture = new NativeImageBackedTexture(image);
+            texture.setFilter(true, true);
+            mc.getTextureManager().registerTexture(id, texture);
+        }
+        catch (Throwable e)
+        {
+            e.printStackTrace();
+            deleteCache();
+            onBakeFailed();
+            return;
+        }
+
+        int[] glyphData = atlas.glyphData();
+        for (int i = 0; i < glyphData.length; i += 5)
+        {
+            char c = (char) glyphData[i];
+            glyphs.put(c, new Glyph(glyphData[i + 1], glyphData[i + 2],
+                    glyphData[i + 3], glyphData[i + 4], c, this));
+        }
+        width  = atlas.width();
+        height = atlas.height();
+        placeholders.clear();
+        generated = true;
+    }
 
-            Object dataBuffer = switch (dataType)
+    /**
+     * 아틀라스를 굽지 않고 한 문자의 크기만 측정한다.
+     */
+    private Glyph measure(char c)
+    {
+        Rectangle2D bounds = selectFont(c).getStringBounds(String.valueOf(c), frc);
+        return new Glyph(0, 0, Math.max(1, (int) Math.ceil(bounds.getWidth())),
+                Math.max(1, (int) Math.ceil(bounds.getHeight())), c, this);
+    }
+
+    /**
+     * @return 캐시된 아틀라스, 없거나 읽을 수 없으면 null
+     */
+    private Atlas readCache()
+    {
+        if (!Files.exists(cacheFile))
+        {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(Files.newInputStream(cacheFile)))))
+        {
+            if (in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION)
             {
-                case DataBuffer.TYPE_BYTE   -> new byte[bands];
-                case DataBuffer.TYPE_USHORT -> new short[bands];
-                case DataBuffer.TYPE_INT    -> new int[bands];
-                case DataBuffer.TYPE_FLOAT  -> new float[bands];
-                case DataBuffer.TYPE_DOUBLE -> new double[bands];
-                default -> throw new IllegalArgumentException(
-                        "Unknown data buffer type: " + dataType);
-            };
-
-            for (int y = 0; y < imageHeight; y++)
+                return null;
+            }
+            int w = in.readInt();
+            int h = in.readInt();
+            int length = in.readInt();
+            // 헤더가 손상되면 음수나 거대한 배열을 할당하게 되므로 먼저 검사한다
+            if (w <= 0 || h <= 0 || (long) w * h > MAX_CACHE_PIXELS
+                    || length != (end - start) * 5)
+            {
+                throw new IOException("Invalid glyph cache header " + w + "x" + h + ", " + length);
+            }
+            int[] glyphData = new int[length];
+            for (int i = 0; i < glyphData.length; i += 5)
             {
-                for (int x = 0; x < imageWidth; x++)
+                for (int j = 0; j < 5; j++)
                 {
-                    raster.getDataElements(x, y, dataBuffer);
-                    int a = colorModel.getAlpha(dataBuffer);
-                    int r = colorModel.getRed(dataBuffer);
-                    int g = colorModel.getGreen(dataBuffer);
-                    int b = colorModel.getBlue(dataBuffer);
-                    backingBuffer.put(a << 24 | b << 16 | g << 8 | r);
+                    glyphData[i + j] = in.readInt();
+                }
+                int x = glyphData[i + 1], y = glyphData[i + 2];
+                if (!contains((char) glyphData[i]) || x < 0 || y < 0 || glyphData[i + 3] <= 0
+                        || glyphData[i + 4] <= 0 || x + glyphData[i + 3] > w || y + glyphData[i + 4] > h)
+                {
+                    throw new IOException("Invalid glyph in cache");
                 }
             }
+            int[] pixels = new int[w * h];
+            for (int i = 0; i < pixels.length; i++)
+            {
+                pixels[i] = in.readInt();
+            }
+            return new Atlas(w, h, pixels, glyphData);
+        }
+        catch (Exception e)
+        {
+            // 손상된 캐시는 지우고 새로 굽는다
+            deleteCache();
+            return null;
+        }
+    }
 
-            NativeImageBackedTexture texture = new NativeImageBackedTexture(image);
-            texture.upload();
-            texture.setFilter(true, true);
+    private void deleteCache()
+    {
+        if (cacheFile == null)
+        {
+            return;
+        }
+        try
+        {
+            Files.deleteIfExists(cacheFile);
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
 
-            if (RenderSystem.isOnRenderThread())
-                mc.getTextureManager().registerTexture(identifier, texture);
-            else
-                RenderSystem.recordRenderCall(
-                        () -> mc.getTextureManager().registerTexture(identifier, texture));
+    private void writeCache(Atlas atlas)
+    {
+        Path tmp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try
+        {
+            Files.createDirectories(cacheFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new DeflaterOutputStream(Files.newOutputStream(tmp)))))
+            {
+                out.writeInt(CACHE_MAGIC);
+                out.writeInt(CACHE_VERSION);
+                out.writeInt(atlas.width());
+                out.writeInt(atlas.height());
+                out.writeInt(atlas.glyphData().length);
+                for (int v : atlas.glyphData())
+                {
+                    out.writeInt(v);
+                }
+                for (int p : atlas.pixels())
+                {
+                    out.writeInt(p);
+                }
+            }
+            Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
         }
-        catch (Throwable e)
+        catch (IOException e)
         {
             e.printStackTrace();
         }
     }
+
+    /**
+     * 문자에 맞는 폰트를 선택한다.
+     *
+     * 1. primary 폰트가 표시 가능 → primary 사용
+     * 2. fallbackFont가 null이 아니고 표시 가능 → fallback 사용
+     * 3. 둘 다 불가 → primary 반환 (최선 시도)
+     */
+    private Font selectFont(char c)
+    {
+        if (font.canDisplay(c)) return font;
+        if (fallbackFont != null && fallbackFont.canDisplay(c)) return fallbackFont;
+        return font;
+    }
+
+    public Identifier getId()  { return id; }
+    public int getWidth()      { return width; }
+    public int getHeight()     { return height; }
+
+    /**
+     * 구운 아틀라스. pixels 는 NativeImage 형식(ABGR),
+     * glyphData 는 문자마다 [c, texX, texY, w, h].
+     */
+    private record Atlas(int width, int height, int[] pixels, int[] glyphData) {}
 }
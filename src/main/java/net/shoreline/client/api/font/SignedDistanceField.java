@@ -0,0 +1,121 @@
+package net.shoreline.client.api.font;
+
+/**
+ * SignedDistanceField - 글리프 비트맵을 부호 있는 거리장(SDF)으로 변환한다.
+ *
+ * <p>각 픽셀의 알파는 가장 가까운 글리프 경계까지의 거리이며 경계에서 0.5,
+ * 안쪽으로 갈수록 1, 바깥으로 갈수록 0 이다. 거리장은 셰이더에서 임계값으로
+ * 잘라 그리므로 한 아틀라스로 모든 크기와 스케일을 선명하게 그릴 수 있다.</p>
+ *
+ * <p>거리는 Felzenszwalb-Huttenlocher 의 정확한 유클리드 거리 변환으로
+ * 행과 열을 한 번씩 지나며 계산한다 (픽셀 수에 선형).</p>
+ */
+public final class SignedDistanceField
+{
+    // 경계가 없는 픽셀의 거리, 제곱해도 float 범위 안에 있어야 한다
+    private static final float INF = 1.0e20f;
+
+    private SignedDistanceField()
+    {
+    }
+
+    /**
+     * 픽셀을 제자리에서 거리장으로 바꾼다.
+     *
+     * @param pixels 아틀라스 픽셀 (알파 128 이상을 글리프 안쪽으로 본다)
+     * @param width  아틀라스 너비
+     * @param height 아틀라스 높이
+     * @param spread 알파 0~1 로 표현할 최대 거리 (픽셀)
+     */
+    public static void convert(int[] pixels, int width, int height, int spread)
+    {
+        int size = width * height;
+        float[] outside = new float[size];
+        float[] inside = new float[size];
+        for (int i = 0; i < size; i++)
+        {
+            boolean in = (pixels[i] >>> 24) >= 128;
+            // outside: 글리프까지의 거리, inside: 바깥까지의 거리
+            outside[i] = in ? 0.0f : INF;
+            inside[i] = in ? INF : 0.0f;
+        }
+        transform(outside, width, height);
+        transform(inside, width, height);
+        for (int i = 0; i < size; i++)
+        {
+            float dist = (float) (Math.sqrt(inside[i]) - Math.sqrt(outside[i]));
+            float alpha = Math.min(1.0f, Math.max(0.0f, 0.5f + dist / (2.0f * spread)));
+            // 흰색 + 거리 알파 (NativeImage ABGR 에서도 흰색)
+            pixels[i] = Math.round(alpha * 255.0f) << 24 | 0x00FFFFFF;
+        }
+    }
+
+    /**
+     * 2D 제곱 거리 변환. 열과 행에 1D 변환을 차례로 적용한다.
+     */
+    private static void transform(float[] grid, int width, int height)
+    {
+        int n = Math.max(width, height);
+        float[] f = new float[n];
+        float[] d = new float[n];
+        int[] v = new int[n];
+        float[] z = new float[n + 1];
+        for (int x = 0; x < width; x++)
+        {
+            for (int y = 0; y < height; y++)
+            {
+                f[y] = grid[y * width + x];
+            }
+            transform(f, height, d, v, z);
+            for (int y = 0; y < height; y++)
+            {
+                grid[y * width + x] = d[y];
+            }
+        }
+        for (int y = 0; y < height; y++)
+        {
+            System.arraycopy(grid, y * width, f, 0, width);
+            transform(f, width, d, v, z);
+            System.arraycopy(d, 0, grid, y * width, width);
+        }
+    }
+
+    /**
+     * 1D 제곱 거리 변환 (포물선 하한 포락선)
+     */
+    private static void transform(float[] f, int n, float[] d, int[] v, float[] z)
+    {
+        int k = 0;
+        v[0] = 0;
+        z[0] = -INF;
+        z[1] = INF;
+        for (int q = 1; q < n; q++)
+        {
+            float s = intersect(f, q, v[k]);
+            while (s <= z[k])
+            {
+                k--;
+                s = intersect(f, q, v[k]);
+            }
+            k++;
+            v[k] = q;
+            z[k] = s;
+            z[k + 1] = INF;
+        }
+        k = 0;
+        for (int q = 0; q < n; q++)
+        {
+            while (z[k + 1] < q)
+            {
+                k++;
+            }
+            int dq = q - v[k];
+            d[q] = dq * dq + f[v[k]];
+        }
+    }
+
+    private static float intersect(float[] f, int q, int p)
+    {
+        return ((f[q] + q * q) - (f[p] + p * p)) / (2.0f * q - 2.0f * p);
+    }
+}
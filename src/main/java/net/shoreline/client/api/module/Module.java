@@ -31,6 +31,8 @@ public class Module extends ConfigContainer implements Globals
     // ClickGui. Modules with ModuleCategory.TEST category are not available
     // to the user.
     private final ModuleCategory category;
+    // Interned unique identifier
+    private final String id;
 
     /**
      * @param name     The unique module identifier
@@ -42,6 +44,7 @@ public class Module extends ConfigContainer implements Globals
         super(name);
         this.desc = desc;
         this.category = category;
+        this.id = String.format(MODULE_ID_FORMAT, name.toLowerCase()).intern();
     }
 
     /**
@@ -84,7 +87,7 @@ public class Module extends ConfigContainer implements Globals
     @Override
     public String getId()
     {
-        return String.format(MODULE_ID_FORMAT, name.toLowerCase());
+        return id;
     }
 
     /**
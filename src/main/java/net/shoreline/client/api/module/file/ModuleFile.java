@@ -35,16 +35,22 @@ public class ModuleFile extends ConfigFile
      */
     @Override
     public void save()
+    {
+        write(module.toJson());
+    }
+
+    /**
+     * Writes the serialized module. The json can be built on the thread
+     * which modifies the configs and written on any other thread.
+     *
+     * @param json The serialized module
+     * @see Module#toJson()
+     */
+    public void write(JsonObject json)
     {
         try
         {
-            Path filepath = getFilepath();
-            if (!Files.exists(filepath))
-            {
-                Files.createFile(filepath);
-            }
-            JsonObject json = module.toJson();
-            write(filepath, serialize(json));
+            write(getFilepath(), json);
         }
         // error writing file
         catch (IOException e)
@@ -65,8 +71,11 @@ public class ModuleFile extends ConfigFile
             Path filepath = getFilepath();
             if (Files.exists(filepath))
             {
-                String content = read(filepath);
-                module.fromJson(parseObject(content));
+                JsonObject json = readObject(filepath);
+                if (json != null)
+                {
+                    module.fromJson(json);
+                }
             }
         }
         // error writing file
@@ -76,4 +85,9 @@ public class ModuleFile extends ConfigFile
             e.printStackTrace();
         }
     }
+
+    public Module getModule()
+    {
+        return module;
+    }
 }
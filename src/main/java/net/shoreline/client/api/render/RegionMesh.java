@@ -0,0 +1,378 @@
+package net.shoreline.client.api.render;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.gl.ShaderProgram;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.*;
+import net.minecraft.client.util.BufferAllocator;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.shoreline.client.util.Globals;
+import org.joml.Matrix4f;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retained box and line geometry which is uploaded to {@link VertexBuffer}s
+ * once per change and redrawn every frame with one draw call per region and
+ * primitive type. The world is split into square regions of chunks, a
+ * region is rebuilt with the {@link RegionBuilder} only after it has been
+ * marked dirty and regions outside of the frustum are skipped.
+ *
+ * <p>Regions may be marked dirty from any thread, the meshes are built,
+ * drawn and closed on the render thread. Render between
+ * {@link RenderBuffers#preRender()} and {@link RenderBuffers#postRender()}.</p>
+ *
+ * @author linus
+ * @since 1.0
+ */
+public class RegionMesh implements Globals
+{
+    // Shared by all meshes, regions are only built on the render thread
+    private static final BufferAllocator QUADS_ALLOCATOR = new BufferAllocator(1 << 16);
+    private static final BufferAllocator LINES_ALLOCATOR = new BufferAllocator(1 << 16);
+    //
+    private final int regionShift;
+    private final RegionBuilder builder;
+    private final Map<Long, Region> regions = new HashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean cleared;
+
+    /**
+     * @param regionShift The log2 of the region size in chunks, i.e. 0 for
+     *                    one region per chunk
+     * @param builder     The region builder
+     */
+    public RegionMesh(int regionShift, RegionBuilder builder)
+    {
+        this.regionShift = regionShift;
+        this.builder = builder;
+    }
+
+    /**
+     * Marks the region containing the chunk for a rebuild before the next draw
+     *
+     * @param chunkX
+     * @param chunkZ
+     */
+    public void markDirty(int chunkX, int chunkZ)
+    {
+        dirty.add(ChunkPos.toLong(chunkX >> regionShift, chunkZ >> regionShift));
+    }
+
+    /**
+     * Marks every region with geometry for a rebuild, e.g. after a color
+     * change. Regions which were built empty are not kept and must be marked
+     * with {@link #markDirty(int, int)}
+     */
+    public void markAllDirty()
+    {
+        RenderSystem.recordRenderCall(() -> dirty.addAll(regions.keySet()));
+    }
+
+    /**
+     * Releases the regions outside of the square around the chunk, so meshes
+     * with a large tracked area only keep nearby regions. Call on the render
+     * thread.
+     *
+     * @param chunkX
+     * @param chunkZ
+     * @param regionRadius The max distance in regions of a kept region
+     */
+    public void retain(int chunkX, int chunkZ, int regionRadius)
+    {
+        int centerX = chunkX >> regionShift;
+        int centerZ = chunkZ >> regionShift;
+        Iterator<Map.Entry<Long, Region>> iterator = regions.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<Long, Region> entry = iterator.next();
+            long key = entry.getKey();
+            if (Math.abs(ChunkPos.getPackedX(key) - centerX) > regionRadius
+                    || Math.abs(ChunkPos.getPackedZ(key) - centerZ) > regionRadius)
+            {
+                entry.getValue().close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Releases every region. Safe to call from any thread.
+     */
+    public void clear()
+    {
+        dirty.clear();
+        cleared = true;
+        RenderSystem.recordRenderCall(() ->
+        {
+            if (cleared)
+            {
+                closeRegions();
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the dirty regions and draws the visible regions
+     *
+     * @param matrices
+     * @param lineWidth
+     */
+    public void render(MatrixStack matrices, float lineWidth)
+    {
+        if (cleared)
+        {
+            closeRegions();
+        }
+        if (!dirty.isEmpty())
+        {
+            Iterator<Long> iterator = dirty.iterator();
+            while (iterator.hasNext())
+            {
+                long key = iterator.next();
+                iterator.remove();
+                rebuild(key);
+            }
+        }
+        if (regions.isEmpty())
+        {
+            return;
+        }
+        Vec3d camera = mc.gameRenderer.getCamera().getPos();
+        Matrix4f projection = RenderSystem.getProjectionMatrix();
+        Matrix4f view = new Matrix4f(RenderSystem.getModelViewMatrix())
+                .mul(matrices.peek().getPositionMatrix());
+        Matrix4f regionView = new Matrix4f();
+        float prevLineWidth = RenderSystem.getShaderLineWidth();
+        RenderSystem.lineWidth(lineWidth);
+        for (Region region : regions.values())
+        {
+            if (!RenderManager.isFrustumVisible(region.bounds()))
+            {
+                continue;
+            }
+            // Offsets are computed in double precision, the vertices are
+            // relative to the region origin
+            regionView.set(view).translate((float) (region.originX() - camera.x),
+                    (float) -camera.y, (float) (region.originZ() - camera.z));
+            draw(region.quads(), regionView, projection, GameRenderer.getPositionColorProgram());
+            draw(region.lines(), regionView, projection, GameRenderer.getRenderTypeLinesProgram());
+        }
+        VertexBuffer.unbind();
+        RenderSystem.lineWidth(prevLineWidth);
+    }
+
+    private void draw(VertexBuffer buffer, Matrix4f view, Matrix4f projection, ShaderProgram program)
+    {
+        if (buffer == null || program == null)
+        {
+            return;
+        }
+        buffer.bind();
+        buffer.draw(view, projection, program);
+    }
+
+    private void rebuild(long key)
+    {
+        int regionX = ChunkPos.getPackedX(key);
+        int regionZ = ChunkPos.getPackedZ(key);
+        Region region = regions.remove(key);
+        if (region != null)
+        {
+            region.close();
+        }
+        int size = 1 << regionShift;
+        ChunkPos start = new ChunkPos(regionX << regionShift, regionZ << regionShift);
+        ChunkPos end = new ChunkPos(start.x + size - 1, start.z + size - 1);
+        MeshBuilder mesh = new MeshBuilder(start.getStartX(), start.getStartZ());
+        builder.build(start, end, mesh);
+        region = mesh.upload(start, end);
+        if (region != null)
+        {
+            regions.put(key, region);
+        }
+    }
+
+    private void closeRegions()
+    {
+        cleared = false;
+        for (Region region : regions.values())
+        {
+            region.close();
+        }
+        regions.clear();
+    }
+
+    /**
+     * Builds the geometry of a region of chunks
+     */
+    @FunctionalInterface
+    public interface RegionBuilder
+    {
+        /**
+         * @param start The first chunk of the region
+         * @param end   The last chunk of the region, inclusive
+         * @param mesh  The mesh of the region
+         */
+        void build(ChunkPos start, ChunkPos end, MeshBuilder mesh);
+    }
+
+    /**
+     * Collects the world space geometry of a region
+     */
+    public static class MeshBuilder
+    {
+        private final double originX;
+        private final double originZ;
+        private BufferBuilder quads;
+        private BufferBuilder lines;
+        private double minY = Double.MAX_VALUE;
+        private double maxY = -Double.MAX_VALUE;
+
+        private MeshBuilder(double originX, double originZ)
+        {
+            this.originX = originX;
+            this.originZ = originZ;
+        }
+
+        /**
+         * @param box
+         * @param color
+         */
+        public void box(Box box, int color)
+        {
+            if (quads == null)
+            {
+                quads = new BufferBuilder(QUADS_ALLOCATOR, VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_COLOR);
+            }
+            include(box.minY, box.maxY);
+            float x1 = (float) (box.minX - originX);
+            float y1 = (float) box.minY;
+            float z1 = (float) (box.minZ - originZ);
+            float x2 = (float) (box.maxX - originX);
+            float y2 = (float) box.maxY;
+            float z2 = (float) (box.maxZ - originZ);
+            quad(x1, y1, z1, x2, y1, z1, x2, y1, z2, x1, y1, z2, color);
+            quad(x1, y2, z1, x1, y2, z2, x2, y2, z2, x2, y2, z1, color);
+            quad(x1, y1, z1, x1, y2, z1, x2, y2, z1, x2, y1, z1, color);
+            quad(x2, y1, z1, x2, y2, z1, x2, y2, z2, x2, y1, z2, color);
+            quad(x1, y1, z2, x2, y1, z2, x2, y2, z2, x1, y2, z2, color);
+            quad(x1, y1, z1, x1, y1, z2, x1, y2, z2, x1, y2, z1, color);
+        }
+
+        /**
+         * @param box
+         * @param color
+         */
+        public void boundingBox(Box box, int color)
+        {
+            double x1 = box.minX, y1 = box.minY, z1 = box.minZ;
+            double x2 = box.maxX, y2 = box.maxY, z2 = box.maxZ;
+            line(x1, y1, z1, x2, y1, z1, color);
+            line(x1, y1, z1, x1, y1, z2, color);
+            line(x2, y1, z2, x1, y1, z2, color);
+            line(x2, y1, z2, x2, y1, z1, color);
+            if (y1 == y2)
+            {
+                return;
+            }
+            line(x1, y2, z1, x2, y2, z1, color);
+            line(x1, y2, z1, x1, y2, z2, color);
+            line(x2, y2, z2, x1, y2, z2, color);
+            line(x2, y2, z2, x2, y2, z1, color);
+            line(x1, y1, z1, x1, y2, z1, color);
+            line(x2, y1, z1, x2, y2, z1, color);
+            line(x1, y1, z2, x1, y2, z2, color);
+            line(x2, y1, z2, x2, y2, z2, color);
+        }
+
+        public void line(double x1, double y1, double z1,
+                         double x2, double y2, double z2, int color)
+        {
+            if (lines == null)
+            {
+                lines = new BufferBuilder(LINES_ALLOCATOR, VertexFormat.DrawMode.LINES, VertexFormats.LINES);
+            }
+            include(Math.min(y1, y2), Math.max(y1, y2));
+            float k = (float) (x2 - x1);
+            float l = (float) (y2 - y1);
+            float m = (float) (z2 - z1);
+            float n = MathHelper.sqrt(k * k + l * l + m * m);
+            k /= n;
+            l /= n;
+            m /= n;
+            lines.vertex((float) (x1 - originX), (float) y1, (float) (z1 - originZ)).normal(k, l, m).color(color);
+            lines.vertex((float) (x2 - originX), (float) y2, (float) (z2 - originZ)).normal(k, l, m).color(color);
+        }
+
+        private void quad(float x1, float y1, float z1, float x2, float y2, float z2,
+                          float x3, float y3, float z3, float x4, float y4, float z4, int color)
+        {
+            quads.vertex(x1, y1, z1).color(color);
+            quads.vertex(x2, y2, z2).color(color);
+            quads.vertex(x3, y3, z3).color(color);
+            quads.vertex(x4, y4, z4).color(color);
+        }
+
+        private void include(double y1, double y2)
+        {
+            minY = Math.min(minY, y1);
+            maxY = Math.max(maxY, y2);
+        }
+
+        private Region upload(ChunkPos start, ChunkPos end)
+        {
+            VertexBuffer quadsBuffer = upload(quads);
+            VertexBuffer linesBuffer = upload(lines);
+            if (quadsBuffer == null && linesBuffer == null)
+            {
+                return null;
+            }
+            Box bounds = new Box(start.getStartX(), minY, start.getStartZ(),
+                    end.getEndX() + 1.0, maxY, end.getEndZ() + 1.0);
+            return new Region(originX, originZ, bounds, quadsBuffer, linesBuffer);
+        }
+
+        private static VertexBuffer upload(BufferBuilder builder)
+        {
+            if (builder == null)
+            {
+                return null;
+            }
+            BuiltBuffer builtBuffer = builder.endNullable();
+            if (builtBuffer == null)
+            {
+                return null;
+            }
+            VertexBuffer buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+            buffer.bind();
+            buffer.upload(builtBuffer);
+            VertexBuffer.unbind();
+            return buffer;
+        }
+    }
+
+    private record Region(double originX, double originZ, Box bounds,
+                          VertexBuffer quads, VertexBuffer lines)
+    {
+        private void close()
+        {
+            if (quads != null)
+            {
+                quads.close();
+            }
+            if (lines != null)
+            {
+                lines.close();
+            }
+        }
+    }
+}
@@ -11,10 +11,19 @@ import org.joml.*;
 import org.lwjgl.opengl.GL11;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Calling these outside of {@link net.shoreline.client.impl.event.render.RenderWorldEvent} will blow everything up
+ *
+ * <p>Primitives started with {@link Buffer#beginBatch(MatrixStack)} between
+ * {@link #preRender()} and {@link #postRender()} are queued per buffer and
+ * line width and drawn with one draw call each when the frame is flushed.
+ * The depth test stays disabled from {@link #preRender()} until the flush,
+ * so it is not part of the batch key.</p>
  */
 public class RenderBuffers
 {
@@ -22,6 +31,8 @@ public class RenderBuffers
     public static final Buffer TEXTURE_QUADS = new Buffer(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE);
     public static final Buffer LINES = new Buffer(VertexFormat.DrawMode.LINES, VertexFormats.LINES);
     private static final List<Runnable> postRenderCallbacks = new ArrayList<>();
+    // Queued primitives by buffer and line width, reused across frames
+    private static final Map<BatchKey, Batch> batches = new LinkedHashMap<>();
     private static boolean isSetup = false;
 
     public static void preRender()
@@ -37,8 +48,7 @@ public class RenderBuffers
 
     public static void postRender()
     {
-        // QUADS.draw();
-        // LINES.draw();
+        flush();
         isSetup = false;
 
         RenderSystem.enableDepthTest();
@@ -64,6 +74,32 @@ public class RenderBuffers
         }
     }
 
+    /**
+     * Draws the queued primitives. Must be called before changing the GL
+     * state between {@link #preRender()} and {@link #postRender()}.
+     */
+    public static void flush()
+    {
+        float lineWidth = RenderSystem.getShaderLineWidth();
+        for (Batch batch : batches.values())
+        {
+            if (batch.count == 0)
+            {
+                continue;
+            }
+            RenderSystem.lineWidth(batch.lineWidth);
+            batch.buffer.drawBatch(batch);
+            batch.count = 0;
+        }
+        RenderSystem.lineWidth(lineWidth);
+    }
+
+    private static Batch getBatch(Buffer buffer, float lineWidth)
+    {
+        return batches.computeIfAbsent(new BatchKey(buffer, lineWidth),
+                k -> new Batch(buffer, lineWidth, buffer.vertexFormat == VertexFormats.LINES ? 6 : 3));
+    }
+
     private static Matrix4d toMatrix4d(Matrix4f matrix4f)
     {
         return new Matrix4d(matrix4f.m00(), matrix4f.m01(), matrix4f.m02(), matrix4f.m03(),
@@ -80,6 +116,13 @@ public class RenderBuffers
         private Matrix4d positionMatrix;
         private Matrix3f normalMatrix;
         private int color;
+        // Batch state, the camera is subtracted in double precision before
+        // the float transform so large world coordinates do not lose precision
+        private Batch batch;
+        private final Matrix4f batchMatrix = new Matrix4f();
+        private final Matrix3f batchNormalMatrix = new Matrix3f();
+        private final Vector3f batchNormal = new Vector3f();
+        private double cameraX, cameraY, cameraZ;
 
         public Buffer(VertexFormat.DrawMode drawMode, VertexFormat vertexFormat)
         {
@@ -94,6 +137,27 @@ public class RenderBuffers
             buffer = Tessellator.getInstance().begin(drawMode, vertexFormat);
         }
 
+        /**
+         * Queues the following vertices until the frame is flushed. Draws
+         * immediately, see {@link #begin(MatrixStack)}, outside of
+         * {@link #preRender()} and {@link #postRender()}.
+         */
+        public void beginBatch(MatrixStack stack)
+        {
+            if (!isSetup)
+            {
+                begin(stack);
+                return;
+            }
+            batchMatrix.set(stack.peek().getPositionMatrix());
+            batchNormalMatrix.set(stack.peek().getNormalMatrix());
+            Vec3d pos = MinecraftClient.getInstance().getBlockEntityRenderDispatcher().camera.getPos();
+            cameraX = pos.x;
+            cameraY = pos.y;
+            cameraZ = pos.z;
+            batch = getBatch(this, RenderSystem.getShaderLineWidth());
+        }
+
         public void updateMatrices(MatrixStack stack)
         {
             this.positionMatrix = toMatrix4d(stack.peek().getPositionMatrix());
@@ -107,11 +171,21 @@ public class RenderBuffers
          */
         public void end()
         {
+            if (batch != null)
+            {
+                batch = null;
+                return;
+            }
             draw();
         }
 
         public Buffer vertex(double x, double y, double z)
         {
+            if (batch != null)
+            {
+                batchVertex(x, y, z);
+                return this;
+            }
             if (buffer == null)
             {
                 return this;
@@ -136,7 +210,7 @@ public class RenderBuffers
 
         public Buffer vertexLine(double x1, double y1, double z1, double x2, double y2, double z2)
         {
-            if (buffer == null)
+            if (batch == null && buffer == null)
             {
                 return this;
             }
@@ -147,6 +221,13 @@ public class RenderBuffers
             k /= n;
             l /= n;
             m /= n;
+            if (batch != null)
+            {
+                batchNormalMatrix.transform(k, l, m, batchNormal).normalize();
+                batchVertex(x1, y1, z1);
+                batchVertex(x2, y2, z2);
+                return this;
+            }
             Vector3f vector3f = normalMatrix.transform(k, l, m, new Vector3f()).normalize();
             Vector4d vector4d = positionMatrix.transform(new Vector4d(x1, y1, z1, 1.0));
             this.buffer.vertex((float) vector4d.x(), (float) vector4d.y(), (float) vector4d.z()).normal(vector3f.x, vector3f.y, vector3f.z)
@@ -162,6 +243,43 @@ public class RenderBuffers
             this.color = color;
         }
 
+        private void batchVertex(double x, double y, double z)
+        {
+            float rx = (float) (x - cameraX);
+            float ry = (float) (y - cameraY);
+            float rz = (float) (z - cameraZ);
+            Matrix4f m = batchMatrix;
+            float[] vertices = batch.reserve();
+            int i = batch.count * batch.stride;
+            vertices[i] = m.m00() * rx + m.m10() * ry + m.m20() * rz + m.m30();
+            vertices[i + 1] = m.m01() * rx + m.m11() * ry + m.m21() * rz + m.m31();
+            vertices[i + 2] = m.m02() * rx + m.m12() * ry + m.m22() * rz + m.m32();
+            if (batch.stride == 6)
+            {
+                vertices[i + 3] = batchNormal.x;
+                vertices[i + 4] = batchNormal.y;
+                vertices[i + 5] = batchNormal.z;
+            }
+            batch.colors[batch.count++] = color;
+        }
+
+        private void drawBatch(Batch batch)
+        {
+            buffer = Tessellator.getInstance().begin(drawMode, vertexFormat);
+            float[] vertices = batch.vertices;
+            for (int v = 0; v < batch.count; v++)
+            {
+                int i = v * batch.stride;
+                VertexConsumer vertex = buffer.vertex(vertices[i], vertices[i + 1], vertices[i + 2]);
+                if (batch.stride == 6)
+                {
+                    vertex.normal(vertices[i + 3], vertices[i + 4], vertices[i + 5]);
+                }
+                vertex.color(batch.colors[v]);
+            }
+            draw();
+        }
+
         public void draw()
         {
             if (buffer == null)
@@ -189,4 +307,38 @@ public class RenderBuffers
             }
         }
     }
-}
\ No newline at end of file
+
+    private record BatchKey(Buffer buffer, float lineWidth)
+    {
+    }
+
+    private static class Batch
+    {
+        private final Buffer buffer;
+        private final float lineWidth;
+        // Floats per vertex, position and line normal
+        private final int stride;
+        private float[] vertices;
+        private int[] colors;
+        private int count;
+
+        private Batch(Buffer buffer, float lineWidth, int stride)
+        {
+            this.buffer = buffer;
+            this.lineWidth = lineWidth;
+            this.stride = stride;
+            this.vertices = new float[256 * stride];
+            this.colors = new int[256];
+        }
+
+        private float[] reserve()
+        {
+            if (count == colors.length)
+            {
+                colors = Arrays.copyOf(colors, count * 2);
+                vertices = Arrays.copyOf(vertices, count * 2 * stride);
+            }
+            return vertices;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.*;
 import net.minecraft.util.shape.VoxelShapes;
+import net.shoreline.client.impl.font.AWTFontRenderer;
 import net.shoreline.client.impl.gui.click.component.ScissorStack;
 import net.shoreline.client.impl.module.client.FontModule;
 import net.shoreline.client.impl.module.render.NametagsModule;
@@ -96,7 +97,7 @@ public class RenderManager implements Globals
     public static void drawBox(MatrixStack matrices, double x1, double y1,
                                double z1, double x2, double y2, double z2, int color)
     {
-        QUADS.begin(matrices);
+        QUADS.beginBatch(matrices);
         QUADS.color(color);
 
         QUADS.vertex(x1, y1, z1).vertex(x2, y1, z1).vertex(x2, y1, z2).vertex(x1, y1, z2);
@@ -128,7 +129,7 @@ public class RenderManager implements Globals
     public static void drawSide(MatrixStack matrices, double x1, double y1,
                                 double z1, double x2, double y2, double z2, Direction direction, int color)
     {
-        QUADS.begin(matrices);
+        QUADS.beginBatch(matrices);
         QUADS.color(color);
         if (direction.getAxis().isVertical())
         {
@@ -157,7 +158,7 @@ public class RenderManager implements Globals
     public static void drawPlane(MatrixStack matrices, double x1, double y1,
                                 double z1, double x2, double y2, double z2, int color)
     {
-        QUADS.begin(matrices);
+        QUADS.beginBatch(matrices);
         QUADS.color(color);
         QUADS.vertex(x1, y1, z1).vertex(x1, y2, z1).vertex(x2, y2, z2).vertex(x2, y1, z2);
         QUADS.end();
@@ -195,7 +196,7 @@ public class RenderManager implements Globals
     public static void drawBoundingCross(MatrixStack matrices, double x1, double y1,
                                        double z1, double x2, double y2, double z2, int color)
     {
-        LINES.begin(matrices);
+        LINES.beginBatch(matrices);
         LINES.color(color);
         LINES.vertexLine(x1, y1, z1, x2, y1, z2);
         LINES.vertexLine(x2, y1, z1, x1, y1, z2);
@@ -252,7 +253,7 @@ public class RenderManager implements Globals
     public static void drawBoundingBox(MatrixStack matrices, double x1, double y1,
                                        double z1, double x2, double y2, double z2, int color)
     {
-        LINES.begin(matrices);
+        LINES.beginBatch(matrices);
         LINES.color(color);
 
         double dx = x2 - x1;
@@ -319,7 +320,7 @@ public class RenderManager implements Globals
                                 double z1, double x2, double y2, double z2, int color)
     {
         matrices.push();
-        LINES.begin(matrices);
+        LINES.beginBatch(matrices);
         LINES.color(color);
         LINES.vertexLine(x1, y1, z1, x2, y2, z2);
         LINES.end();
@@ -378,9 +379,10 @@ public class RenderManager implements Globals
         RenderManager.post(() ->
         {
             GL11.glDepthFunc(GL11.GL_ALWAYS);
-            if (FontModule.getInstance().isEnabled())
+            AWTFontRenderer font = Fonts.CLIENT_UNSCALED;
+            if (FontModule.getInstance().isEnabled() && font != null)
             {
-                Fonts.CLIENT_UNSCALED.drawStringWithShadow(matrices, text, -hwidth, 0.0f, color);
+                font.drawStringWithShadow(matrices, text, -hwidth, 0.0f, color);
             }
             else
             {
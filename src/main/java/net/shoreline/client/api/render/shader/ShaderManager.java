@@ -8,6 +8,7 @@ import net.minecraft.client.render.*;
 import net.minecraft.client.util.BufferAllocator;
 import net.minecraft.util.Identifier;
 import net.shoreline.client.api.render.satin.ManagedShaderEffect;
+import net.shoreline.client.api.render.satin.ResettableManagedCoreShader;
 import net.shoreline.client.api.render.satin.ShaderEffectManager;
 import net.shoreline.client.impl.imixin.IPostEffectProcessor;
 import net.shoreline.client.mixin.accessor.AccessorMultiPhase;
@@ -36,11 +37,16 @@ public class ShaderManager implements Globals
     public ManagedShaderEffect glowingShaderEffect;
     public ManagedShaderEffect rainbowShaderEffect;
 
+    // Reloaded with the vanilla programs, see MixinGameRenderer
+    private final ResettableManagedCoreShader sdfTextShader;
+
     public ShaderManager()
     {
         target = new RenderPhase.Target("shader_target", () -> {}, () -> {});
         layerCreator = memoizeTexture(texture -> RenderLayer.of("shoreline_overlay", VertexFormats.POSITION_TEXTURE_COLOR, VertexFormat.DrawMode.QUADS, 1536, RenderLayer.MultiPhaseParameters.builder()
                 .program(RenderPhase.OUTLINE_PROGRAM).cull(RenderPhase.DISABLE_CULLING).texture(texture).depthTest(RenderPhase.ALWAYS_DEPTH_TEST).target(target).build(RenderLayer.OutlineMode.IS_OUTLINE)));
+        sdfTextShader = (ResettableManagedCoreShader) ShaderEffectManager.getInstance().manageCoreShader(
+                Identifier.of("shoreline", "sdf_text"), VertexFormats.POSITION_TEXTURE_COLOR);
     }
 
     public void reloadShaders()
@@ -152,4 +158,18 @@ public class ShaderManager implements Globals
     {
         return rainbowShaderEffect;
     }
+
+    /**
+     * @return The signed distance field text shader or <tt>null</tt> if it
+     * failed to load
+     */
+    public ResettableManagedCoreShader getSdfTextShader()
+    {
+        // Managed after the first program load, so load it on first use
+        if (!sdfTextShader.isInitialized() && !sdfTextShader.isErrored())
+        {
+            sdfTextShader.initializeOrLog(mc.getResourceManager());
+        }
+        return sdfTextShader.isInitialized() ? sdfTextShader : null;
+    }
 }
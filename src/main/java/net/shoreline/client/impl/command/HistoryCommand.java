@@ -31,23 +31,25 @@ public class HistoryCommand extends Command
                 ChatUtil.error("Could not find player UUID!");
                 return 0;
             }
-            Map<String, String> nameHistory = Managers.LOOKUP.getNameHistoryFromUUID(uuid);
-            if (nameHistory == null)
+            Managers.LOOKUP.getNameHistoryFromUUID(uuid).thenAccept(nameHistory -> mc.execute(() ->
             {
-                ChatUtil.error("Could not find player name history!");
-                return 0;
-            }
-            ArrayList<String> nameHistoryList = new ArrayList<>();
-            for (Map.Entry<String, String> entry : nameHistory.entrySet())
-            {
-                nameHistoryList.add(entry.getValue() + " - " + entry.getKey().substring(0, 10));
-            }
-            if (nameHistoryList.isEmpty())
-            {
-                ChatUtil.error("No player name history!");
-                return 0;
-            }
-            ChatUtil.clientSendMessageRaw("§7History: §f" + String.join(", ", nameHistoryList));
+                if (nameHistory == null)
+                {
+                    ChatUtil.error("Could not find player name history!");
+                    return;
+                }
+                ArrayList<String> nameHistoryList = new ArrayList<>();
+                for (Map.Entry<String, String> entry : nameHistory.entrySet())
+                {
+                    nameHistoryList.add(entry.getValue() + " - " + entry.getKey().substring(0, 10));
+                }
+                if (nameHistoryList.isEmpty())
+                {
+                    ChatUtil.error("No player name history!");
+                    return;
+                }
+                ChatUtil.clientSendMessageRaw("§7History: §f" + String.join(", ", nameHistoryList));
+            }));
             return 1;
         }));
     }
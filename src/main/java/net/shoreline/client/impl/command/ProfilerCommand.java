@@ -0,0 +1,149 @@
+package net.shoreline.client.impl.command;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.minecraft.command.CommandSource;
+import net.shoreline.client.Shoreline;
+import net.shoreline.client.api.command.Command;
+import net.shoreline.client.util.chat.ChatUtil;
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.ListenerProfiler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Starts and stops the event bus profiler and prints the listeners which
+ * take the most time, or dumps all of them to <tt>profiler.json</tt>
+ *
+ * @author linus
+ * @see ListenerProfiler
+ * @since 1.0
+ */
+public class ProfilerCommand extends Command
+{
+    // Number of listeners printed by default
+    private static final int DEFAULT_COUNT = 10;
+
+    /**
+     *
+     */
+    public ProfilerCommand()
+    {
+        super("Profiler", "Profiles the time and allocations of event listeners", literal("profiler"));
+    }
+
+    @Override
+    public void buildCommand(LiteralArgumentBuilder<CommandSource> builder)
+    {
+        builder.then(argument("action", StringArgumentType.string())
+                .suggests(suggest("start", "stop", "reset", "dump", "json"))
+                .then(argument("count", IntegerArgumentType.integer(1)).executes(c ->
+                        run(StringArgumentType.getString(c, "action"), IntegerArgumentType.getInteger(c, "count"))))
+                .executes(c -> run(StringArgumentType.getString(c, "action"), DEFAULT_COUNT)))
+                .executes(c ->
+                {
+                    ChatUtil.error("Invalid usage! Usage: " + getUsage());
+                    return 1;
+                });
+    }
+
+    private int run(String action, int count)
+    {
+        switch (action.toLowerCase())
+        {
+            case "start", "reset" ->
+            {
+                EventBus.INSTANCE.setProfiling(true);
+                ChatUtil.clientSendMessage("Started profiling event listeners");
+                return 1;
+            }
+            case "stop" ->
+            {
+                EventBus.INSTANCE.setProfiling(false);
+                ChatUtil.clientSendMessage("Stopped profiling event listeners");
+                return 1;
+            }
+            case "dump" ->
+            {
+                ListenerProfiler profiler = EventBus.INSTANCE.getProfiler();
+                if (profiler == null)
+                {
+                    ChatUtil.error("Profiler is not running!");
+                    return 0;
+                }
+                List<ListenerProfiler.Result> results = profiler.getResults(count, ListenerProfiler.BY_TOTAL_TIME);
+                ChatUtil.clientSendMessage(String.format("§7Top %d listeners over %.1fs (total ms, count, avg µs, max µs%s)",
+                        results.size(), profiler.getElapsedNanos() / 1.0e9, profiler.isRecordingAllocations() ? ", KB" : ""));
+                for (ListenerProfiler.Result result : results)
+                {
+                    String line = String.format("§f%s §7(%s, %s) §f%.2f§7, §f%d§7, §f%.1f§7, §f%.1f",
+                            result.listener(), result.event(), result.thread(), result.totalNanos() / 1.0e6,
+                            result.count(), result.averageNanos() / 1.0e3, result.maxNanos() / 1.0e3);
+                    if (profiler.isRecordingAllocations())
+                    {
+                        line += String.format("§7, §f%.1f", result.allocatedBytes() / 1024.0);
+                    }
+                    ChatUtil.clientSendMessage(line);
+                }
+                return 1;
+            }
+            case "json" ->
+            {
+                ListenerProfiler profiler = EventBus.INSTANCE.getProfiler();
+                if (profiler == null)
+                {
+                    ChatUtil.error("Profiler is not running!");
+                    return 0;
+                }
+                Path file = Shoreline.CONFIG.getClientDirectory().resolve("profiler.json");
+                try
+                {
+                    writeJson(file, profiler);
+                    ChatUtil.clientSendMessage("Saved profile to §7" + file.getFileName());
+                }
+                catch (IOException e)
+                {
+                    e.printStackTrace();
+                    ChatUtil.error("Could not save profiler.json!");
+                }
+                return 1;
+            }
+            default ->
+            {
+                ChatUtil.error("Invalid usage! Usage: " + getUsage());
+                return 0;
+            }
+        }
+    }
+
+    private void writeJson(Path file, ListenerProfiler profiler) throws IOException
+    {
+        JsonObject out = new JsonObject();
+        out.addProperty("elapsedNanos", profiler.getElapsedNanos());
+        out.addProperty("allocations", profiler.isRecordingAllocations());
+        JsonArray listeners = new JsonArray();
+        for (ListenerProfiler.Result result : profiler.getResults(Integer.MAX_VALUE, ListenerProfiler.BY_TOTAL_TIME))
+        {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("listener", result.listener());
+            entry.addProperty("event", result.event());
+            entry.addProperty("thread", result.thread());
+            entry.addProperty("count", result.count());
+            entry.addProperty("totalNanos", result.totalNanos());
+            entry.addProperty("maxNanos", result.maxNanos());
+            entry.addProperty("allocatedBytes", result.allocatedBytes());
+            listeners.add(entry);
+        }
+        out.add("listeners", listeners);
+        Files.writeString(file, new GsonBuilder().setPrettyPrinting().create().toJson(out),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -18,13 +18,15 @@ public class QueueCommand extends Command
     {
         builder.executes(c ->
         {
-            String queue = Managers.LOOKUP.get2b2tQueueSize();
-            if (queue == null)
+            Managers.LOOKUP.get2b2tQueueSize().thenAccept(queue -> mc.execute(() ->
             {
-                ChatUtil.error("Could not fetch 2b2t queue size!");
-            }
-
-            ChatUtil.clientSendMessage(queue);
+                if (queue == null)
+                {
+                    ChatUtil.error("Could not fetch 2b2t queue size!");
+                    return;
+                }
+                ChatUtil.clientSendMessage(queue);
+            }));
             return 1;
         });
     }
@@ -22,18 +22,20 @@ public class StatsCommand extends Command
         builder.then(argument("player", PlayerArgumentType.player()).executes(c ->
         {
             String playerName = PlayerArgumentType.getPlayer(c, "player");
-            Map<String, String> stats = Managers.LOOKUP.getPlayerStats2b2t(playerName);
-            if (stats == null)
+            Managers.LOOKUP.getPlayerStats2b2t(playerName).thenAccept(stats -> mc.execute(() ->
             {
-                ChatUtil.error("Could not find player 2b2t stats!");
-                return 0;
-            }
-            int id = -9957204;
-            ChatUtil.clientSendMessage(playerName + "'s Stats", id--);
-            for (Map.Entry<String, String> entry : stats.entrySet())
-            {
-                ChatUtil.clientSendMessageRaw("§7" + entry.getKey() + ": §f" + entry.getValue(), id--);
-            }
+                if (stats == null)
+                {
+                    ChatUtil.error("Could not find player 2b2t stats!");
+                    return;
+                }
+                int id = -9957204;
+                ChatUtil.clientSendMessage(playerName + "'s Stats", id--);
+                for (Map.Entry<String, String> entry : stats.entrySet())
+                {
+                    ChatUtil.clientSendMessageRaw("§7" + entry.getKey() + ": §f" + entry.getValue(), id--);
+                }
+            }));
             return 1;
         }));
     }
@@ -1,5 +1,6 @@
 package net.shoreline.client.impl.event;
 
+import net.shoreline.eventbus.event.EventPool;
 import net.shoreline.eventbus.event.StageEvent;
 
 /**
@@ -8,5 +9,21 @@ import net.shoreline.eventbus.event.StageEvent;
  */
 public class TickEvent extends StageEvent
 {
+    //
+    private static final EventPool<TickEvent> POOL = new EventPool<>(TickEvent::new);
 
+    /**
+     * Returns a pooled event which must be released after it has been
+     * dispatched.
+     *
+     * @param stage
+     * @return
+     * @see EventPool
+     */
+    public static TickEvent acquire(EventStage stage)
+    {
+        TickEvent event = POOL.acquire();
+        event.setStage(stage);
+        return event;
+    }
 }
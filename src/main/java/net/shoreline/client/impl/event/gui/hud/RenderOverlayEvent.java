@@ -4,6 +4,7 @@ import net.minecraft.client.gui.DrawContext;
 import net.shoreline.client.mixin.gui.hud.MixinInGameHud;
 import net.shoreline.eventbus.annotation.Cancelable;
 import net.shoreline.eventbus.event.Event;
+import net.shoreline.eventbus.event.EventPool;
 
 /**
  * @author linus
@@ -13,7 +14,7 @@ import net.shoreline.eventbus.event.Event;
 public class RenderOverlayEvent extends Event
 {
     //
-    private final DrawContext context;
+    private DrawContext context;
 
 
     /**
@@ -32,10 +33,19 @@ public class RenderOverlayEvent extends Event
         return context;
     }
 
+    @Override
+    protected void reset()
+    {
+        super.reset();
+        context = null;
+    }
+
     public static class Post extends RenderOverlayEvent
     {
         //
-        private final float tickDelta;
+        private static final EventPool<Post> POOL = new EventPool<>(() -> new Post(null, 0.0f));
+        //
+        private float tickDelta;
 
         /**
          * @param context
@@ -47,6 +57,23 @@ public class RenderOverlayEvent extends Event
             this.tickDelta = tickDelta;
         }
 
+        /**
+         * Returns a pooled event which must be released after it has been
+         * dispatched.
+         *
+         * @param context
+         * @param tickDelta
+         * @return
+         * @see EventPool
+         */
+        public static Post acquire(DrawContext context, float tickDelta)
+        {
+            Post event = POOL.acquire();
+            ((RenderOverlayEvent) event).context = context;
+            event.tickDelta = tickDelta;
+            return event;
+        }
+
         /**
          * @return
          */
@@ -5,15 +5,17 @@ import net.minecraft.network.packet.Packet;
 import net.shoreline.client.init.Managers;
 import net.shoreline.eventbus.annotation.Cancelable;
 import net.shoreline.eventbus.event.Event;
+import net.shoreline.eventbus.event.EventPool;
+import net.shoreline.eventbus.event.FilterableEvent;
 
 /**
  * @author linus
  * @since 1.0
  */
-public class PacketEvent extends Event
+public class PacketEvent extends Event implements FilterableEvent
 {
     //
-    private final Packet<?> packet;
+    private Packet<?> packet;
 
     /**
      * @param packet
@@ -31,14 +33,43 @@ public class PacketEvent extends Event
         return packet;
     }
 
+    /**
+     * Packet listeners can filter by packet class, i.e.
+     * <tt>@EventListener(filter = EntityStatusS2CPacket.class)</tt>
+     *
+     * @return
+     */
+    @Override
+    public Class<?> getFilterType()
+    {
+        return packet.getClass();
+    }
+
+    /**
+     * @param packet
+     */
+    protected void setPacket(Packet<?> packet)
+    {
+        this.packet = packet;
+    }
+
+    @Override
+    protected void reset()
+    {
+        super.reset();
+        packet = null;
+    }
+
     /**
      *
      */
     @Cancelable
     public static class Inbound extends PacketEvent
     {
+        //
+        private static final EventPool<Inbound> POOL = new EventPool<>(() -> new Inbound(null, null));
 
-        private final PacketListener packetListener;
+        private PacketListener packetListener;
 
         /**
          * @param packet
@@ -49,10 +80,34 @@ public class PacketEvent extends Event
             this.packetListener = packetListener;
         }
 
+        /**
+         * Returns a pooled event which must be released after it has been
+         * dispatched.
+         *
+         * @param packetListener
+         * @param packet
+         * @return
+         * @see EventPool
+         */
+        public static Inbound acquire(PacketListener packetListener, Packet<?> packet)
+        {
+            Inbound event = POOL.acquire();
+            event.setPacket(packet);
+            event.packetListener = packetListener;
+            return event;
+        }
+
         public PacketListener getPacketListener()
         {
             return packetListener;
         }
+
+        @Override
+        protected void reset()
+        {
+            super.reset();
+            packetListener = null;
+        }
     }
 
     /**
@@ -62,7 +117,9 @@ public class PacketEvent extends Event
     public static class Outbound extends PacketEvent
     {
         //
-        private final boolean cached;
+        private static final EventPool<Outbound> POOL = new EventPool<>(() -> new Outbound(null));
+        //
+        private boolean cached;
 
         /**
          * @param packet
@@ -70,7 +127,31 @@ public class PacketEvent extends Event
         public Outbound(Packet<?> packet)
         {
             super(packet);
+            this.cached = packet != null && Managers.NETWORK.isCached(packet);
+        }
+
+        /**
+         * Returns a pooled event which must be released after it has been
+         * dispatched.
+         *
+         * @param packet
+         * @return
+         * @see EventPool
+         */
+        public static Outbound acquire(Packet<?> packet)
+        {
+            return POOL.acquire().init(packet);
+        }
+
+        /**
+         * @param packet
+         * @return
+         */
+        protected Outbound init(Packet<?> packet)
+        {
+            setPacket(packet);
             this.cached = Managers.NETWORK.isCached(packet);
+            return this;
         }
 
         /**
@@ -85,6 +166,9 @@ public class PacketEvent extends Event
     @Cancelable
     public static class OutboundPost extends Outbound
     {
+        //
+        private static final EventPool<OutboundPost> POOL = new EventPool<>(() -> new OutboundPost(null));
+
         /**
          * @param packet
          */
@@ -92,5 +176,20 @@ public class PacketEvent extends Event
         {
             super(packet);
         }
+
+        /**
+         * Returns a pooled event which must be released after it has been
+         * dispatched.
+         *
+         * @param packet
+         * @return
+         * @see EventPool
+         */
+        public static OutboundPost acquire(Packet<?> packet)
+        {
+            OutboundPost event = POOL.acquire();
+            event.init(packet);
+            return event;
+        }
     }
 }
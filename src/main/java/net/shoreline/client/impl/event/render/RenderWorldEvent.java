@@ -2,6 +2,7 @@ package net.shoreline.client.impl.event.render;
 
 import net.minecraft.client.util.math.MatrixStack;
 import net.shoreline.eventbus.event.Event;
+import net.shoreline.eventbus.event.EventPool;
 
 /**
  * @author linus
@@ -10,8 +11,10 @@ import net.shoreline.eventbus.event.Event;
 public class RenderWorldEvent extends Event
 {
     //
-    private final MatrixStack matrices;
-    private final float tickDelta;
+    private static final EventPool<RenderWorldEvent> POOL = new EventPool<>(() -> new RenderWorldEvent(null, 0.0f));
+    //
+    private MatrixStack matrices;
+    private float tickDelta;
 
     /**
      * @param matrices
@@ -22,6 +25,39 @@ public class RenderWorldEvent extends Event
         this.tickDelta = tickDelta;
     }
 
+    /**
+     * Returns a pooled event which must be released after it has been
+     * dispatched.
+     *
+     * @param matrices
+     * @param tickDelta
+     * @return
+     * @see EventPool
+     */
+    public static RenderWorldEvent acquire(MatrixStack matrices, float tickDelta)
+    {
+        return POOL.acquire().init(matrices, tickDelta);
+    }
+
+    /**
+     * @param matrices
+     * @param tickDelta
+     * @return
+     */
+    protected RenderWorldEvent init(MatrixStack matrices, float tickDelta)
+    {
+        this.matrices = matrices;
+        this.tickDelta = tickDelta;
+        return this;
+    }
+
+    @Override
+    protected void reset()
+    {
+        super.reset();
+        matrices = null;
+    }
+
     /**
      * @return
      */
@@ -40,6 +76,8 @@ public class RenderWorldEvent extends Event
 
     public static class Game extends RenderWorldEvent
     {
+        //
+        private static final EventPool<Game> POOL = new EventPool<>(() -> new Game(null, 0.0f));
 
         /**
          * @param matrices
@@ -49,10 +87,28 @@ public class RenderWorldEvent extends Event
         {
             super(matrices, tickDelta);
         }
+
+        /**
+         * Returns a pooled event which must be released after it has been
+         * dispatched.
+         *
+         * @param matrices
+         * @param tickDelta
+         * @return
+         * @see EventPool
+         */
+        public static Game acquire(MatrixStack matrices, float tickDelta)
+        {
+            Game event = POOL.acquire();
+            event.init(matrices, tickDelta);
+            return event;
+        }
     }
 
     public static class Hand extends RenderWorldEvent
     {
+        //
+        private static final EventPool<Hand> POOL = new EventPool<>(() -> new Hand(null, 0.0f));
         /**
          * @param matrices
          * @param tickDelta
@@ -61,5 +117,21 @@ public class RenderWorldEvent extends Event
         {
             super(matrices, tickDelta);
         }
+
+        /**
+         * Returns a pooled event which must be released after it has been
+         * dispatched.
+         *
+         * @param matrices
+         * @param tickDelta
+         * @return
+         * @see EventPool
+         */
+        public static Hand acquire(MatrixStack matrices, float tickDelta)
+        {
+            Hand event = POOL.acquire();
+            event.init(matrices, tickDelta);
+            return event;
+        }
     }
 }
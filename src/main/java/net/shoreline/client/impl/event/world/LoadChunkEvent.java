@@ -1,8 +1,15 @@
 package net.shoreline.client.impl.event.world;
 
+import net.minecraft.block.BlockState;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.shoreline.client.util.world.ChunkScanner;
 import net.shoreline.eventbus.event.Event;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
 public class LoadChunkEvent extends Event
 {
     private final Chunk chunk;
@@ -16,4 +23,29 @@ public class LoadChunkEvent extends Event
     {
         return chunk;
     }
+
+    public ChunkSection[] getSections()
+    {
+        return chunk.getSectionArray();
+    }
+
+    /**
+     * @param filter
+     * @return <tt>true</tt> if any section palette contains a matching state
+     * @see ChunkScanner#hasAny(Chunk, Predicate)
+     */
+    public boolean hasAny(Predicate<BlockState> filter)
+    {
+        return ChunkScanner.hasAny(chunk, filter);
+    }
+
+    /**
+     * @param filter
+     * @return The matching blocks, found off the render thread
+     * @see ChunkScanner#scanAsync(Chunk, Predicate)
+     */
+    public CompletableFuture<List<ChunkScanner.Match>> scanAsync(Predicate<BlockState> filter)
+    {
+        return ChunkScanner.scanAsync(chunk, filter);
+    }
 }
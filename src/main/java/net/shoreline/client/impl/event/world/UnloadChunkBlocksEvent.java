@@ -13,6 +13,11 @@ public class UnloadChunkBlocksEvent extends Event
         this.chunk = chunk;
     }
 
+    public WorldChunk getChunk()
+    {
+        return chunk;
+    }
+
     public boolean contains(BlockPos blockPos)
     {
         int chunkX = blockPos.getX() >> 4;
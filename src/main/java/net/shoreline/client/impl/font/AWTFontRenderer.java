@@ -1,28 +1,40 @@
 package net.shoreline.client.impl.font;
 
 import com.mojang.blaze3d.systems.RenderSystem;
-import it.unimi.dsi.fastutil.chars.Char2ObjectArrayMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.chars.CharArrayList;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectList;
 import net.minecraft.client.render.*;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.Identifier;
+import net.shoreline.client.Shoreline;
 import net.shoreline.client.api.font.Glyph;
 import net.shoreline.client.api.font.GlyphCache;
+import net.shoreline.client.api.render.satin.ManagedCoreShader;
 import net.shoreline.client.impl.module.client.ColorsModule;
 import net.shoreline.client.impl.module.client.FontModule;
 import net.shoreline.client.impl.module.client.SocialsModule;
+import net.shoreline.client.init.Managers;
 import net.shoreline.client.util.Globals;
 import net.shoreline.client.util.math.HexRandom;
 import org.joml.Matrix4f;
+import org.joml.Vector3f;
 import org.lwjgl.opengl.GL11;
 
 import java.awt.*;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.InputStream;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -44,11 +56,26 @@ import java.util.regex.Pattern;
  *
  * 3. createFont():
  *    - scale 변경 시 fallbackFont도 같은 size*scale 로 재생성
+ *
+ * 4. 문자열 메시 캐시 / 배치:
+ *    - 문자열별 쿼드를 아틀라스 단위로 미리 계산해 LRU 캐시에 보관
+ *    - beginBatch()/endBatch() 사이의 텍스트는 아틀라스당 한 번에 그린다
+ *
+ * 5. 비동기 아틀라스:
+ *    - GlyphCache 는 아틀라스를 백그라운드에서 굽고, 업로드 전 글리프는 그리지 않는다
+ *    - 구운 아틀라스는 클라이언트 폴더의 cache/glyphs 에 저장해 재사용한다
+ *
+ * 6. SDF 모드 (FontModule 의 SDF 설정):
+ *    - 글리프를 고정 크기(SDF_SIZE)의 거리장으로 한 번만 굽고 셰이더에서 잘라 그린다
+ *    - 크기, GUI 스케일, 네임태그 거리 스케일이 바뀌어도 아틀라스를 다시 굽지 않는다
+ *    - 그림자와 외곽선은 sdf_text 셰이더가 같은 쿼드에서 그린다 (한 번만 그린다)
  */
 public final class AWTFontRenderer implements Closeable, Globals
 {
     private Font font;
-    private final float size;
+    private float size;
+    // 폰트 파일의 해시, 디스크 아틀라스 캐시의 키로 사용
+    private String fontHash;
 
     /**
      * 한글·CJK 문자를 렌더링하기 위한 보조 폰트.
@@ -58,25 +85,61 @@ public final class AWTFontRenderer implements Closeable, Globals
 
     private int scale;
     private int lastScale;
+    // SDF 아틀라스 사용 여부
+    private boolean sdf;
+    // 아틀라스 픽셀 → GUI 좌표 배율 (비트맵: 1 / scale, SDF: size / SDF_SIZE)
+    private float glyphScale;
 
     private static final Pattern PATTERN_CONTROL_CODE =
             Pattern.compile("(?i)\\u00A7[0-9A-FK-OG]");
 
+    // 한 쿼드: x1, y1, x2, y2, u1, v1, u2, v2
+    private static final int QUAD_SIZE = 8;
+    // 배치 정점: x, y, z, u, v, r, g, b, a
+    private static final int VERTEX_SIZE = 9;
+    // 캐시할 최대 문자열 메시 수
+    private static final int MAX_MESHES = 1024;
+    // SDF 아틀라스를 굽는 폰트 크기와 거리장 범위 (아틀라스 픽셀)
+    private static final float SDF_SIZE = 40.0f;
+    private static final int SDF_SPREAD = 5;
+    // 그림자 오프셋 (GUI 좌표)
+    private static final float SHADOW_OFFSET = 0.5f;
+
     private final ObjectList<GlyphCache> caches = new ObjectArrayList<>();
-    private final Char2ObjectArrayMap<Glyph> glyphs = new Char2ObjectArrayMap<>();
-    private final Map<Identifier, ObjectList<CharLocation>> cache =
-            new Object2ObjectOpenHashMap<>();
+    private final Char2ObjectOpenHashMap<Glyph> glyphs = new Char2ObjectOpenHashMap<>();
+
+    /**
+     * 문자열 메시 캐시 (LRU). 문자열과 밝기로 구분하며 색과 위치는 그릴 때 적용하므로
+     * 색이 바뀌는 텍스트도 같은 메시를 재사용한다.
+     */
+    private final Map<MeshKey, StringMesh> meshes =
+            new LinkedHashMap<>(256, 0.75f, true)
+            {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MeshKey, StringMesh> eldest)
+                {
+                    return size() > MAX_MESHES;
+                }
+            };
+
+    // 배치 중 아틀라스·그림자별 정점
+    private final Map<BatchKey, FloatArrayList> batches = new Object2ObjectLinkedOpenHashMap<>();
+    private final Vector3f position = new Vector3f();
+    private boolean batching;
 
     public AWTFontRenderer(InputStream inputStream, float size)
     {
         try
         {
-            this.font = Font.createFont(Font.TRUETYPE_FONT, inputStream);
+            byte[] data = inputStream.readAllBytes();
+            this.font = Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(data));
+            this.fontHash = hash(data);
         }
         catch (Throwable t)
         {
             t.printStackTrace();
             this.font = new Font("Verdana", Font.PLAIN, Math.round(size));
+            this.fontHash = hash(font.getFontName().getBytes(StandardCharsets.UTF_8));
         }
         this.size = size;
         createFont(font, size);
@@ -101,10 +164,30 @@ public final class AWTFontRenderer implements Closeable, Globals
     {
         this.lastScale = (int) mc.getWindow().getScaleFactor();
         this.scale     = this.lastScale;
-        this.font      = font.deriveFont(size * scale);
+        this.sdf       = FontModule.getInstance().getSdf();
+        // SDF 는 스케일과 무관하게 고정 크기로 굽는다
+        float derivedSize = sdf ? SDF_SIZE : size * scale;
+        this.glyphScale = sdf ? size / SDF_SIZE : 1.0f / scale;
+        this.font      = font.deriveFont(derivedSize);
 
         // fallback 폰트 초기화
-        this.fallbackFont = loadFallbackFont(size * scale);
+        this.fallbackFont = loadFallbackFont(derivedSize);
+    }
+
+    /**
+     * SDF 모드에서는 아틀라스를 그대로 두고 배율만 바꾼다.
+     *
+     * @return 크기를 바꿨으면 true, 비트맵 모드라 새 렌더러가 필요하면 false
+     */
+    public boolean setSize(float size)
+    {
+        if (!sdf)
+        {
+            return false;
+        }
+        this.size = size;
+        this.glyphScale = size / SDF_SIZE;
+        return true;
     }
 
     /**
@@ -189,7 +272,18 @@ public final class AWTFontRenderer implements Closeable, Globals
 
     public void drawStringWithShadow(MatrixStack stack, String text, double x, double y, int color)
     {
-        drawString(stack, text, x + 0.5f, y + 0.5f, color, true);
+        checkFont();
+        if (sdf)
+        {
+            // 그림자는 셰이더가 같은 쿼드에서 그린다
+            float r = ((color >> 16) & 0xff) / 255.0f;
+            float g = ((color >>  8) & 0xff) / 255.0f;
+            float b = ((color      ) & 0xff) / 255.0f;
+            float a = ((color >> 24) & 0xff) / 255.0f;
+            drawString(stack, text, (float) x, (float) y, r, g, b, a, 1.0f, true);
+            return;
+        }
+        drawString(stack, text, x + SHADOW_OFFSET, y + SHADOW_OFFSET, color, true);
         drawString(stack, text, x, y, color, false);
     }
 
@@ -227,115 +321,291 @@ public final class AWTFontRenderer implements Closeable, Globals
     public void drawString(MatrixStack stack, String text, float x, float y,
                            float r, float g, float b, float a, float brightnessMultiplier)
     {
-        // Scale 변경 감지 → 폰트 재생성 (fallback 포함)
-        int currentScale = (int) mc.getWindow().getScaleFactor();
-        if (currentScale != lastScale)
-        {
-            close();
-            createFont(font, size);
-        }
+        drawString(stack, text, x, y, r, g, b, a, brightnessMultiplier, false);
+    }
+
+    private void drawString(MatrixStack stack, String text, float x, float y,
+                            float r, float g, float b, float a, float brightnessMultiplier, boolean shadow)
+    {
+        checkFont();
 
-        float r2 = r, g2 = g, b2 = b;
         stack.push();
         y -= 3.0f;
         stack.translate(x, y, 0.0f);
-        stack.scale(1.0f / scale, 1.0f / scale, 0.0f);
-
-        RenderSystem.setShader(GameRenderer::getPositionTexColorProgram);
-        Tessellator tessellator = Tessellator.getInstance();
+        stack.scale(glyphScale, glyphScale, 0.0f);
         Matrix4f matrix4f = stack.peek().getPositionMatrix();
-        char[] chars = text.toCharArray();
-        float xOffset = 0;
-        float yOffset = 0;
-        boolean formatting = false;
-        int lineStart = 0;
-        glyphs.clear();
 
-        synchronized (cache)
+        synchronized (meshes)
         {
-            for (int i = 0; i < chars.length; i++)
+            StringMesh mesh = getMesh(text, brightnessMultiplier);
+            for (MeshBatch batch : mesh.batches())
             {
-                char c = chars[i];
-                if (formatting)
+                if (batching)
                 {
-                    formatting = false;
-                    if (c == 'r')
-                    {
-                        r2 = r; g2 = g; b2 = b;
-                    }
-                    else
-                    {
-                        int colorCode = getColorFromCode(c);
-                        int[] col = toRgbComponents(colorCode);
-                        r2 = col[0] / 255.0f * brightnessMultiplier;
-                        g2 = col[1] / 255.0f * brightnessMultiplier;
-                        b2 = col[2] / 255.0f * brightnessMultiplier;
-                    }
+                    FloatArrayList vertices = batches.computeIfAbsent(
+                            new BatchKey(batch.atlas(), shadow), k -> new FloatArrayList());
+                    writeBatch(batch, matrix4f, r, g, b, a, brightnessMultiplier, vertices, null);
                     continue;
                 }
-                if (c == '§')      { formatting = true; continue; }
-                if (c == '\n')
+                if (!setupAtlas(batch.atlas(), shadow))
                 {
-                    yOffset += getStringHeight(text.substring(lineStart, i)) * scale;
-                    xOffset = 0;
-                    lineStart = i + 1;
                     continue;
                 }
+                BufferBuilder bufferBuilder = Tessellator.getInstance().begin(
+                        VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE_COLOR);
+                writeBatch(batch, matrix4f, r, g, b, a, brightnessMultiplier, null, bufferBuilder);
+                BufferRenderer.drawWithGlobalProgram(bufferBuilder.end());
+                RenderSystem.disableBlend();
+            }
+        }
+        stack.pop();
+    }
 
-                Glyph glyph = glyphs.computeIfAbsent(c, ch -> getGlyphFromChar(ch));
-                if (glyph != null)
+    /**
+     * SDF 설정 또는 (비트맵 모드에서) GUI 스케일이 바뀌었으면 폰트를 다시 만든다.
+     */
+    private void checkFont()
+    {
+        boolean sdfChanged = sdf != FontModule.getInstance().getSdf();
+        if (sdfChanged || !sdf && (int) mc.getWindow().getScaleFactor() != lastScale)
+        {
+            close();
+            createFont(font, size);
+        }
+    }
+
+    // ── 문자열 메시 캐시 / 배치 ──────────────────────────────────────
+
+    /**
+     * 이후의 drawString 호출을 즉시 그리지 않고 아틀라스별로 모은다.
+     * {@link #endBatch()} 에서 아틀라스당 한 번의 draw call 로 출력된다.
+     * 배치 중의 텍스트는 사이에 그려진 다른 요소보다 위에 그려진다.
+     */
+    public void beginBatch()
+    {
+        batching = true;
+    }
+
+    /**
+     * 모아둔 텍스트를 아틀라스별로 그리고 배치를 종료한다.
+     */
+    public void endBatch()
+    {
+        batching = false;
+        synchronized (meshes)
+        {
+            for (Map.Entry<BatchKey, FloatArrayList> entry : batches.entrySet())
+            {
+                FloatArrayList vertices = entry.getValue();
+                BatchKey key = entry.getKey();
+                if (vertices.isEmpty() || !setupAtlas(key.atlas(), key.shadow()))
+                {
+                    vertices.clear();
+                    continue;
+                }
+                BufferBuilder bufferBuilder = Tessellator.getInstance().begin(
+                        VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE_COLOR);
+                float[] v = vertices.elements();
+                for (int i = 0; i < vertices.size(); i += VERTEX_SIZE)
                 {
-                    if (glyph.value() != ' ')
-                    {
-                        Identifier i1 = glyph.owner().getId();
-                        cache.computeIfAbsent(i1, id -> new ObjectArrayList<>())
-                             .add(new CharLocation(xOffset, yOffset, r2, g2, b2, glyph));
-                    }
-                    xOffset += glyph.width();
+                    bufferBuilder.vertex(v[i], v[i + 1], v[i + 2])
+                            .color(v[i + 5], v[i + 6], v[i + 7], v[i + 8])
+                            .texture(v[i + 3], v[i + 4]);
                 }
+                BufferRenderer.drawWithGlobalProgram(bufferBuilder.end());
+                RenderSystem.disableBlend();
+                vertices.clear();
             }
+        }
+    }
 
-            for (Identifier identifier : cache.keySet())
+    private boolean setupAtlas(Identifier atlas, boolean shadow)
+    {
+        ManagedCoreShader shader = sdf && Managers.SHADER != null
+                ? Managers.SHADER.getSdfTextShader() : null;
+        if (shader != null)
+        {
+            // 그림자 오프셋은 아틀라스 픽셀 단위
+            float offset = shadow ? SHADOW_OFFSET / glyphScale : 0.0f;
+            shader.findUniform2f("ShadowOffset").set(offset, offset);
+            shader.findUniform1f("OutlineWidth").set(FontModule.getInstance().getOutline());
+            shader.findUniform4f("OutlineColor").set(0.0f, 0.0f, 0.0f, 1.0f);
+            RenderSystem.setShader(shader::getProgram);
+        }
+        else
+        {
+            // 셰이더를 쓸 수 없으면 거리장을 그대로 그린다 (가장자리가 흐려진다)
+            RenderSystem.setShader(GameRenderer::getPositionTexColorProgram);
+        }
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableCull();
+        RenderSystem.texParameter(GL11.GL_TEXTURE_2D,
+                GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+        RenderSystem.texParameter(GL11.GL_TEXTURE_2D,
+                GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+        try
+        {
+            RenderSystem.setShaderTexture(0, atlas);
+            return true;
+        }
+        catch (Exception e)
+        {
+            RenderSystem.disableBlend();
+            return false;
+        }
+    }
+
+    /**
+     * 메시의 쿼드를 현재 행렬과 색으로 버퍼 또는 배치 목록에 기록한다.
+     * 색상 코드 쿼드는 기록 시점에 색을 계산하므로 §s/§g 도 항상 최신 색을 사용.
+     */
+    private void writeBatch(MeshBatch batch, Matrix4f matrix4f, float r, float g, float b, float a,
+                            float brightnessMultiplier, FloatArrayList vertices, BufferBuilder bufferBuilder)
+    {
+        float[] quads = batch.quads();
+        char[] codes = batch.codes();
+        char lastCode = 0;
+        float cr = r, cg = g, cb = b;
+        for (int q = 0; q < codes.length; q++)
+        {
+            char code = codes[q];
+            if (code != lastCode)
             {
-                RenderSystem.enableBlend();
-                RenderSystem.defaultBlendFunc();
-                RenderSystem.disableCull();
-                RenderSystem.texParameter(GL11.GL_TEXTURE_2D,
-                        GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
-                RenderSystem.texParameter(GL11.GL_TEXTURE_2D,
-                        GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
-                try
+                lastCode = code;
+                if (code == 0)
                 {
-                    RenderSystem.setShaderTexture(0, identifier);
+                    cr = r; cg = g; cb = b;
                 }
-                catch (Exception e) { continue; }
+                else
+                {
+                    int color = getColorFromCode(code);
+                    cr = ((color >> 16) & 0xff) / 255.0f * brightnessMultiplier;
+                    cg = ((color >>  8) & 0xff) / 255.0f * brightnessMultiplier;
+                    cb = ((color      ) & 0xff) / 255.0f * brightnessMultiplier;
+                }
+            }
+            int i = q * QUAD_SIZE;
+            float x1 = quads[i],     y1 = quads[i + 1];
+            float x2 = quads[i + 2], y2 = quads[i + 3];
+            float u1 = quads[i + 4], v1 = quads[i + 5];
+            float u2 = quads[i + 6], v2 = quads[i + 7];
+            if (bufferBuilder != null)
+            {
+                bufferBuilder.vertex(matrix4f, x1, y2, 0).color(cr, cg, cb, a).texture(u1, v2);
+                bufferBuilder.vertex(matrix4f, x2, y2, 0).color(cr, cg, cb, a).texture(u2, v2);
+                bufferBuilder.vertex(matrix4f, x2, y1, 0).color(cr, cg, cb, a).texture(u2, v1);
+                bufferBuilder.vertex(matrix4f, x1, y1, 0).color(cr, cg, cb, a).texture(u1, v1);
+            }
+            else
+            {
+                addVertex(vertices, matrix4f, x1, y2, u1, v2, cr, cg, cb, a);
+                addVertex(vertices, matrix4f, x2, y2, u2, v2, cr, cg, cb, a);
+                addVertex(vertices, matrix4f, x2, y1, u2, v1, cr, cg, cb, a);
+                addVertex(vertices, matrix4f, x1, y1, u1, v1, cr, cg, cb, a);
+            }
+        }
+    }
 
-                List<CharLocation> objects = cache.get(identifier);
-                BufferBuilder bufferBuilder = tessellator.begin(
-                        VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_TEXTURE_COLOR);
+    private void addVertex(FloatArrayList vertices, Matrix4f matrix4f, float x, float y,
+                           float u, float v, float r, float g, float b, float a)
+    {
+        matrix4f.transformPosition(x, y, 0.0f, position);
+        vertices.add(position.x);
+        vertices.add(position.y);
+        vertices.add(position.z);
+        vertices.add(u);
+        vertices.add(v);
+        vertices.add(r);
+        vertices.add(g);
+        vertices.add(b);
+        vertices.add(a);
+    }
+
+    private StringMesh getMesh(String text, float brightnessMultiplier)
+    {
+        MeshKey key = new MeshKey(text, brightnessMultiplier);
+        StringMesh mesh = meshes.get(key);
+        if (mesh == null)
+        {
+            mesh = buildMesh(text);
+            // 굽는 중인 아틀라스가 있으면 업로드 후 다시 만든다
+            if (mesh.complete())
+            {
+                meshes.put(key, mesh);
+            }
+        }
+        return mesh;
+    }
+
+    /**
+     * 문자열의 쿼드를 아틀라스별로 미리 계산한다. 위치와 UV 는 문자열 기준
+     * 좌표로 저장되고, 색은 기본색(0) 또는 색상 코드 문자로 저장된다.
+     */
+    private StringMesh buildMesh(String text)
+    {
+        Map<Identifier, FloatArrayList> quads = new Object2ObjectLinkedOpenHashMap<>();
+        Map<Identifier, CharArrayList> codes = new Object2ObjectLinkedOpenHashMap<>();
+        float xOffset = 0;
+        float yOffset = 0;
+        boolean formatting = false;
+        boolean complete = true;
+        char code = 0;
+        int lineStart = 0;
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+            if (formatting)
+            {
+                formatting = false;
+                code = c == 'r' ? 0 : c;
+                continue;
+            }
+            if (c == '§')      { formatting = true; continue; }
+            if (c == '\n')
+            {
+                yOffset += getStringHeight(text.substring(lineStart, i)) / glyphScale;
+                xOffset = 0;
+                lineStart = i + 1;
+                continue;
+            }
 
-                for (CharLocation object : objects)
+            Glyph glyph = getGlyph(c);
+            if (glyph != null)
+            {
+                // 아틀라스가 업로드되기 전의 글리프는 자리만 차지한다
+                if (!glyph.owner().isGenerated())
+                {
+                    complete = false;
+                }
+                else if (glyph.value() != ' ')
                 {
-                    float xo = object.x, yo = object.y;
-                    float cr = object.r, cg = object.g, cb = object.b;
-                    Glyph glyph = object.glyph;
                     GlyphCache owner = glyph.owner();
-                    float w  = glyph.width(), h = glyph.height();
-                    float u1 = (float)  glyph.textureWidth()              / owner.getWidth();
-                    float v1 = (float)  glyph.textureHeight()             / owner.getHeight();
-                    float u2 = (float) (glyph.textureWidth()  + glyph.width())  / owner.getWidth();
-                    float v2 = (float) (glyph.textureHeight() + glyph.height()) / owner.getHeight();
-                    bufferBuilder.vertex(matrix4f, xo + 0, yo + h, 0).color(cr, cg, cb, a).texture(u1, v2);
-                    bufferBuilder.vertex(matrix4f, xo + w, yo + h, 0).color(cr, cg, cb, a).texture(u2, v2);
-                    bufferBuilder.vertex(matrix4f, xo + w, yo + 0, 0).color(cr, cg, cb, a).texture(u2, v1);
-                    bufferBuilder.vertex(matrix4f, xo + 0, yo + 0, 0).color(cr, cg, cb, a).texture(u1, v1);
+                    float w = glyph.width(), h = glyph.height();
+                    // SDF 는 글리프 밖의 거리(그림자, 외곽선)까지 그리도록 쿼드를 넓힌다
+                    int m = sdf ? SDF_SPREAD : 0;
+                    FloatArrayList list = quads.computeIfAbsent(owner.getId(), id -> new FloatArrayList());
+                    list.add(xOffset - m);
+                    list.add(yOffset - m);
+                    list.add(xOffset + w + m);
+                    list.add(yOffset + h + m);
+                    list.add((float) (glyph.textureWidth()  - m)                  / owner.getWidth());
+                    list.add((float) (glyph.textureHeight() - m)                  / owner.getHeight());
+                    list.add((float) (glyph.textureWidth()  + glyph.width()  + m) / owner.getWidth());
+                    list.add((float) (glyph.textureHeight() + glyph.height() + m) / owner.getHeight());
+                    codes.computeIfAbsent(owner.getId(), id -> new CharArrayList()).add(code);
                 }
-                BufferRenderer.drawWithGlobalProgram(bufferBuilder.end());
-                RenderSystem.disableBlend();
+                xOffset += glyph.width();
             }
-            cache.clear();
         }
-        stack.pop();
+        MeshBatch[] batches = new MeshBatch[quads.size()];
+        int n = 0;
+        for (Map.Entry<Identifier, FloatArrayList> entry : quads.entrySet())
+        {
+            batches[n++] = new MeshBatch(entry.getKey(), entry.getValue().toFloatArray(),
+                    codes.get(entry.getKey()).toCharArray());
+        }
+        return new StringMesh(batches, complete);
     }
 
     // ── drawCenteredString ───────────────────────────────────────────
@@ -387,8 +657,8 @@ public final class AWTFontRenderer implements Closeable, Globals
                 currentLine = 0;
                 continue;
             }
-            Glyph glyph = glyphs.computeIfAbsent(c1, ch -> getGlyphFromChar(ch));
-            currentLine += glyph == null ? 0 : glyph.width() / (float) scale;
+            Glyph glyph = getGlyph(c1);
+            currentLine += glyph == null ? 0 : glyph.width() * glyphScale;
         }
         return Math.max(currentLine, maxPrev);
     }
@@ -404,16 +674,16 @@ public final class AWTFontRenderer implements Closeable, Globals
             {
                 if (currentLine == 0)
                 {
-                    Glyph glyph = glyphs.computeIfAbsent(' ', ch -> getGlyphFromChar(ch));
-                    currentLine = glyph == null ? 0 : glyph.height() / (float) scale;
+                    Glyph glyph = getGlyph(' ');
+                    currentLine = glyph == null ? 0 : glyph.height() * glyphScale;
                 }
                 previous += currentLine;
                 currentLine = 0;
                 continue;
             }
-            Glyph glyph = glyphs.computeIfAbsent(c1, ch -> getGlyphFromChar(ch));
+            Glyph glyph = getGlyph(c1);
             float h = glyph == null ? 0 : glyph.height();
-            currentLine = Math.max(h / (float) scale, currentLine);
+            currentLine = Math.max(h * glyphScale, currentLine);
         }
         return currentLine + previous;
     }
@@ -429,6 +699,22 @@ public final class AWTFontRenderer implements Closeable, Globals
      * 수정: GlyphCache(base, base+256, font, fallbackFont, ...) — fallback 전달
      *       GlyphCache 내부에서 canDisplay()로 문자별 최적 폰트 선택
      */
+    private Glyph getGlyph(char c)
+    {
+        Glyph glyph = glyphs.get(c);
+        if (glyph != null)
+        {
+            return glyph;
+        }
+        glyph = getGlyphFromChar(c);
+        // 임시 글리프는 보관하지 않는다
+        if (glyph != null && glyph.owner().isGenerated())
+        {
+            glyphs.put(c, glyph);
+        }
+        return glyph;
+    }
+
     private Glyph getGlyphFromChar(char c)
     {
         // 이미 만들어진 캐시에 있으면 반환
@@ -444,14 +730,44 @@ public final class AWTFontRenderer implements Closeable, Globals
                 font,                                          // primary
                 fallbackFont,                                  // ★ fallback 추가
                 getGlyphIdentifier(),
-                5,
+                sdf ? SDF_SPREAD * 2 + 1 : 5,
                 FontModule.getInstance().getAntiAlias(),
-                FontModule.getInstance().getFractionalMetrics()
+                FontModule.getInstance().getFractionalMetrics(),
+                getCacheFile(base),
+                sdf ? SDF_SPREAD : 0
         );
         caches.add(glyphCache);
         return glyphCache.getGlyph(c);
     }
 
+    /**
+     * 아틀라스 캐시 파일. 폰트 파일, 크기, 스케일, AA, fractional metrics 와
+     * fallback 폰트가 같을 때만 같은 파일을 사용한다. SDF 아틀라스는 크기와
+     * 스케일에 상관없이 하나다.
+     */
+    private Path getCacheFile(int base)
+    {
+        String key = fontHash + "/" + font.getSize2D() + "/" + (sdf ? "sdf" : scale)
+                + "/" + FontModule.getInstance().getAntiAlias()
+                + "/" + FontModule.getInstance().getFractionalMetrics()
+                + "/" + (fallbackFont != null ? fallbackFont.getFontName() + fallbackFont.getSize2D() : "")
+                + "/" + base;
+        return Shoreline.CONFIG.getClientDirectory().resolve("cache").resolve("glyphs")
+                .resolve(hash(key.getBytes(StandardCharsets.UTF_8)) + ".atlas");
+    }
+
+    private static String hash(byte[] data)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(data));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public void close()
     {
@@ -460,6 +776,10 @@ public final class AWTFontRenderer implements Closeable, Globals
             for (GlyphCache cache1 : caches) cache1.clear();
             caches.clear();
             glyphs.clear();
+            synchronized (meshes)
+            {
+                meshes.clear();
+            }
         }
         catch (Exception e)
         {
@@ -508,5 +828,11 @@ public final class AWTFontRenderer implements Closeable, Globals
         };
     }
 
-    public record CharLocation(float x, float y, float r, float g, float b, Glyph glyph) {}
+    private record MeshKey(String text, float brightnessMultiplier) {}
+
+    private record BatchKey(Identifier atlas, boolean shadow) {}
+
+    private record MeshBatch(Identifier atlas, float[] quads, char[] codes) {}
+
+    private record StringMesh(MeshBatch[] batches, boolean complete) {}
 }
@@ -25,6 +25,7 @@ public class HudWidgetManager implements Globals {
     private HudWidgetManager() {
         register(new WatermarkWidget());
         register(new MetricsWidget());
+        register(new ProfilerWidget());
         register(new CoordsWidget());
         register(new DirectionWidget());
         register(new ArmorWidget());
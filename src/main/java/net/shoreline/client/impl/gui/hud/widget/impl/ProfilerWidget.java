@@ -0,0 +1,74 @@
+package net.shoreline.client.impl.gui.hud.widget.impl;
+
+import net.minecraft.client.gui.DrawContext;
+import net.shoreline.client.api.render.RenderManager;
+import net.shoreline.client.impl.gui.hud.widget.HudWidget;
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.ListenerProfiler;
+
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Profiler 위젯 - 이벤트 버스 프로파일링 중 시간을 가장 많이 쓰는 리스너를 표시.
+ *
+ * <p>프로파일링은 <tt>profiler start</tt> 명령으로 켠다. 각 줄은 초당 소비 시간
+ * 순으로 정렬된다:</p>
+ * <pre>
+ *   Profiler 12.4s
+ *   AutoCrystalModule#onTick (TickEvent) 3.21ms/s
+ *   NametagsModule#onRender (RenderEvent) 1.02ms/s
+ * </pre>
+ */
+public class ProfilerWidget extends HudWidget {
+
+    private static final DecimalFormat DF = new DecimalFormat("0.00");
+    private static final DecimalFormat DF1 = new DecimalFormat("0.0");
+
+    // 표시할 리스너 수
+    private int count = 5;
+
+    public ProfilerWidget() {
+        super("Profiler", 10, 90, 180, 60);
+    }
+
+    @Override
+    public void renderHud(DrawContext context) {
+        ListenerProfiler profiler = EventBus.INSTANCE.getProfiler();
+        float lineH = RenderManager.textHeight();
+        float cy = y + 2;
+        int color = getThemeColor();
+        float maxWidth = 100;
+
+        if (profiler == null) {
+            String text = "§7Profiler §fOff";
+            RenderManager.renderText(context, text, x + 2, cy, color);
+            setHeight(lineH + 4);
+            setWidth(RenderManager.textWidth(text) + 6);
+            return;
+        }
+        double seconds = profiler.getElapsedNanos() / 1.0e9;
+        String header = "§7Profiler §f" + DF1.format(seconds) + "s";
+        RenderManager.renderText(context, header, x + 2, cy, color);
+        maxWidth = Math.max(maxWidth, RenderManager.textWidth(header));
+        cy += lineH;
+
+        List<ListenerProfiler.Result> results = profiler.getResults(count, ListenerProfiler.BY_TOTAL_TIME);
+        for (ListenerProfiler.Result result : results) {
+            // 초당 소비 시간 (ms/s)
+            double msPerSecond = result.totalNanos() / 1.0e6 / Math.max(seconds, 1.0e-3);
+            String text = "§f" + result.listener() + " §7(" + result.event() + ", " + result.thread()
+                    + ") §f" + DF.format(msPerSecond) + "ms/s";
+            RenderManager.renderText(context, text, x + 2, cy, color);
+            maxWidth = Math.max(maxWidth, RenderManager.textWidth(text));
+            cy += lineH;
+        }
+
+        // 위젯 크기를 콘텐츠에 맞게 동적으로 조정
+        setHeight(cy - y + 2);
+        setWidth(maxWidth + 6);
+    }
+
+    // ─── 옵션 설정 ──────────────────────────────────────────────
+    public void setCount(int v) { count = v; }
+}
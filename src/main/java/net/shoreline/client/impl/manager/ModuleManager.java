@@ -2,6 +2,8 @@ package net.shoreline.client.impl.manager;
 
 import net.shoreline.client.Shoreline;
 import net.shoreline.client.ShorelineMod;
+import net.shoreline.client.api.config.Config;
+import net.shoreline.client.api.config.ConfigIndex;
 import net.shoreline.client.api.module.Module;
 import net.shoreline.client.api.module.ToggleModule;
 import net.shoreline.client.impl.module.client.*;
@@ -12,6 +14,7 @@ import net.shoreline.client.impl.module.movement.*;
 import net.shoreline.client.impl.module.render.*;
 import net.shoreline.client.impl.module.world.*;
 import net.shoreline.client.init.Managers;
+import net.shoreline.eventbus.EventBus;
 
 import java.util.*;
 
@@ -25,6 +28,8 @@ public final class ModuleManager
     // easy retrieval by id.
     private final Map<String, Module> modules =
             Collections.synchronizedMap(new LinkedHashMap<>());
+    // The configs of all modules by id, built once all modules registered
+    private ConfigIndex configs;
 
     /**
      * Initializes the module register.
@@ -214,14 +219,22 @@ public final class ModuleManager
         {
             register(new BaritoneModule());
         }
-        // Register keybinds
+        // Register keybinds and build the listeners once, so toggling only
+        // splices them into the event bus
         for (Module module : getModules())
         {
             if (module instanceof ToggleModule t)
             {
                 Managers.MACRO.register(t.getKeybinding());
+                EventBus.INSTANCE.precompile(t);
             }
         }
+        List<Config<?>> moduleConfigs = new ArrayList<>();
+        for (Module module : getModules())
+        {
+            moduleConfigs.addAll(module.getConfigs());
+        }
+        configs = new ConfigIndex(moduleConfigs);
         Shoreline.info("Registered {} modules!", modules.size());
     }
 
@@ -262,6 +275,24 @@ public final class ModuleManager
         return modules.get(id);
     }
 
+    /**
+     * @param id The config id
+     * @return The module config with the id or <tt>null</tt>
+     * @see Config#getId()
+     */
+    public Config<?> getConfig(String id)
+    {
+        return configs.getById(id);
+    }
+
+    /**
+     * @return The configs of all modules
+     */
+    public ConfigIndex getConfigs()
+    {
+        return configs;
+    }
+
     /**
      * @return
      */
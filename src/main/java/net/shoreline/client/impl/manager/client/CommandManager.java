@@ -69,6 +69,7 @@ public class CommandManager implements Globals
                 new NotifyCommand(),
                 new OpenFolderCommand(),
                 new PrefixCommand(),
+                new ProfilerCommand(),
                 new QueueCommand(),
                 new RegearCommand(),
                 new ResetCommand(),
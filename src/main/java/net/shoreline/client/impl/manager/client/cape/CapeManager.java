@@ -10,12 +10,18 @@ import net.shoreline.client.util.Globals;
 import net.shoreline.eventbus.EventBus;
 import net.shoreline.eventbus.annotation.EventListener;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 // Optifine capes
 public class CapeManager implements Globals
 {
+    // Capes downloaded during init, taken by the first load of the player
+    private final Map<String, NativeImage> prefetched = new ConcurrentHashMap<>();
+
     public CapeManager()
     {
         EventBus.INSTANCE.subscribe(this);
@@ -37,17 +43,17 @@ public class CapeManager implements Globals
         Util.getMainWorkerExecutor().execute(() ->
         {
             String uuid = profile.getId().toString();
-            String url = String.format("http://s.optifine.net/capes/%s.png", profile.getName());
             try
             {
-                URL optifineUrl = new URL(url);
-                InputStream stream = optifineUrl.openStream();
-                NativeImage cape = NativeImage.read(stream);
+                NativeImage cape = prefetched.remove(profile.getName());
+                if (cape == null)
+                {
+                    cape = downloadCape(profile.getName());
+                }
                 NativeImage nativeImage = imageFromStream(cape);
                 NativeImageBackedTexture t = new NativeImageBackedTexture(nativeImage);
                 Identifier identifier = mc.getTextureManager().registerDynamicTexture("of-capes-" + uuid, t);
                 texture.callback(identifier);
-                stream.close();
             }
             catch (Exception ignored)
             {
@@ -56,6 +62,39 @@ public class CapeManager implements Globals
         });
     }
 
+    /**
+     * Downloads the cape of the player during init, e.g. the cape of the
+     * session player which is always loaded. Runs on the calling thread.
+     *
+     * @param name The player name
+     */
+    public void prefetch(String name)
+    {
+        try
+        {
+            prefetched.put(name, downloadCape(name));
+        }
+        // player has no cape
+        catch (Exception ignored)
+        {
+
+        }
+    }
+
+    /**
+     * @param name
+     * @return
+     * @throws IOException
+     */
+    private NativeImage downloadCape(String name) throws IOException
+    {
+        URL optifineUrl = new URL(String.format("http://s.optifine.net/capes/%s.png", name));
+        try (InputStream stream = optifineUrl.openStream())
+        {
+            return NativeImage.read(stream);
+        }
+    }
+
     /**
      * @param image
      * @return
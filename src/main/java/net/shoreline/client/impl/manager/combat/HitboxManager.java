@@ -23,7 +23,7 @@ public class HitboxManager implements Globals
         EventBus.INSTANCE.subscribe(this);
     }
 
-    @EventListener
+    @EventListener(filter = EntityTrackerUpdateS2CPacket.class)
     public void onPacketInbound(PacketEvent.Inbound event)
     {
         if (mc.player == null || mc.world == null)
@@ -22,7 +22,7 @@ public class PearlManager implements Globals
         EventBus.INSTANCE.subscribe(this);
     }
 
-    @EventListener
+    @EventListener(filter = PlayerPositionLookS2CPacket.class)
     public void onPacketInbound(PacketEvent.Inbound event)
     {
         if (mc.player == null || !PhaseModule.getInstance().shouldRaytrace())
@@ -32,7 +32,7 @@ public class TotemManager implements Globals
         EventBus.INSTANCE.subscribe(this);
     }
 
-    @EventListener
+    @EventListener(filter = EntityStatusS2CPacket.class)
     public void onPacketInbound(PacketEvent.Inbound event)
     {
         if (mc.world == null)
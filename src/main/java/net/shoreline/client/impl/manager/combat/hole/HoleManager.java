@@ -1,34 +1,54 @@
 package net.shoreline.client.impl.manager.combat.hole;
 
-import io.netty.util.internal.ConcurrentSet;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
-import net.minecraft.util.math.Vec3i;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.BlockView;
 import net.shoreline.client.impl.event.TickEvent;
+import net.shoreline.client.impl.event.network.DisconnectEvent;
+import net.shoreline.client.impl.event.world.LoadChunkEvent;
+import net.shoreline.client.impl.event.world.LoadWorldEvent;
+import net.shoreline.client.impl.event.world.SetBlockStateEvent;
+import net.shoreline.client.impl.event.world.UnloadChunkBlocksEvent;
+import net.shoreline.client.impl.manager.world.WorldSnapshot;
 import net.shoreline.client.impl.module.render.HoleESPModule;
+import net.shoreline.client.init.Managers;
 import net.shoreline.client.util.Globals;
 import net.shoreline.client.util.world.BlastResistantBlocks;
-import net.shoreline.client.util.world.BlockUtil;
 import net.shoreline.eventbus.EventBus;
 import net.shoreline.eventbus.annotation.EventListener;
 import net.shoreline.eventbus.event.StageEvent;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.*;
 
 /**
+ * Maintains an incremental index of the holes around the player. Holes are
+ * indexed by the chunk section of their origin. A section is indexed once,
+ * the first time it comes into range, and afterwards only the hole origins
+ * next to changed blocks are checked again. Sections are invalidated when
+ * their chunk (or a neighbouring chunk) loads or unloads.
+ *
+ * <p>All indexing runs on the hole executor and reads the blocks from the
+ * {@link WorldSnapshot} of the tick, {@link #getHoles()} never blocks and
+ * returns the holes published after the last update.</p>
+ *
  * @author linus
  * @since 1.0
  */
 public class HoleManager implements Globals
 {
     private final ExecutorService executor = Executors.newFixedThreadPool(1);
-    private Future<Set<Hole>> result;
+    private Future<?> result;
+    // Holes by the packed chunk section of their origin. Only written by
+    // the executor, the hole lists are immutable
+    private final Map<Long, List<Hole>> sections = new ConcurrentHashMap<>();
+    // Packed block positions which changed since the last update
+    private final Queue<Long> changes = new ConcurrentLinkedQueue<>();
+    // Packed chunk positions which loaded or unloaded since the last update
+    private final Queue<Long> chunks = new ConcurrentLinkedQueue<>();
     //
-    private Set<Hole> holes = new ConcurrentSet<>();
+    private volatile Set<Hole> holes = Collections.emptySet();
 
     public HoleManager()
     {
@@ -45,29 +65,305 @@ public class HoleManager implements Globals
         {
             return;
         }
-        HoleTask runnable = new HoleTask(getSphere(mc.player.getPos()));
-        result = executor.submit(runnable);
+        // Skip the update if the last one is still running, changes are
+        // queued until the next update
+        if (result != null && !result.isDone())
+        {
+            return;
+        }
+        final BlockPos center = mc.player.getBlockPos();
+        final int range = (int) Math.ceil(Math.max(5.0, HoleESPModule.getInstance().getRange()));
+        final WorldSnapshot world = Managers.WORLD_SNAPSHOT.getSnapshot();
+        if (world == WorldSnapshot.EMPTY)
+        {
+            return;
+        }
+        // The snapshot was captured earlier in this tick, so it contains every
+        // change drained here and later changes wait for the next snapshot
+        final long[] changedBlocks = drain(changes);
+        final long[] changedChunks = drain(chunks);
+        result = executor.submit(() -> update(world, center, range, changedBlocks, changedChunks));
+    }
+
+    private static long[] drain(Queue<Long> queue)
+    {
+        long[] drained = new long[queue.size()];
+        int count = 0;
+        Long value;
+        while ((value = queue.poll()) != null)
+        {
+            if (count == drained.length)
+            {
+                drained = Arrays.copyOf(drained, count * 2 + 1);
+            }
+            drained[count++] = value;
+        }
+        return count == drained.length ? drained : Arrays.copyOf(drained, count);
+    }
+
+    @EventListener(priority = Integer.MIN_VALUE, receiveCanceled = false)
+    public void onSetBlockState(SetBlockStateEvent event)
+    {
+        changes.add(event.getPos().asLong());
+    }
+
+    @EventListener
+    public void onLoadChunk(LoadChunkEvent event)
+    {
+        chunks.add(event.getChunk().getPos().toLong());
+    }
+
+    @EventListener
+    public void onUnloadChunkBlocks(UnloadChunkBlocksEvent event)
+    {
+        chunks.add(event.getChunk().getPos().toLong());
+    }
+
+    @EventListener
+    public void onLoadWorld(LoadWorldEvent event)
+    {
+        clear();
+    }
+
+    @EventListener
+    public void onDisconnect(DisconnectEvent event)
+    {
+        clear();
+    }
+
+    private void clear()
+    {
+        changes.clear();
+        chunks.clear();
+        holes = Collections.emptySet();
+        executor.submit(sections::clear);
+    }
+
+    /**
+     * Applies the chunk and block changes drained with the snapshot, indexes
+     * the sections in range which have not been indexed and publishes the
+     * holes in range. Runs on the hole executor.
+     *
+     * @param world
+     * @param center
+     * @param range
+     * @param changedBlocks The packed positions of the changed blocks
+     * @param changedChunks The packed positions of the loaded or unloaded chunks
+     */
+    private void update(WorldSnapshot world, BlockPos center, int range,
+                        long[] changedBlocks, long[] changedChunks)
+    {
+        if (world == WorldSnapshot.EMPTY)
+        {
+            return;
+        }
+        int bottom = ChunkSectionPos.getSectionCoord(world.getBottomY());
+        int top = ChunkSectionPos.getSectionCoord(world.getTopY());
+        for (long chunk : changedChunks)
+        {
+            int chunkX = ChunkPos.getPackedX(chunk);
+            int chunkZ = ChunkPos.getPackedZ(chunk);
+            // Holes on the chunk border and corners depend on all 8
+            // neighbouring chunks
+            for (int x = chunkX - 1; x <= chunkX + 1; x++)
+            {
+                for (int z = chunkZ - 1; z <= chunkZ + 1; z++)
+                {
+                    for (int y = bottom; y < top; y++)
+                    {
+                        sections.remove(ChunkSectionPos.asLong(x, y, z));
+                    }
+                }
+            }
+        }
+        Set<BlockPos> origins = new HashSet<>();
+        for (long change : changedBlocks)
+        {
+            // The hole origins which check the changed block
+            BlockPos pos = BlockPos.fromLong(change);
+            for (int x = -2; x <= 1; x++)
+            {
+                for (int y = -2; y <= 1; y++)
+                {
+                    for (int z = -2; z <= 1; z++)
+                    {
+                        origins.add(pos.add(x, y, z));
+                    }
+                }
+            }
+        }
+        if (!origins.isEmpty())
+        {
+            updateOrigins(world, origins);
+        }
+        int minY = Math.max(bottom, ChunkSectionPos.getSectionCoord(center.getY() - range));
+        int maxY = Math.min(top - 1, ChunkSectionPos.getSectionCoord(center.getY() + range));
+        for (int x = ChunkSectionPos.getSectionCoord(center.getX() - range); x <= ChunkSectionPos.getSectionCoord(center.getX() + range); x++)
+        {
+            for (int z = ChunkSectionPos.getSectionCoord(center.getZ() - range); z <= ChunkSectionPos.getSectionCoord(center.getZ() + range); z++)
+            {
+                if (!world.isChunkLoaded(x, z))
+                {
+                    continue;
+                }
+                for (int y = minY; y <= maxY; y++)
+                {
+                    long section = ChunkSectionPos.asLong(x, y, z);
+                    if (!sections.containsKey(section) && isCaptured(world, x, y, z))
+                    {
+                        sections.put(section, indexSection(world, x, y, z));
+                    }
+                }
+            }
+        }
+        holes = Collections.unmodifiableSet(getHoles(center, range));
+    }
+
+    /**
+     * @return <tt>true</tt> if the snapshot contains every block checked by
+     * the holes of the section
+     */
+    private boolean isCaptured(WorldSnapshot world, int x, int y, int z)
+    {
+        int startX = ChunkSectionPos.getBlockCoord(x);
+        int startY = ChunkSectionPos.getBlockCoord(y);
+        int startZ = ChunkSectionPos.getBlockCoord(z);
+        // Blocks above and below the world are never part of a snapshot
+        int minY = Math.max(world.getBottomY(), startY - 2);
+        int maxY = Math.min(world.getTopY() - 1, startY + 17);
+        if (!world.contains(new BlockPos(startX, minY, startZ))
+                || !world.contains(new BlockPos(startX, maxY, startZ)))
+        {
+            return false;
+        }
+        // The loaded chunks can have gaps, so every neighbour is checked
+        for (int dx = -1; dx <= 1; dx++)
+        {
+            for (int dz = -1; dz <= 1; dz++)
+            {
+                if (!world.isChunkLoaded(x + dx, z + dz))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
-    public List<BlockPos> getSphere(Vec3d start)
+    /**
+     * @param world
+     * @param x
+     * @param y
+     * @param z
+     * @return The holes with their origin in the chunk section
+     */
+    private List<Hole> indexSection(BlockView world, int x, int y, int z)
     {
-        List<BlockPos> sphere = new ArrayList<>();
-        double rad = Math.ceil(Math.max(5.0, HoleESPModule.getInstance().getRange()));
-        for (double x = -rad; x <= rad; ++x)
+        List<Hole> sectionHoles = new ArrayList<>();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        int startX = ChunkSectionPos.getBlockCoord(x);
+        int startY = ChunkSectionPos.getBlockCoord(y);
+        int startZ = ChunkSectionPos.getBlockCoord(z);
+        for (int dx = 0; dx < 16; dx++)
         {
-            for (double y = -rad; y <= rad; ++y)
+            for (int dy = 0; dy < 16; dy++)
             {
-                for (double z = -rad; z <= rad; ++z)
+                for (int dz = 0; dz < 16; dz++)
                 {
-                    Vec3i pos = new Vec3i((int) (start.getX() + x),
-                            (int) (start.getY() + y), (int) (start.getZ() + z));
-                    final BlockPos p = new BlockPos(pos);
-                    //
-                    sphere.add(p);
+                    Hole hole = checkHole(world, pos.set(startX + dx, startY + dy, startZ + dz));
+                    if (hole != null)
+                    {
+                        sectionHoles.add(hole);
+                    }
+                }
+            }
+        }
+        return sectionHoles.isEmpty() ? Collections.emptyList() : sectionHoles;
+    }
+
+    /**
+     * Checks the hole origins again and replaces their holes in the
+     * indexed sections. Origins in sections which are not indexed are
+     * skipped, they are checked once their section is indexed. Indexed
+     * sections outside of the snapshot are dropped and indexed again once
+     * they are back in range.
+     *
+     * @param world
+     * @param origins
+     */
+    private void updateOrigins(WorldSnapshot world, Set<BlockPos> origins)
+    {
+        Map<Long, List<Hole>> updated = new HashMap<>();
+        for (BlockPos origin : origins)
+        {
+            long section = ChunkSectionPos.toLong(origin);
+            if (!isCaptured(world, ChunkSectionPos.getSectionCoord(origin.getX()),
+                    ChunkSectionPos.getSectionCoord(origin.getY()), ChunkSectionPos.getSectionCoord(origin.getZ())))
+            {
+                sections.remove(section);
+                updated.remove(section);
+                continue;
+            }
+            List<Hole> sectionHoles = updated.get(section);
+            if (sectionHoles == null)
+            {
+                List<Hole> indexed = sections.get(section);
+                if (indexed == null)
+                {
+                    continue;
+                }
+                sectionHoles = new ArrayList<>(indexed);
+                updated.put(section, sectionHoles);
+            }
+            sectionHoles.removeIf(h -> h.getPos().equals(origin));
+            Hole hole = checkHole(world, origin);
+            if (hole != null)
+            {
+                sectionHoles.add(hole);
+            }
+        }
+        sections.putAll(updated);
+    }
+
+    /**
+     * Returns the indexed holes with their origin in the cube of the
+     * given range around the center. Only looks up the sections which
+     * intersect the cube.
+     *
+     * @param center
+     * @param range
+     * @return
+     */
+    public Set<Hole> getHoles(BlockPos center, int range)
+    {
+        Set<Hole> inRange = new HashSet<>();
+        int minX = center.getX() - range, maxX = center.getX() + range;
+        int minY = center.getY() - range, maxY = center.getY() + range;
+        int minZ = center.getZ() - range, maxZ = center.getZ() + range;
+        for (int x = ChunkSectionPos.getSectionCoord(minX); x <= ChunkSectionPos.getSectionCoord(maxX); x++)
+        {
+            for (int y = ChunkSectionPos.getSectionCoord(minY); y <= ChunkSectionPos.getSectionCoord(maxY); y++)
+            {
+                for (int z = ChunkSectionPos.getSectionCoord(minZ); z <= ChunkSectionPos.getSectionCoord(maxZ); z++)
+                {
+                    List<Hole> sectionHoles = sections.get(ChunkSectionPos.asLong(x, y, z));
+                    if (sectionHoles == null)
+                    {
+                        continue;
+                    }
+                    for (Hole hole : sectionHoles)
+                    {
+                        BlockPos pos = hole.getPos();
+                        if (pos.getX() >= minX && pos.getX() <= maxX && pos.getY() >= minY
+                                && pos.getY() <= maxY && pos.getZ() >= minZ && pos.getZ() <= maxZ)
+                        {
+                            inRange.add(hole);
+                        }
+                    }
                 }
             }
         }
-        return sphere;
+        return inRange;
     }
 
     /**
@@ -76,29 +372,39 @@ public class HoleManager implements Globals
      */
     public Hole checkHole(BlockPos pos)
     {
-        if (pos.getY() == mc.world.getBottomY() && !BlastResistantBlocks.isUnbreakable(pos))
+        return checkHole(mc.world, pos);
+    }
+
+    /**
+     * @param world
+     * @param pos
+     * @return
+     */
+    public Hole checkHole(BlockView world, BlockPos pos)
+    {
+        if (pos.getY() == world.getBottomY() && !isUnbreakable(world, pos))
         {
-            return new Hole(pos, HoleType.VOID);
+            return new Hole(pos.toImmutable(), HoleType.VOID);
         }
         int resistant = 0;
         int unbreakable = 0;
-        if (BlockUtil.isBlockAccessible(pos))
+        if (isBlockAccessible(world, pos))
         {
             BlockPos pos1 = pos.add(-1, 0, 0);
             BlockPos pos2 = pos.add(0, 0, -1);
-            if (BlastResistantBlocks.isBlastResistant(pos1))
+            if (isBlastResistant(world, pos1))
             {
                 resistant++;
             }
-            else if (BlastResistantBlocks.isUnbreakable(pos1))
+            else if (isUnbreakable(world, pos1))
             {
                 unbreakable++;
             }
-            if (BlastResistantBlocks.isBlastResistant(pos2))
+            if (isBlastResistant(world, pos2))
             {
                 resistant++;
             }
-            else if (BlastResistantBlocks.isUnbreakable(pos2))
+            else if (isUnbreakable(world, pos2))
             {
                 unbreakable++;
             }
@@ -108,14 +414,14 @@ public class HoleManager implements Globals
             }
             BlockPos pos3 = pos.add(0, 0, 1);
             BlockPos pos4 = pos.add(1, 0, 0);
-            boolean air3 = mc.world.isAir(pos3);
-            boolean air4 = mc.world.isAir(pos4);
+            boolean air3 = world.getBlockState(pos3).isAir();
+            boolean air4 = world.getBlockState(pos4).isAir();
             // Quad hole, player can stand in the middle of four blocks
             // to prevent placements on these blocks
             if (air3 && air4)
             {
                 BlockPos pos5 = pos.add(1, 0, 1);
-                if (!mc.world.isAir(pos5))
+                if (!world.getBlockState(pos5).isAir())
                 {
                     return null;
                 }
@@ -130,11 +436,11 @@ public class HoleManager implements Globals
                         };
                 for (BlockPos p : quad)
                 {
-                    if (BlastResistantBlocks.isBlastResistant(p))
+                    if (isBlastResistant(world, p))
                     {
                         resistant++;
                     }
-                    else if (BlastResistantBlocks.isUnbreakable(p))
+                    else if (isUnbreakable(world, p))
                     {
                         unbreakable++;
                     }
@@ -143,7 +449,7 @@ public class HoleManager implements Globals
                 {
                     return null;
                 }
-                Hole quadHole = new Hole(pos, resistant == 8 ? HoleType.OBSIDIAN :
+                Hole quadHole = new Hole(pos.toImmutable(), resistant == 8 ? HoleType.OBSIDIAN :
                         unbreakable == 8 ? HoleType.BEDROCK : HoleType.OBSIDIAN_BEDROCK,
                         pos1, pos2, pos3, pos4, pos5);
                 quadHole.addHoleOffsets(quad);
@@ -151,7 +457,7 @@ public class HoleManager implements Globals
             }
             // Double Z hole, player can stand in the middle of the blocks
             // to prevent placements on these blocks
-            else if (air3 && BlockUtil.isBlockAccessible(pos3))
+            else if (air3 && isBlockAccessible(world, pos3))
             {
                 BlockPos[] doubleZ = new BlockPos[]
                         {
@@ -162,11 +468,11 @@ public class HoleManager implements Globals
                         };
                 for (BlockPos p : doubleZ)
                 {
-                    if (BlastResistantBlocks.isBlastResistant(p))
+                    if (isBlastResistant(world, p))
                     {
                         resistant++;
                     }
-                    else if (BlastResistantBlocks.isUnbreakable(p))
+                    else if (isUnbreakable(world, p))
                     {
                         unbreakable++;
                     }
@@ -175,7 +481,7 @@ public class HoleManager implements Globals
                 {
                     return null;
                 }
-                Hole doubleZHole = new Hole(pos, resistant == 6 ? HoleType.OBSIDIAN :
+                Hole doubleZHole = new Hole(pos.toImmutable(), resistant == 6 ? HoleType.OBSIDIAN :
                         unbreakable == 6 ? HoleType.BEDROCK : HoleType.OBSIDIAN_BEDROCK,
                         pos1, pos2, pos3);
                 doubleZHole.addHoleOffsets(doubleZ);
@@ -183,7 +489,7 @@ public class HoleManager implements Globals
             }
             // Double X hole, player can stand in the middle of the blocks
             // to prevent placements on these blocks
-            else if (air4 && BlockUtil.isBlockAccessible(pos4))
+            else if (air4 && isBlockAccessible(world, pos4))
             {
                 BlockPos[] doubleX = new BlockPos[]
                         {
@@ -194,11 +500,11 @@ public class HoleManager implements Globals
                         };
                 for (BlockPos p : doubleX)
                 {
-                    if (BlastResistantBlocks.isBlastResistant(p))
+                    if (isBlastResistant(world, p))
                     {
                         resistant++;
                     }
-                    else if (BlastResistantBlocks.isUnbreakable(p))
+                    else if (isUnbreakable(world, p))
                     {
                         unbreakable++;
                     }
@@ -207,7 +513,7 @@ public class HoleManager implements Globals
                 {
                     return null;
                 }
-                Hole doubleXHole = new Hole(pos, resistant == 6 ? HoleType.OBSIDIAN :
+                Hole doubleXHole = new Hole(pos.toImmutable(), resistant == 6 ? HoleType.OBSIDIAN :
                         unbreakable == 6 ? HoleType.BEDROCK : HoleType.OBSIDIAN_BEDROCK,
                         pos1, pos2, pos4);
                 doubleXHole.addHoleOffsets(doubleX);
@@ -217,19 +523,19 @@ public class HoleManager implements Globals
             // large amounts of explosion damage
             else
             {
-                if (BlastResistantBlocks.isBlastResistant(pos3))
+                if (isBlastResistant(world, pos3))
                 {
                     resistant++;
                 }
-                else if (BlastResistantBlocks.isUnbreakable(pos3))
+                else if (isUnbreakable(world, pos3))
                 {
                     unbreakable++;
                 }
-                if (BlastResistantBlocks.isBlastResistant(pos4))
+                if (isBlastResistant(world, pos4))
                 {
                     resistant++;
                 }
-                else if (BlastResistantBlocks.isUnbreakable(pos4))
+                else if (isUnbreakable(world, pos4))
                 {
                     unbreakable++;
                 }
@@ -237,7 +543,7 @@ public class HoleManager implements Globals
                 {
                     return null;
                 }
-                return new Hole(pos, resistant == 4 ? HoleType.OBSIDIAN :
+                return new Hole(pos.toImmutable(), resistant == 4 ? HoleType.OBSIDIAN :
                         unbreakable == 4 ? HoleType.BEDROCK : HoleType.OBSIDIAN_BEDROCK,
                         pos1, pos2, pos3, pos4);
             }
@@ -245,47 +551,30 @@ public class HoleManager implements Globals
         return null;
     }
 
-    /**
-     * @return
-     */
-    public Set<Hole> getHoles()
+    private boolean isBlockAccessible(BlockView world, BlockPos pos)
     {
-        if (result != null)
-        {
-            try
-            {
-                holes = result.get();
-            }
-            catch (ExecutionException | InterruptedException e)
-            {
-
-            }
-        }
-        return holes;
+        return world.getBlockState(pos).isAir() && !world.getBlockState(pos.down()).isAir()
+                && world.getBlockState(pos.up()).isAir() && world.getBlockState(pos.up(2)).isAir();
     }
 
-    public class HoleTask implements Callable<Set<Hole>>
+    private boolean isBlastResistant(BlockView world, BlockPos pos)
     {
-        private final List<BlockPos> blocks;
+        return BlastResistantBlocks.isBlastResistant(world.getBlockState(pos).getBlock());
+    }
 
-        public HoleTask(List<BlockPos> blocks)
-        {
-            this.blocks = blocks;
-        }
+    private boolean isUnbreakable(BlockView world, BlockPos pos)
+    {
+        return BlastResistantBlocks.isUnbreakable(world.getBlockState(pos).getBlock());
+    }
 
-        @Override
-        public Set<Hole> call() throws Exception
-        {
-            Set<Hole> holes1 = new HashSet<>();
-            for (BlockPos blockPos : blocks)
-            {
-                Hole hole = checkHole(blockPos);
-                if (hole != null)
-                {
-                    holes1.add(hole);
-                }
-            }
-            return holes1;
-        }
+    /**
+     * Returns the holes in range of the player published by the last
+     * update. Never blocks.
+     *
+     * @return
+     */
+    public Set<Hole> getHoles()
+    {
+        return holes;
     }
 }
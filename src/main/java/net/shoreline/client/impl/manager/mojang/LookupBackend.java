@@ -0,0 +1,73 @@
+package net.shoreline.client.impl.manager.mojang;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fetches the lookup responses. The backend can be replaced, e.g. by a stub
+ * which serves local responses for testing.
+ *
+ * @author linus
+ * @see LookupManager#setBackend(LookupBackend)
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface LookupBackend
+{
+    /**
+     * Sends a <tt>GET</tt> request. Called on the lookup executor.
+     *
+     * @param url The request url
+     * @return The response body
+     * @throws IOException if the request failed
+     */
+    String get(String url) throws IOException;
+
+    /**
+     * The default backend which sends the requests with
+     * {@link HttpURLConnection}
+     */
+    class Http implements LookupBackend
+    {
+        // Max time a request can take to connect and to read
+        private static final int TIMEOUT = 5000;
+
+        @Override
+        public String get(String url) throws IOException
+        {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            try
+            {
+                connection.setConnectTimeout(TIMEOUT);
+                connection.setReadTimeout(TIMEOUT);
+                connection.setRequestMethod("GET");
+                connection.setRequestProperty("Accept", "application/json");
+                int code = connection.getResponseCode();
+                if (code != HttpURLConnection.HTTP_OK)
+                {
+                    throw new IOException("Lookup failed with response " + code);
+                }
+                StringBuilder content = new StringBuilder();
+                try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                        connection.getInputStream(), StandardCharsets.UTF_8)))
+                {
+                    char[] buf = new char[4096];
+                    int n;
+                    while ((n = in.read(buf)) != -1)
+                    {
+                        content.append(buf, 0, n);
+                    }
+                }
+                return content.toString();
+            }
+            finally
+            {
+                connection.disconnect();
+            }
+        }
+    }
+}
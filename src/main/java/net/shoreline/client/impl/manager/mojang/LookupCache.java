@@ -0,0 +1,168 @@
+package net.shoreline.client.impl.manager.mojang;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * A bounded concurrent cache whose entries expire after a time to live.
+ * Concurrent lookups of the same key share one load. Failed loads (i.e.
+ * loads which return <tt>null</tt>) are cached with a shorter time to live
+ * so they are retried later.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ * @author linus
+ * @see LookupManager
+ * @since 1.0
+ */
+public class LookupCache<K, V>
+{
+    //
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> pending = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttl;
+    private final long failureTtl;
+
+    /**
+     * @param maxSize    The max number of entries
+     * @param ttl        The time to live of a value in ms
+     * @param failureTtl The time to live of a failed load in ms
+     */
+    public LookupCache(int maxSize, long ttl, long failureTtl)
+    {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.failureTtl = failureTtl;
+    }
+
+    /**
+     * Returns the cached value or starts loading it on the executor. Never
+     * blocks.
+     *
+     * @param key      The key
+     * @param loader   Loads the value, returns <tt>null</tt> if the load failed
+     * @param executor The executor which runs the loader
+     * @return A future which completes with the value or <tt>null</tt>
+     */
+    public CompletableFuture<V> get(K key, Function<K, V> loader, Executor executor)
+    {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired())
+        {
+            return CompletableFuture.completedFuture(entry.value());
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = pending.putIfAbsent(key, future);
+        if (existing != null)
+        {
+            return existing;
+        }
+        // A load may have stored its entry and finished between the first
+        // check and claiming the key
+        entry = entries.get(key);
+        if (entry != null && !entry.isExpired())
+        {
+            pending.remove(key, future);
+            future.complete(entry.value());
+            return future;
+        }
+        executor.execute(() ->
+        {
+            V value = null;
+            try
+            {
+                value = loader.apply(key);
+            }
+            finally
+            {
+                put(key, value, System.currentTimeMillis() + (value != null ? ttl : failureTtl));
+                pending.remove(key, future);
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @param key
+     * @return The cached value or <tt>null</tt> if the value is not cached,
+     * expired or failed to load
+     */
+    public V getIfPresent(K key)
+    {
+        Entry<V> entry = entries.get(key);
+        return entry != null && !entry.isExpired() ? entry.value() : null;
+    }
+
+    /**
+     * @param key
+     * @param value     The value or <tt>null</tt> for a failed load
+     * @param expiresAt The time in ms the entry expires
+     */
+    public void put(K key, V value, long expiresAt)
+    {
+        entries.put(key, new Entry<>(value, expiresAt));
+        if (entries.size() > maxSize)
+        {
+            evict();
+        }
+    }
+
+    /**
+     * Calls the consumer for every loaded value which has not expired
+     *
+     * @param consumer
+     */
+    public void forEach(EntryConsumer<K, V> consumer)
+    {
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet())
+        {
+            Entry<V> value = entry.getValue();
+            if (value.value() != null && !value.isExpired())
+            {
+                consumer.accept(entry.getKey(), value.value(), value.expiresAt());
+            }
+        }
+    }
+
+    /**
+     * Removes the expired entries and then the entries which expire first
+     * until the cache is below its max size
+     */
+    private synchronized void evict()
+    {
+        entries.values().removeIf(Entry::isExpired);
+        int excess = entries.size() - maxSize * 9 / 10;
+        if (excess <= 0)
+        {
+            return;
+        }
+        List<Map.Entry<K, Entry<V>>> oldest = new ArrayList<>(entries.entrySet());
+        oldest.sort(Comparator.comparingLong(e -> e.getValue().expiresAt()));
+        for (int i = 0; i < excess && i < oldest.size(); i++)
+        {
+            entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue());
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<K, V>
+    {
+        void accept(K key, V value, long expiresAt);
+    }
+
+    private record Entry<V>(V value, long expiresAt)
+    {
+        private boolean isExpired()
+        {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
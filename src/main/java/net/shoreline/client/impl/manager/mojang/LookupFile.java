@@ -0,0 +1,138 @@
+package net.shoreline.client.impl.manager.mojang;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.shoreline.client.Shoreline;
+import net.shoreline.client.api.file.ConfigFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Persists the cached profile names and name histories between sessions.
+ * Entries keep their expiry time, so expired entries are not loaded.
+ *
+ * @author linus
+ * @see LookupManager
+ * @since 1.0
+ */
+public class LookupFile extends ConfigFile
+{
+    //
+    private final LookupCache<UUID, String> names;
+    private final LookupCache<UUID, Map<String, String>> histories;
+
+    /**
+     * @param dir
+     * @param names
+     * @param histories
+     */
+    public LookupFile(Path dir, LookupCache<UUID, String> names,
+                      LookupCache<UUID, Map<String, String>> histories)
+    {
+        super(dir, "lookups");
+        this.names = names;
+        this.histories = histories;
+    }
+
+    @Override
+    public void save()
+    {
+        try
+        {
+            JsonObject out = new JsonObject();
+            JsonArray nameArray = new JsonArray();
+            names.forEach((uuid, name, expiresAt) ->
+            {
+                JsonObject entry = new JsonObject();
+                entry.addProperty("uuid", uuid.toString());
+                entry.addProperty("name", name);
+                entry.addProperty("expires", expiresAt);
+                nameArray.add(entry);
+            });
+            out.add("names", nameArray);
+            JsonArray historyArray = new JsonArray();
+            histories.forEach((uuid, history, expiresAt) ->
+            {
+                JsonObject entry = new JsonObject();
+                entry.addProperty("uuid", uuid.toString());
+                entry.addProperty("expires", expiresAt);
+                JsonObject changes = new JsonObject();
+                history.forEach(changes::addProperty);
+                entry.add("history", changes);
+                historyArray.add(entry);
+            });
+            out.add("histories", historyArray);
+            write(getFilepath(), out);
+        }
+        // error writing file
+        catch (IOException e)
+        {
+            Shoreline.error("Could not save file for lookups.json!");
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void load()
+    {
+        try
+        {
+            Path filepath = getFilepath();
+            if (!Files.exists(filepath))
+            {
+                return;
+            }
+            JsonObject in = readObject(filepath);
+            if (in == null)
+            {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (in.has("names"))
+            {
+                for (JsonElement element : in.getAsJsonArray("names"))
+                {
+                    JsonObject entry = element.getAsJsonObject();
+                    long expiresAt = entry.get("expires").getAsLong();
+                    if (expiresAt > now)
+                    {
+                        names.put(UUID.fromString(entry.get("uuid").getAsString()),
+                                entry.get("name").getAsString(), expiresAt);
+                    }
+                }
+            }
+            if (in.has("histories"))
+            {
+                for (JsonElement element : in.getAsJsonArray("histories"))
+                {
+                    JsonObject entry = element.getAsJsonObject();
+                    long expiresAt = entry.get("expires").getAsLong();
+                    if (expiresAt <= now)
+                    {
+                        continue;
+                    }
+                    Map<String, String> history = new TreeMap<>(Collections.reverseOrder());
+                    for (Map.Entry<String, JsonElement> change : entry.getAsJsonObject("history").entrySet())
+                    {
+                        history.put(change.getKey(), change.getValue().getAsString());
+                    }
+                    histories.put(UUID.fromString(entry.get("uuid").getAsString()),
+                            Collections.unmodifiableMap(history), expiresAt);
+                }
+            }
+        }
+        // error reading file
+        catch (IOException | RuntimeException e)
+        {
+            Shoreline.error("Could not read file for lookups.json!");
+            e.printStackTrace();
+        }
+    }
+}
@@ -5,24 +5,76 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import net.minecraft.client.network.PlayerListEntry;
+import net.shoreline.client.Shoreline;
 import net.shoreline.client.util.Globals;
-import org.apache.commons.io.IOUtils;
 
-import javax.net.ssl.HttpsURLConnection;
-import java.io.IOException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Looks up player profiles and 2b2t stats. All web lookups run on the lookup
+ * executor and return a {@link CompletableFuture}, so callers on the main or
+ * render thread never wait for a request. Results are cached with a time to
+ * live, concurrent lookups of the same key share one request and profile
+ * names and name histories are saved to <tt>lookups.json</tt>.
+ *
+ * <p>The futures complete on the lookup executor, callers which modify
+ * client state must hand the result back to the main thread.</p>
+ *
+ * @author linus
+ * @see LookupCache
+ * @since 1.0
+ */
 public class LookupManager implements Globals
 {
-    private static final Map<String, UUID> LOOKUPS_UUID = new HashMap<>();
-    private static final Map<UUID, String> LOOKUPS_NAME = new HashMap<>();
-    private static final Set<UUID> FAILED_LOOKUPS = new HashSet<>();
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+    //
+    private final Map<String, UUID> uuids = new ConcurrentHashMap<>();
+    private final LookupCache<UUID, String> names = new LookupCache<>(4096, DAY, 5 * MINUTE);
+    private final LookupCache<UUID, Map<String, String>> histories = new LookupCache<>(512, DAY, 5 * MINUTE);
+    private final LookupCache<String, Map<String, String>> stats = new LookupCache<>(128, 5 * MINUTE, MINUTE);
+    private final LookupCache<String, String> queue = new LookupCache<>(1, 30_000L, 30_000L);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, r ->
+    {
+        Thread thread = new Thread(r, "Shoreline-Lookup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile LookupBackend backend = new LookupBackend.Http();
+
+    /**
+     * Registers the cache file, the client directory is only available
+     * after init
+     */
+    public void postInit()
+    {
+        Shoreline.CONFIG.addFile(new LookupFile(Shoreline.CONFIG.getClientDirectory(), names, histories));
+    }
+
+    /**
+     * Replaces the backend which sends the requests, e.g. with a stub for
+     * testing
+     *
+     * @param backend
+     */
+    public void setBackend(LookupBackend backend)
+    {
+        this.backend = backend;
+    }
 
+    /**
+     * Looks up the player in the player list. Does not send requests.
+     *
+     * @param name
+     * @return The uuid or <tt>null</tt> if the player is not in the list
+     */
     public UUID getUUIDFromName(String name)
     {
-        UUID uuid = LOOKUPS_UUID.get(name);
+        UUID uuid = uuids.get(name);
         if (uuid != null)
         {
             return uuid;
@@ -36,77 +88,94 @@ public class LookupManager implements Globals
             if (profile != null)
             {
                 UUID result = profile.getProfile().getId();
-                LOOKUPS_UUID.put(name, result);
+                uuids.put(name, result);
                 return result;
             }
         }
         return null;
     }
 
-    public String getNameFromUUID(UUID uuid)
+    /**
+     * @param uuid
+     * @return A future which completes with the profile name or
+     * <tt>null</tt> if the lookup failed
+     */
+    public CompletableFuture<String> getNameFromUUID(UUID uuid)
     {
-        if (FAILED_LOOKUPS.contains(uuid))
-        {
-            return null;
-        }
-        if (LOOKUPS_NAME.containsKey(uuid))
+        return names.get(uuid, this::lookupName, executor);
+    }
+
+    /**
+     * Returns the cached profile name and starts the lookup if the name is
+     * not cached. Never blocks, used while rendering.
+     *
+     * @param uuid
+     * @return The profile name or <tt>null</tt> if the name is not known yet
+     */
+    public String getCachedNameFromUUID(UUID uuid)
+    {
+        String name = names.getIfPresent(uuid);
+        if (name == null)
         {
-            return LOOKUPS_NAME.get(uuid);
+            getNameFromUUID(uuid);
         }
-        String url = String.format("https://laby.net/api/v2/user/%s/get-profile", uuid.toString());
+        return name;
+    }
+
+    /**
+     * @param uuid
+     * @return A future which completes with the name changes by date,
+     * newest first, or <tt>null</tt> if the lookup failed
+     */
+    public CompletableFuture<Map<String, String>> getNameHistoryFromUUID(UUID uuid)
+    {
+        return histories.get(uuid, this::lookupNameHistory, executor);
+    }
+
+    /**
+     * @param playerName
+     * @return A future which completes with the stats or <tt>null</tt> if
+     * the lookup failed
+     */
+    public CompletableFuture<Map<String, String>> getPlayerStats2b2t(String playerName)
+    {
+        return stats.get(playerName.toLowerCase(), this::lookupStats2b2t, executor);
+    }
+
+    /**
+     * @return A future which completes with the formatted queue size or
+     * <tt>null</tt> if the lookup failed
+     */
+    public CompletableFuture<String> get2b2tQueueSize()
+    {
+        return queue.get("queue", k -> lookupQueueSize2b2t(), executor);
+    }
+
+    private String lookupName(UUID uuid)
+    {
         try
         {
-            String name = IOUtils.toString(new URL(url), StandardCharsets.UTF_8);
-            JsonObject jsonObject = JsonParser.parseString(name).getAsJsonObject();
-            String result = jsonObject.get("username").toString();
-            LOOKUPS_NAME.put(uuid, result.replace("\"", ""));
-            return result;
+            JsonObject jsonObject = request(String.format("https://laby.net/api/v2/user/%s/get-profile", uuid));
+            return jsonObject.get("username").getAsString();
         }
-        catch (IOException e)
+        catch (Exception e)
         {
             e.printStackTrace();
-            FAILED_LOOKUPS.add(uuid);
         }
         return null;
     }
 
-    public Map<String, String> getNameHistoryFromUUID(UUID uuid)
+    private Map<String, String> lookupNameHistory(UUID uuid)
     {
-        Map<String, String> result = new TreeMap<>(Collections.reverseOrder());
         try
         {
-            String url = String.format("https://laby.net/api/v2/user/%s/get-profile", uuid.toString());
-            JsonArray array;
-            HttpsURLConnection connection = null;
-            try
-            {
-                connection = (HttpsURLConnection) new URL(url).openConnection();
-                connection.setDoOutput(true);
-                connection.setRequestMethod("GET");
-                connection.setRequestProperty("Content-Type", "application/json");
-                Scanner scanner = new Scanner(connection.getInputStream());
-                StringBuilder builder = new StringBuilder();
-                while (scanner.hasNextLine())
-                {
-                    builder.append(scanner.nextLine());
-                    builder.append('\n');
-                }
-                scanner.close();
-                String json = builder.toString();
-                JsonObject jsonObject = JsonParser.parseString(json).getAsJsonObject();
-                array = jsonObject.getAsJsonArray("username_history");
-            }
-            finally
-            {
-                if (connection != null)
-                {
-                    connection.disconnect();
-                }
-            }
+            JsonObject jsonObject = request(String.format("https://laby.net/api/v2/user/%s/get-profile", uuid));
+            JsonArray array = jsonObject.getAsJsonArray("username_history");
             if (array == null)
             {
                 return null;
             }
+            Map<String, String> result = new TreeMap<>(Collections.reverseOrder());
             for (JsonElement element : array)
             {
                 JsonObject object = element.getAsJsonObject();
@@ -114,51 +183,21 @@ public class LookupManager implements Globals
                 String changedAt = object.has("changed_at") ? object.get("changed_at").getAsString() : "";
                 result.put(changedAt, name);
             }
+            return Collections.unmodifiableMap(result);
         }
         catch (Exception e)
         {
             e.printStackTrace();
         }
-
-        return result;
+        return null;
     }
 
-    public Map<String, String> getPlayerStats2b2t(String playerName)
+    private Map<String, String> lookupStats2b2t(String playerName)
     {
-        Map<String, String> result = new TreeMap<>(Collections.reverseOrder());
         try
         {
-            String url = String.format("https://api.2b2t.vc/stats/player?playerName=%s", playerName);
-            JsonObject jsonObject;
-            HttpsURLConnection connection = null;
-            try
-            {
-                connection = (HttpsURLConnection) new URL(url).openConnection();
-                connection.setDoOutput(true);
-                connection.setRequestMethod("GET");
-                connection.setRequestProperty("Content-Type", "application/json");
-                Scanner scanner = new Scanner(connection.getInputStream());
-                StringBuilder builder = new StringBuilder();
-                while (scanner.hasNextLine())
-                {
-                    builder.append(scanner.nextLine());
-                    builder.append('\n');
-                }
-                scanner.close();
-                String json = builder.toString();
-                jsonObject = JsonParser.parseString(json).getAsJsonObject();
-            }
-            finally
-            {
-                if (connection != null)
-                {
-                    connection.disconnect();
-                }
-            }
-            if (jsonObject == null)
-            {
-                return null;
-            }
+            JsonObject jsonObject = request(String.format("https://api.2b2t.vc/stats/player?playerName=%s", playerName));
+            Map<String, String> result = new TreeMap<>(Collections.reverseOrder());
             result.put("Join Count", String.valueOf(jsonObject.get("joinCount").getAsInt()));
             result.put("Leave Count", String.valueOf(jsonObject.get("leaveCount").getAsInt()));
             result.put("Death Count", String.valueOf(jsonObject.get("deathCount").getAsInt()));
@@ -169,50 +208,20 @@ public class LookupManager implements Globals
             result.put("Playtime Month", (jsonObject.get("playtimeSecondsMonth").getAsInt() / 3600) + "hrs");
             result.put("Chats Count", String.valueOf(jsonObject.get("chatsCount").getAsInt()));
             result.put("Prio", String.valueOf(jsonObject.get("prio").getAsBoolean()));
+            return Collections.unmodifiableMap(result);
         }
         catch (Exception e)
         {
             e.printStackTrace();
         }
-
-        return result;
+        return null;
     }
 
-    public String get2b2tQueueSize()
+    private String lookupQueueSize2b2t()
     {
         try
         {
-            String url = "https://api.2b2t.vc/queue";
-            JsonObject jsonObject;
-            HttpsURLConnection connection = null;
-            try
-            {
-                connection = (HttpsURLConnection) new URL(url).openConnection();
-                connection.setDoOutput(true);
-                connection.setRequestMethod("GET");
-                connection.setRequestProperty("Content-Type", "application/json");
-                Scanner scanner = new Scanner(connection.getInputStream());
-                StringBuilder builder = new StringBuilder();
-                while (scanner.hasNextLine())
-                {
-                    builder.append(scanner.nextLine());
-                    builder.append('\n');
-                }
-                scanner.close();
-                String json = builder.toString();
-                jsonObject = JsonParser.parseString(json).getAsJsonObject();
-            }
-            finally
-            {
-                if (connection != null)
-                {
-                    connection.disconnect();
-                }
-            }
-            if (jsonObject == null)
-            {
-                return null;
-            }
+            JsonObject jsonObject = request("https://api.2b2t.vc/queue");
             return String.format("§7Priority: §f%d, §7Regular: §f%d", jsonObject.get("prio").getAsInt(), jsonObject.get("regular").getAsInt());
         }
         catch (Exception e)
@@ -221,4 +230,15 @@ public class LookupManager implements Globals
         }
         return null;
     }
+
+    /**
+     * @param url
+     * @return The response as a json object
+     * @throws Exception if the request failed or the response is not a
+     *                   json object
+     */
+    private JsonObject request(String url) throws Exception
+    {
+        return JsonParser.parseString(backend.get(url)).getAsJsonObject();
+    }
 }
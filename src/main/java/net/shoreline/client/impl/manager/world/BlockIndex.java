@@ -0,0 +1,202 @@
+package net.shoreline.client.impl.manager.world;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * The positions of the loaded blocks matching a block state filter. The
+ * positions of each chunk are kept as a packed <tt>long[]</tt> which is
+ * replaced, never modified, when the chunk changes, so the index can be
+ * read from any thread while the {@link BlockIndexManager} updates it.
+ *
+ * @author linus
+ * @see BlockIndexManager#register(Predicate, ChunkListener)
+ * @since 1.0
+ */
+public class BlockIndex
+{
+    private static final long[] EMPTY = new long[0];
+    //
+    private final Predicate<BlockState> filter;
+    private final ChunkListener listener;
+    // Packed block positions by packed chunk pos
+    private final Map<Long, long[]> chunks = new ConcurrentHashMap<>();
+
+    BlockIndex(Predicate<BlockState> filter, ChunkListener listener)
+    {
+        this.filter = filter;
+        this.listener = listener;
+    }
+
+    /**
+     * Visits every indexed block. The visited position is reused and must
+     * be copied with {@link BlockPos#toImmutable()} if it is kept.
+     *
+     * @param visitor The visitor
+     */
+    public void forEach(Consumer<BlockPos.Mutable> visitor)
+    {
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (long[] positions : chunks.values())
+        {
+            for (long packed : positions)
+            {
+                visitor.accept(pos.set(packed));
+            }
+        }
+    }
+
+    /**
+     * Visits the indexed blocks whose center is within the range of the
+     * origin. Only the chunks overlapping the range are looked up. The
+     * visited position is reused and must be copied with
+     * {@link BlockPos#toImmutable()} if it is kept.
+     *
+     * @param origin  The origin
+     * @param range   The range
+     * @param visitor The visitor
+     */
+    public void forEachInRange(Vec3d origin, double range, Consumer<BlockPos.Mutable> visitor)
+    {
+        int minX = MathHelper.floor(origin.getX() - range) >> 4;
+        int maxX = MathHelper.floor(origin.getX() + range) >> 4;
+        int minZ = MathHelper.floor(origin.getZ() - range) >> 4;
+        int maxZ = MathHelper.floor(origin.getZ() + range) >> 4;
+        double rangeSq = range * range;
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int x = minX; x <= maxX; x++)
+        {
+            for (int z = minZ; z <= maxZ; z++)
+            {
+                long[] positions = chunks.get(ChunkPos.toLong(x, z));
+                if (positions == null)
+                {
+                    continue;
+                }
+                for (long packed : positions)
+                {
+                    pos.set(packed);
+                    double dx = pos.getX() + 0.5 - origin.getX();
+                    double dy = pos.getY() + 0.5 - origin.getY();
+                    double dz = pos.getZ() + 0.5 - origin.getZ();
+                    if (dx * dx + dy * dy + dz * dz <= rangeSq)
+                    {
+                        visitor.accept(pos);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param chunkX The chunk x
+     * @param chunkZ The chunk z
+     * @return The packed positions of the indexed blocks in the chunk, the
+     * returned array must not be modified
+     */
+    public long[] getChunk(int chunkX, int chunkZ)
+    {
+        long[] positions = chunks.get(ChunkPos.toLong(chunkX, chunkZ));
+        return positions != null ? positions : EMPTY;
+    }
+
+    public boolean isEmpty()
+    {
+        return chunks.isEmpty();
+    }
+
+    boolean test(BlockState state)
+    {
+        return filter.test(state);
+    }
+
+    void setChunk(long chunk, long[] positions)
+    {
+        if (positions.length == 0)
+        {
+            chunks.remove(chunk);
+        }
+        else
+        {
+            chunks.put(chunk, positions);
+        }
+        notifyListener(chunk, positions);
+    }
+
+    void update(long chunk, long pos, boolean matches)
+    {
+        long[] positions = chunks.getOrDefault(chunk, EMPTY);
+        int index = -1;
+        for (int i = 0; i < positions.length; i++)
+        {
+            if (positions[i] == pos)
+            {
+                index = i;
+                break;
+            }
+        }
+        if (matches == index >= 0)
+        {
+            return;
+        }
+        long[] update;
+        if (matches)
+        {
+            update = Arrays.copyOf(positions, positions.length + 1);
+            update[positions.length] = pos;
+        }
+        else
+        {
+            update = new long[positions.length - 1];
+            System.arraycopy(positions, 0, update, 0, index);
+            System.arraycopy(positions, index + 1, update, index, update.length - index);
+        }
+        setChunk(chunk, update);
+    }
+
+    void removeChunk(long chunk)
+    {
+        if (chunks.remove(chunk) != null)
+        {
+            notifyListener(chunk, EMPTY);
+        }
+    }
+
+    void clear()
+    {
+        chunks.clear();
+    }
+
+    private void notifyListener(long chunk, long[] positions)
+    {
+        if (listener != null)
+        {
+            listener.onChunkIndexed(ChunkPos.getPackedX(chunk), ChunkPos.getPackedZ(chunk), positions);
+        }
+    }
+
+    /**
+     * Called on the index thread after the indexed blocks of a chunk change,
+     * including when the chunk unloads
+     */
+    @FunctionalInterface
+    public interface ChunkListener
+    {
+        /**
+         * @param chunkX    The chunk x
+         * @param chunkZ    The chunk z
+         * @param positions The packed positions of the indexed blocks in the
+         *                  chunk, must not be modified
+         */
+        void onChunkIndexed(int chunkX, int chunkZ, long[] positions);
+    }
+}
@@ -0,0 +1,206 @@
+package net.shoreline.client.impl.manager.world;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.WorldChunk;
+import net.shoreline.client.impl.event.network.DisconnectEvent;
+import net.shoreline.client.impl.event.world.LoadChunkEvent;
+import net.shoreline.client.impl.event.world.LoadWorldEvent;
+import net.shoreline.client.impl.event.world.SetBlockStateEvent;
+import net.shoreline.client.impl.event.world.UnloadChunkBlocksEvent;
+import net.shoreline.client.util.Globals;
+import net.shoreline.client.util.world.BlockUtil;
+import net.shoreline.client.util.world.ChunkScanner;
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.annotation.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Maintains the {@link BlockIndex} of every registered block state filter.
+ * Each loaded chunk is scanned once for all registered filters, see
+ * {@link ChunkScanner}, and the indexes are then kept up to date with
+ * block updates and chunk unloads. All index updates run in order on the
+ * index thread.
+ *
+ * @author linus
+ * @since 1.0
+ */
+public class BlockIndexManager implements Globals
+{
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread t = new Thread(r, "Block-Index");
+        t.setDaemon(true);
+        return t;
+    });
+    private final List<BlockIndex> indexes = new CopyOnWriteArrayList<>();
+
+    public BlockIndexManager()
+    {
+        EventBus.INSTANCE.subscribe(this);
+    }
+
+    /**
+     * @param filter The block state filter, must be safe to call from the
+     *               index thread
+     * @return The index of the blocks matching the filter
+     */
+    public BlockIndex register(Predicate<BlockState> filter)
+    {
+        return register(filter, null);
+    }
+
+    /**
+     * Registers a new index and indexes the loaded chunks
+     *
+     * @param filter   The block state filter, must be safe to call from the
+     *                 index thread
+     * @param listener The listener notified when the indexed blocks of a
+     *                 chunk change or <tt>null</tt>
+     * @return The index of the blocks matching the filter
+     */
+    public BlockIndex register(Predicate<BlockState> filter, BlockIndex.ChunkListener listener)
+    {
+        BlockIndex index = new BlockIndex(filter, listener);
+        indexes.add(index);
+        if (mc.world != null && mc.player != null)
+        {
+            for (WorldChunk chunk : BlockUtil.loadedChunks())
+            {
+                indexChunk(chunk, List.of(index));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param index The index which will no longer be updated
+     */
+    public void unregister(BlockIndex index)
+    {
+        if (index != null && indexes.remove(index))
+        {
+            executor.execute(index::clear);
+        }
+    }
+
+    @EventListener
+    public void onLoadChunk(LoadChunkEvent event)
+    {
+        indexChunk(event.getChunk(), indexes);
+    }
+
+    @EventListener
+    public void onUnloadChunk(UnloadChunkBlocksEvent event)
+    {
+        if (indexes.isEmpty())
+        {
+            return;
+        }
+        long chunk = event.getChunk().getPos().toLong();
+        executor.execute(() ->
+        {
+            for (BlockIndex index : indexes)
+            {
+                index.removeChunk(chunk);
+            }
+        });
+    }
+
+    @EventListener(priority = Integer.MIN_VALUE, receiveCanceled = false)
+    public void onSetBlockState(SetBlockStateEvent event)
+    {
+        if (indexes.isEmpty())
+        {
+            return;
+        }
+        BlockPos pos = event.getPos();
+        long packed = pos.asLong();
+        long chunk = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+        for (BlockIndex index : indexes)
+        {
+            boolean matches = index.test(event.getState());
+            executor.execute(() ->
+            {
+                if (indexes.contains(index))
+                {
+                    index.update(chunk, packed, matches);
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onLoadWorld(LoadWorldEvent event)
+    {
+        clear();
+    }
+
+    @EventListener
+    public void onDisconnect(DisconnectEvent event)
+    {
+        clear();
+    }
+
+    private void clear()
+    {
+        executor.execute(() ->
+        {
+            for (BlockIndex index : indexes)
+            {
+                index.clear();
+            }
+        });
+    }
+
+    private void indexChunk(Chunk chunk, List<BlockIndex> targets)
+    {
+        if (targets.isEmpty())
+        {
+            return;
+        }
+        List<BlockIndex> snapshot = List.copyOf(targets);
+        // One scan for all indexes, matches are split per index afterwards
+        Supplier<List<ChunkScanner.Match>> scan = ChunkScanner.snapshot(chunk, state ->
+        {
+            for (BlockIndex index : snapshot)
+            {
+                if (index.test(state))
+                {
+                    return true;
+                }
+            }
+            return false;
+        });
+        long key = chunk.getPos().toLong();
+        executor.execute(() ->
+        {
+            List<ChunkScanner.Match> matches = scan.get();
+            for (BlockIndex index : snapshot)
+            {
+                if (!indexes.contains(index))
+                {
+                    continue;
+                }
+                LongArrayList positions = new LongArrayList();
+                for (ChunkScanner.Match match : matches)
+                {
+                    if (index.test(match.state()))
+                    {
+                        positions.add(match.pos().asLong());
+                    }
+                }
+                index.setChunk(key, positions.toLongArray());
+            }
+        });
+    }
+}
@@ -39,7 +39,7 @@ public class BlockManager implements Globals
         }
     }
 
-    @EventListener
+    @EventListener(filter = BlockBreakingProgressS2CPacket.class)
     public void onPacketInbound(PacketEvent.Inbound event)
     {
         if (mc.player == null || mc.world == null)
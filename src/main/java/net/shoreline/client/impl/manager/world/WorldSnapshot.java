@@ -0,0 +1,169 @@
+package net.shoreline.client.impl.manager.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.chunk.PalettedContainer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable copy of the blocks and entities around the player at the
+ * start of a tick. The block state containers are copies which are never
+ * modified, so the snapshot can be read from any thread while the client
+ * world changes. Blocks outside of the captured sections are air.
+ *
+ * @author linus
+ * @see WorldSnapshotManager
+ * @since 1.0
+ */
+public class WorldSnapshot implements BlockView
+{
+    public static final WorldSnapshot EMPTY = new WorldSnapshot(new Long2ObjectOpenHashMap<>(),
+            new LongOpenHashSet(), Collections.emptyList(), 0, 0, 0, 0);
+    //
+    private final Long2ObjectMap<PalettedContainer<BlockState>> sections;
+    private final LongSet chunks;
+    private final List<EntityEntry> entities;
+    private final int bottomY;
+    private final int height;
+    // The captured section y range, inclusive
+    private final int minSectionY;
+    private final int maxSectionY;
+
+    WorldSnapshot(Long2ObjectMap<PalettedContainer<BlockState>> sections, LongSet chunks,
+                  List<EntityEntry> entities, int bottomY, int height, int minSectionY, int maxSectionY)
+    {
+        this.sections = sections;
+        this.chunks = chunks;
+        this.entities = entities;
+        this.bottomY = bottomY;
+        this.height = height;
+        this.minSectionY = minSectionY;
+        this.maxSectionY = maxSectionY;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos)
+    {
+        PalettedContainer<BlockState> container = sections.get(ChunkSectionPos.asLong(
+                pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4));
+        if (container == null)
+        {
+            return Blocks.AIR.getDefaultState();
+        }
+        return container.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos)
+    {
+        return getBlockState(pos).getFluidState();
+    }
+
+    /**
+     * Block entities are not captured
+     *
+     * @return <tt>null</tt>
+     */
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos)
+    {
+        return null;
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return height;
+    }
+
+    @Override
+    public int getBottomY()
+    {
+        return bottomY;
+    }
+
+    /**
+     * @param pos
+     * @return <tt>true</tt> if the block was captured, i.e. its state is not
+     * just assumed to be air
+     */
+    public boolean contains(BlockPos pos)
+    {
+        int sectionY = pos.getY() >> 4;
+        return sectionY >= minSectionY && sectionY <= maxSectionY
+                && chunks.contains(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+    }
+
+    /**
+     * @param chunkX
+     * @param chunkZ
+     * @return <tt>true</tt> if the chunk was loaded and in range
+     */
+    public boolean isChunkLoaded(int chunkX, int chunkZ)
+    {
+        return chunks.contains(ChunkPos.toLong(chunkX, chunkZ));
+    }
+
+    /**
+     * @param sectionPos The packed chunk section pos
+     * @return The copied block states of the section or <tt>null</tt> if
+     * the section is empty or was not captured, must not be modified
+     */
+    public PalettedContainer<BlockState> getSection(long sectionPos)
+    {
+        return sections.get(sectionPos);
+    }
+
+    /**
+     * @return The captured entities
+     */
+    public List<EntityEntry> getEntities()
+    {
+        return entities;
+    }
+
+    /**
+     * @param box
+     * @return The captured entities whose bounding box intersects the box
+     */
+    public List<Entity> getEntities(Box box)
+    {
+        List<Entity> intersecting = new ArrayList<>();
+        for (EntityEntry entry : entities)
+        {
+            if (entry.box().intersects(box))
+            {
+                intersecting.add(entry.entity());
+            }
+        }
+        return intersecting;
+    }
+
+    /**
+     * @param entity The entity, its mutable state must not be relied on
+     *               off the main thread
+     * @param pos    The position at the start of the tick
+     * @param box    The bounding box at the start of the tick
+     */
+    public record EntityEntry(Entity entity, Vec3d pos, Box box)
+    {
+    }
+}
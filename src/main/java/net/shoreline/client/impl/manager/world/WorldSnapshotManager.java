@@ -0,0 +1,176 @@
+package net.shoreline.client.impl.manager.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import net.shoreline.client.impl.event.TickEvent;
+import net.shoreline.client.impl.event.network.DisconnectEvent;
+import net.shoreline.client.impl.event.world.LoadChunkEvent;
+import net.shoreline.client.impl.event.world.LoadWorldEvent;
+import net.shoreline.client.impl.event.world.SetBlockStateEvent;
+import net.shoreline.client.impl.event.world.UnloadChunkBlocksEvent;
+import net.shoreline.client.util.Globals;
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.annotation.EventListener;
+import net.shoreline.eventbus.event.StageEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Captures a {@link WorldSnapshot} of the blocks and entities around the
+ * player at the start of every tick, before the modules tick. Background
+ * calculations read the snapshot instead of the client world, which is
+ * modified by the main thread while they run.
+ *
+ * <p>Section copies are shared between consecutive snapshots, a section is
+ * only copied again after one of its blocks changed or its chunk loaded.</p>
+ *
+ * @author linus
+ * @since 1.0
+ */
+public class WorldSnapshotManager implements Globals
+{
+    // Horizontal range in chunks and vertical range in sections
+    private static final int CHUNK_RANGE = 4;
+    private static final int SECTION_RANGE = 4;
+    //
+    private final Set<Long> dirtySections = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyChunks = ConcurrentHashMap.newKeySet();
+    private volatile WorldSnapshot snapshot = WorldSnapshot.EMPTY;
+
+    public WorldSnapshotManager()
+    {
+        EventBus.INSTANCE.subscribe(this);
+    }
+
+    @EventListener(priority = Integer.MAX_VALUE)
+    public void onTick(TickEvent event)
+    {
+        if (event.getStage() != StageEvent.EventStage.PRE)
+        {
+            return;
+        }
+        if (mc.world == null || mc.player == null)
+        {
+            snapshot = WorldSnapshot.EMPTY;
+            return;
+        }
+        snapshot = capture(snapshot);
+    }
+
+    @EventListener
+    public void onSetBlockState(SetBlockStateEvent event)
+    {
+        dirtySections.add(ChunkSectionPos.toLong(event.getPos()));
+    }
+
+    @EventListener
+    public void onLoadChunk(LoadChunkEvent event)
+    {
+        dirtyChunks.add(event.getChunk().getPos().toLong());
+    }
+
+    @EventListener
+    public void onUnloadChunkBlocks(UnloadChunkBlocksEvent event)
+    {
+        dirtyChunks.add(event.getChunk().getPos().toLong());
+    }
+
+    @EventListener
+    public void onLoadWorld(LoadWorldEvent event)
+    {
+        snapshot = WorldSnapshot.EMPTY;
+    }
+
+    @EventListener
+    public void onDisconnect(DisconnectEvent event)
+    {
+        snapshot = WorldSnapshot.EMPTY;
+    }
+
+    /**
+     * @return The snapshot captured at the start of the current tick
+     */
+    public WorldSnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    /**
+     * @return The client world on the main thread and the snapshot on
+     * any other thread
+     */
+    public BlockView getWorld()
+    {
+        return mc.isOnThread() && mc.world != null ? mc.world : snapshot;
+    }
+
+    private WorldSnapshot capture(WorldSnapshot previous)
+    {
+        ChunkSectionPos center = ChunkSectionPos.from(mc.player);
+        int minSectionY = Math.max(mc.world.getBottomSectionCoord(), center.getSectionY() - SECTION_RANGE);
+        int maxSectionY = Math.min(mc.world.getTopSectionCoord() - 1, center.getSectionY() + SECTION_RANGE);
+        Long2ObjectMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+        LongSet chunks = new LongOpenHashSet();
+        for (int x = center.getSectionX() - CHUNK_RANGE; x <= center.getSectionX() + CHUNK_RANGE; x++)
+        {
+            for (int z = center.getSectionZ() - CHUNK_RANGE; z <= center.getSectionZ() + CHUNK_RANGE; z++)
+            {
+                WorldChunk chunk = mc.world.getChunkManager().getWorldChunk(x, z, false);
+                if (chunk == null)
+                {
+                    continue;
+                }
+                long chunkPos = ChunkPos.toLong(x, z);
+                chunks.add(chunkPos);
+                boolean reloaded = dirtyChunks.contains(chunkPos);
+                for (int y = minSectionY; y <= maxSectionY; y++)
+                {
+                    long sectionPos = ChunkSectionPos.asLong(x, y, z);
+                    boolean changed = reloaded || dirtySections.contains(sectionPos);
+                    ChunkSection section = chunk.getSection(mc.world.sectionCoordToIndex(y));
+                    if (section.isEmpty())
+                    {
+                        continue;
+                    }
+                    // Unchanged copies are never modified and can be shared
+                    PalettedContainer<BlockState> container = changed ? null :
+                            previous.getSection(sectionPos);
+                    if (container == null)
+                    {
+                        container = section.getBlockStateContainer().copy();
+                    }
+                    sections.put(sectionPos, container);
+                }
+            }
+        }
+        // Sections which were not captured are copied when they come into range
+        dirtySections.clear();
+        dirtyChunks.clear();
+        double range = CHUNK_RANGE * 16.0;
+        List<WorldSnapshot.EntityEntry> entities = new ArrayList<>();
+        for (Entity entity : mc.world.getEntities())
+        {
+            if (Math.abs(entity.getX() - mc.player.getX()) <= range
+                    && Math.abs(entity.getZ() - mc.player.getZ()) <= range)
+            {
+                entities.add(new WorldSnapshot.EntityEntry(entity, entity.getPos(), entity.getBoundingBox()));
+            }
+        }
+        return new WorldSnapshot(sections, chunks, Collections.unmodifiableList(entities),
+                mc.world.getBottomY(), mc.world.getHeight(), minSectionY, maxSectionY);
+    }
+}
@@ -1,20 +1,14 @@
 package net.shoreline.client.impl.manager.world.tick;
 
-import com.google.common.collect.Lists;
 import net.minecraft.network.packet.s2c.play.WorldTimeUpdateS2CPacket;
 import net.shoreline.client.impl.event.network.DisconnectEvent;
 import net.shoreline.client.impl.event.network.PacketEvent;
 import net.shoreline.client.impl.event.render.TickCounterEvent;
 import net.shoreline.client.util.Globals;
-import net.shoreline.client.util.collection.EvictingQueue;
+import net.shoreline.client.util.collection.FloatRingBuffer;
 import net.shoreline.eventbus.EventBus;
 import net.shoreline.eventbus.annotation.EventListener;
 
-import java.util.ArrayList;
-import java.util.Deque;
-import java.util.NoSuchElementException;
-import java.util.Queue;
-
 /**
  * @author linus
  * @since 1.0
@@ -22,7 +16,7 @@ import java.util.Queue;
 public class TickManager implements Globals
 {
 
-    private final Deque<Float> ticks = new EvictingQueue<>(20);
+    private final FloatRingBuffer ticks = new FloatRingBuffer(20);
     // The TPS tick handler.
     //
     private long time;
@@ -47,7 +41,7 @@ public class TickManager implements Globals
      * @param event
      * @see WorldTimeUpdateS2CPacket
      */
-    @EventListener
+    @EventListener(filter = WorldTimeUpdateS2CPacket.class)
     public void onPacketInbound(PacketEvent.Inbound event)
     {
         if (mc.player == null || mc.world == null)
@@ -58,7 +52,7 @@ public class TickManager implements Globals
         if (event.getPacket() instanceof WorldTimeUpdateS2CPacket)
         {
             float last = 20000.0f / (System.currentTimeMillis() - time);
-            ticks.addFirst(last);
+            ticks.add(last);
             time = System.currentTimeMillis();
         }
     }
@@ -87,38 +81,17 @@ public class TickManager implements Globals
     /**
      * @return
      */
-    public Queue<Float> getTicks()
+    public FloatRingBuffer getTicks()
     {
         return ticks;
     }
 
-    // So many fucking issues with the EvictingQueue fuck stackoverflow
-    // Im just gonna try catch everything atp
-
     /**
      * @return
      */
     public float getTpsAverage()
     {
-        float avg = 0.0f;
-        try
-        {
-            // fix ConcurrentModificationException
-            ArrayList<Float> ticksCopy = Lists.newArrayList(ticks);
-            if (!ticksCopy.isEmpty())
-            {
-                for (float t : ticksCopy)
-                {
-                    avg += t;
-                }
-                avg /= Math.max(ticksCopy.size(), 1.0f);
-            }
-        }
-        catch (NullPointerException e)
-        {
-
-        }
-        return Math.min(100.0f, avg); // Server may compensate
+        return Math.min(100.0f, ticks.average()); // Server may compensate
     }
 
     /**
@@ -126,18 +99,7 @@ public class TickManager implements Globals
      */
     public float getTpsCurrent()
     {
-        try
-        {
-            if (!ticks.isEmpty())
-            {
-                return Math.min(100.0f, ticks.getFirst());
-            }
-        }
-        catch (NoSuchElementException ignored)
-        {
-
-        }
-        return 20.0f;
+        return Math.min(100.0f, ticks.latest(20.0f));
     }
 
     /**
@@ -145,27 +107,12 @@ public class TickManager implements Globals
      */
     public float getTpsMin()
     {
-        float min = 20.0f;
-        try
-        {
-            for (float t : ticks)
-            {
-                if (t < min)
-                {
-                    min = t;
-                }
-            }
-        }
-        catch (NullPointerException e)
-        {
-
-        }
-        return min;
+        return Math.min(20.0f, ticks.min(20.0f));
     }
 
     public boolean isTicksFilled()
     {
-        return ticks.size() >= 20;
+        return ticks.isFull();
     }
 
     /**
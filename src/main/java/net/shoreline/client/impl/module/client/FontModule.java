@@ -21,6 +21,8 @@ public class FontModule extends ToggleModule
 
     Config<Boolean> antiAliasConfig = register(new BooleanConfig("AntiAlias", "Applies antialiasing to font", true));
     Config<Boolean> fractionalMetrics = register(new BooleanConfig("FractionalMetrics", "Applies fractional metrics to font", false));
+    Config<Boolean> sdfConfig = register(new BooleanConfig("SDF", "Renders font from a distance field which stays sharp at every size and scale", false));
+    Config<Float> outlineConfig = register(new NumberConfig<>("Outline", "The width of the font outline", 0.0f, 0.0f, 0.4f, () -> sdfConfig.getValue()));
     Config<Integer> sizeConfig = register(new NumberConfig<>("Size", "The font size", 5, 9, 12));
     Config<Float> vanillaShadowConfig = register(new NumberConfig<>("VanillaShadow", "The vanilla shadow offset", 0.1f, 1.0f, 1.5f));
 
@@ -41,7 +43,8 @@ public class FontModule extends ToggleModule
     @EventListener
     public void onTick(TickEvent event)
     {
-        if (event.getStage() == StageEvent.EventStage.PRE && Fonts.FONT_SIZE != sizeConfig.getValue())
+        if (event.getStage() == StageEvent.EventStage.PRE && Fonts.isInitialized()
+                && Fonts.FONT_SIZE != sizeConfig.getValue())
         {
             Fonts.setSize(sizeConfig.getValue());
         }
@@ -72,6 +75,16 @@ public class FontModule extends ToggleModule
         return fractionalMetrics.getValue();
     }
 
+    public boolean getSdf()
+    {
+        return sdfConfig.getValue();
+    }
+
+    public float getOutline()
+    {
+        return outlineConfig.getValue();
+    }
+
     public float getVanillaShadow()
     {
         return vanillaShadowConfig.getValue();
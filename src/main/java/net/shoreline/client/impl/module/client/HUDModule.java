@@ -40,8 +40,10 @@ import net.shoreline.client.impl.event.gui.hud.RenderOverlayEvent;
 import net.shoreline.client.impl.event.gui.screen.RenderOpenChatEvent;
 import net.shoreline.client.impl.event.network.DisconnectEvent;
 import net.shoreline.client.impl.event.network.PacketEvent;
+import net.shoreline.client.impl.font.AWTFontRenderer;
 import net.shoreline.client.impl.module.exploit.FastLatencyModule;
 import net.shoreline.client.impl.module.misc.TimerModule;
+import net.shoreline.client.init.Fonts;
 import net.shoreline.client.init.Managers;
 import net.shoreline.client.util.StreamUtils;
 import net.shoreline.client.util.math.PerSecondCounter;
@@ -170,6 +172,26 @@ public class HUDModule extends ToggleModule
 
     @EventListener
     public void onRenderOverlayPost(RenderOverlayEvent.Post event)
+    {
+        // Merge all HUD text into one draw call per glyph atlas
+        AWTFontRenderer fontRenderer = Fonts.CLIENT;
+        if (fontRenderer == null)
+        {
+            renderHud(event);
+            return;
+        }
+        fontRenderer.beginBatch();
+        try
+        {
+            renderHud(event);
+        }
+        finally
+        {
+            fontRenderer.endBatch();
+        }
+    }
+
+    private void renderHud(RenderOverlayEvent.Post event)
     {
         // Setup arraylist
         if (hudRenderModules.isEmpty())
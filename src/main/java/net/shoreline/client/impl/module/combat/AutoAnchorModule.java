@@ -31,6 +31,7 @@ import net.shoreline.client.util.player.InventoryUtil;
 import net.shoreline.client.util.player.RotationUtil;
 import net.shoreline.client.util.render.animation.Animation;
 import net.shoreline.client.util.world.ExplosionUtil;
+import net.shoreline.client.util.world.SphereUtil;
 import net.shoreline.eventbus.annotation.EventListener;
 import net.shoreline.eventbus.event.StageEvent;
 
@@ -267,7 +268,7 @@ public class AutoAnchorModule extends BlockPlacerModule
         double bestAnchorDamage = 0.0f;
         boolean isAnchor = false;
 
-        for (BlockPos pos : getSphere(mc.player.getPos()))
+        for (BlockPos pos : getSphere(mc.player.getEyePos()))
         {
             BlockState state = mc.world.getBlockState(pos);
             double dist1 = mc.player.getEyePos().squaredDistanceTo(pos.toCenterPos());
@@ -341,22 +342,8 @@ public class AutoAnchorModule extends BlockPlacerModule
 
     private List<BlockPos> getSphere(Vec3d origin)
     {
-        List<BlockPos> sphere = new ArrayList<>();
-        double rad = Math.ceil(rangeConfig.getValue());
-        for (double x = -rad; x <= rad; x += 1.0)
-        {
-            for (double y = -rad; y <= rad; y += 1.0)
-            {
-                for (double z = -rad; z <= rad; z += 1.0)
-                {
-                    Vec3i pos = new Vec3i((int)(origin.getX() + x),
-                            (int)(origin.getY() + y),
-                            (int)(origin.getZ() + z));
-                    sphere.add(new BlockPos(pos));
-                }
-            }
-        }
-        return sphere;
+        // Blocks are accepted by the distance from the eyes to their center
+        return SphereUtil.getSphere(origin, rangeConfig.getValue());
     }
 
     private boolean isValidTarget(Entity e)
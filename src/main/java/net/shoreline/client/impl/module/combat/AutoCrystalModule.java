@@ -26,6 +26,7 @@ import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.*;
+import net.minecraft.world.BlockView;
 import net.minecraft.world.RaycastContext;
 import net.shoreline.client.api.config.Config;
 import net.shoreline.client.api.config.NumberDisplay;
@@ -46,7 +47,7 @@ import net.shoreline.client.impl.module.client.ColorsModule;
 import net.shoreline.client.impl.module.exploit.FastLatencyModule;
 import net.shoreline.client.impl.module.world.AutoMineModule;
 import net.shoreline.client.init.Managers;
-import net.shoreline.client.util.collection.EvictingQueue;
+import net.shoreline.client.util.collection.LongRingBuffer;
 import net.shoreline.client.util.entity.EntityUtil;
 import net.shoreline.client.util.math.PerSecondCounter;
 import net.shoreline.client.util.math.timer.CacheTimer;
@@ -57,6 +58,7 @@ import net.shoreline.client.util.player.RotationUtil;
 import net.shoreline.client.util.render.animation.Animation;
 import net.shoreline.client.util.world.BlastResistantBlocks;
 import net.shoreline.client.util.world.ExplosionUtil;
+import net.shoreline.client.util.world.SphereUtil;
 import net.shoreline.eventbus.annotation.EventListener;
 
 import java.awt.*;
@@ -71,8 +73,8 @@ import java.util.concurrent.atomic.AtomicReference;
  *
  * == 주요 개선 사항 ==
  *
- * 1. 비동기 계산 (ExecutorService 실제 활용)
- *    calculatePlaceCrystal / calculateAttackCrystal 을 백그라운드 스레드에서 실행.
+ * 1. 비동기 계산 (ForkJoinPool 활용)
+ *    Place / Attack 후보 평가를 fork-join 으로 분할하여 백그라운드 스레드에서 병렬 실행.
  *    메인(렌더) 스레드는 결과만 소비 → 틱당 지연 없음.
  *
  * 2. PlaceDirection 버그 수정
@@ -283,10 +285,6 @@ public class AutoCrystalModule extends CombatModule
     /** 비동기 계산 실행 중 여부 */
     private volatile boolean calcRunning = false;
 
-    /** 마지막 계산에 사용된 엔티티 스냅샷 */
-    private volatile List<Entity> entitySnapshot = Collections.emptyList();
-    private volatile List<BlockPos> blockSnapshot = Collections.emptyList();
-
     // 현재 틱에서 사용하는 결과
     private DamageData<EndCrystalEntity> attackCrystal;
     private DamageData<BlockPos>         placeCrystal;
@@ -309,7 +307,7 @@ public class AutoCrystalModule extends CombatModule
     private final Timer      autoSwapTimer    = new CacheTimer();
 
     // 레이턴시 통계
-    private final Deque<Long> attackLatency = new EvictingQueue<>(20);
+    private final LongRingBuffer attackLatency = new LongRingBuffer(20);
     private final Map<Integer, Long> attackPackets =
             Collections.synchronizedMap(new ConcurrentHashMap<>());
     private final Map<BlockPos, Long> placePackets =
@@ -326,11 +324,22 @@ public class AutoCrystalModule extends CombatModule
     private final List<AntiStuckData> stuckCrystals = new CopyOnWriteArrayList<>();
 
     /**
-     * 비동기 계산 전용 스레드풀.
-     * 스레드 수 2: Place 계산 + Attack 계산 병렬 처리.
+     * 비동기 계산 전용 work-stealing 풀.
+     * 후보 범위를 {@link CandidateTask}로 분할하여 코어 수만큼 병렬 처리.
      */
-    private final ExecutorService executor = Executors.newFixedThreadPool(2,
-            r -> { Thread t = new Thread(r, "AutoCrystal-Calc"); t.setDaemon(true); return t; });
+    private final ForkJoinPool calcPool = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool ->
+            {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("AutoCrystal-Calc-" + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            }, null, false);
+
+    /** 계산 마감 시간 (ns). 초과 시 그때까지의 최선 결과를 사용 */
+    private static final long CALC_DEADLINE = 40_000_000L;
+    /** 더 이상 분할하지 않는 후보 수 */
+    private static final int CALC_THRESHOLD = 8;
 
     public AutoCrystalModule()
     {
@@ -402,19 +411,36 @@ public class AutoCrystalModule extends CombatModule
         calcRunning = true;
 
         // 스냅샷 생성 (스레드 안전한 복사본)
-        final List<Entity>  entSnap   = new ArrayList<>(entities);
+        // 후보와 무관한 타겟 검사는 스냅샷 생성 시 한 번만 수행
+        final List<Entity> targets = new ArrayList<>();
+        final List<EndCrystalEntity> crystals = new ArrayList<>();
+        for (Entity entity : entities)
+        {
+            if (entity instanceof EndCrystalEntity crystal)
+                crystals.add(crystal);
+            if (isCalcTarget(entity))
+                targets.add(entity);
+        }
         final List<BlockPos> blkSnap  = new ArrayList<>(blocks);
         final int extraTicks          = getExtrapolateTicks();
 
-        executor.submit(() ->
+        calcPool.execute(() ->
         {
             try
             {
                 long t0 = System.nanoTime();
-                DamageData<BlockPos> place = placeConfig.getValue()
-                        ? calculatePlaceCrystal(blkSnap, entSnap, extraTicks) : null;
-                DamageData<EndCrystalEntity> attack =
-                        calculateAttackCrystal(entSnap, extraTicks);
+                long deadline = t0 + CALC_DEADLINE;
+                // Attack 계산을 fork 하고 Place 계산은 현재 워커에서 실행
+                CandidateTask<EndCrystalEntity> attackTask = new CandidateTask<>(crystals,
+                        0, crystals.size(), targets, extraTicks, deadline, this::evaluateAttackCrystal);
+                attackTask.fork();
+                DamageData<BlockPos> place = null;
+                if (placeConfig.getValue() && !targets.isEmpty())
+                {
+                    place = selectResult(new CandidateTask<BlockPos>(blkSnap, 0, blkSnap.size(),
+                            targets, extraTicks, deadline, this::evaluatePlaceCrystal).invoke());
+                }
+                DamageData<EndCrystalEntity> attack = selectResult(attackTask.join());
                 asyncPlaceResult.set(place);
                 asyncAttackResult.set(attack);
                 calculatePlaceCrystalTime = System.nanoTime() - t0;
@@ -650,7 +676,9 @@ public class AutoCrystalModule extends CombatModule
 
     // ── 패킷 처리 ─────────────────────────────────────────────────
 
-    @EventListener(priority = Integer.MAX_VALUE)
+    @EventListener(priority = Integer.MAX_VALUE, filter = {BundleS2CPacket.class, ExplosionS2CPacket.class,
+            PlaySoundS2CPacket.class, EntitiesDestroyS2CPacket.class, ExperienceOrbSpawnS2CPacket.class,
+            EntitySpawnS2CPacket.class})
     public void onPacketInbound(PacketEvent.Inbound event)
     {
         if (mc.player == null || mc.world == null) return;
@@ -1028,125 +1056,97 @@ public class AutoCrystalModule extends CombatModule
     // ── 데미지 계산 (비동기용 - thread-safe) ──────────────────────
 
     /**
-     * Attack crystal 후보 계산 (백그라운드 스레드에서 실행).
-     * Thread-safe: mc.world 읽기만 수행, 상태 변경 없음.
+     * 후보와 무관한 타겟 조건 검사.
      */
-    private DamageData<EndCrystalEntity> calculateAttackCrystal(
-            List<Entity> entities, int extraTicks)
+    private boolean isCalcTarget(Entity entity)
     {
-        if (entities.isEmpty()) return null;
-        List<DamageData<EndCrystalEntity>> validData = new ArrayList<>();
-        DamageData<EndCrystalEntity> data = null;
+        return entity != null && entity.isAlive() && entity != mc.player
+                && isValidTarget(entity)
+                && !Managers.SOCIAL.isFriend(entity.getName())
+                && mc.player.squaredDistanceTo(entity)
+                <= targetRangeConfig.getValue() * targetRangeConfig.getValue();
+    }
 
-        for (Entity crystal : entities)
-        {
-            if (!(crystal instanceof EndCrystalEntity crystal1) || !crystal.isAlive()
-                    || stuckCrystals.stream().anyMatch(d -> d.id() == crystal.getId()))
-                continue;
+    /**
+     * Attack crystal 후보 하나를 평가 (백그라운드 스레드에서 실행).
+     * Thread-safe: 틱 시작 시 캡처한 월드 스냅샷만 읽고 상태 변경 없음.
+     */
+    private void evaluateAttackCrystal(EndCrystalEntity crystal, List<Entity> targets,
+                                       int extraTicks, CandidateResult<EndCrystalEntity> result)
+    {
+        if (!crystal.isAlive()
+                || stuckCrystals.stream().anyMatch(d -> d.id() == crystal.getId()))
+            return;
 
-            Long time = attackPackets.get(crystal.getId());
-            boolean attacked = time != null && time < getBreakMs();
-            if ((crystal.age < ticksExistedConfig.getValue() || attacked)
-                    && inhibitConfig.getValue())
-                continue;
+        Long time = attackPackets.get(crystal.getId());
+        boolean attacked = time != null && time < getBreakMs();
+        if ((crystal.age < ticksExistedConfig.getValue() || attacked)
+                && inhibitConfig.getValue())
+            return;
 
-            if (attackRangeCheck(crystal1)) continue;
+        if (attackRangeCheck(crystal)) return;
 
-            double selfDmg = ExplosionUtil.getDamageTo(mc.player, crystal.getPos(),
-                    blockDestructionConfig.getValue(),
-                    selfExtrapolateConfig.getValue() ? extraTicks : 0, false);
-            boolean unsafe = playerDamageCheck(selfDmg);
-            if (unsafe && !safetyOverride.getValue()) continue;
+        double selfDmg = ExplosionUtil.getDamageTo(mc.player, crystal.getPos(),
+                blockDestructionConfig.getValue(),
+                selfExtrapolateConfig.getValue() ? extraTicks : 0, false);
+        boolean unsafe = playerDamageCheck(selfDmg);
+        if (unsafe && !safetyOverride.getValue()) return;
 
-            for (Entity entity : entities)
-            {
-                if (entity == null || !entity.isAlive() || entity == mc.player
-                        || !isValidTarget(entity)
-                        || Managers.SOCIAL.isFriend(entity.getName()))
-                    continue;
-                if (crystal.squaredDistanceTo(entity) > 144.0) continue;
-                if (mc.player.squaredDistanceTo(entity)
-                        > targetRangeConfig.getValue() * targetRangeConfig.getValue())
-                    continue;
-
-                boolean antiSurround = checkAntiSurroundCrystal(crystal1, entity);
-                double dmg = ExplosionUtil.getDamageTo(entity, crystal.getPos(),
-                        blockDestructionConfig.getValue(), extraTicks, assumeArmorConfig.getValue());
-
-                if (checkOverrideSafety(unsafe, dmg, entity)) continue;
-
-                DamageData<EndCrystalEntity> cur = new DamageData<>(crystal1, entity,
-                        dmg, selfDmg, crystal1.getBlockPos().down(), antiSurround);
-                validData.add(cur);
-                if (data == null || dmg > data.getDamage()) data = cur;
-            }
-        }
-
-        if (data == null || targetDamageCheck(data))
+        for (Entity entity : targets)
         {
-            if (antiSurroundConfig.getValue())
-                return validData.stream().filter(DamageData::isAntiSurround)
-                        .min(Comparator.comparingDouble(d ->
-                                mc.player.squaredDistanceTo(d.getBlockPos().toCenterPos())))
-                        .orElse(null);
-            return null;
+            if (crystal.squaredDistanceTo(entity) > 144.0) continue;
+
+            boolean antiSurround = checkAntiSurroundCrystal(crystal, entity);
+            double dmg = ExplosionUtil.getDamageTo(entity, crystal.getPos(),
+                    blockDestructionConfig.getValue(), extraTicks, assumeArmorConfig.getValue());
+
+            if (checkOverrideSafety(unsafe, dmg, entity)) continue;
+
+            result.offer(new DamageData<>(crystal, entity,
+                    dmg, selfDmg, crystal.getBlockPos().down(), antiSurround));
         }
-        return data;
     }
 
     /**
-     * Place crystal 후보 계산 (백그라운드 스레드에서 실행).
+     * Place crystal 후보 하나를 평가 (백그라운드 스레드에서 실행).
      */
-    private DamageData<BlockPos> calculatePlaceCrystal(
-            List<BlockPos> placeBlocks, List<Entity> entities, int extraTicks)
+    private void evaluatePlaceCrystal(BlockPos pos, List<Entity> targets,
+                                      int extraTicks, CandidateResult<BlockPos> result)
     {
-        if (placeBlocks.isEmpty() || entities.isEmpty()) return null;
-        List<DamageData<BlockPos>> validData = new ArrayList<>();
-        DamageData<BlockPos> data = null;
+        if (!canUseCrystalOnBlock(pos) || placeRangeCheck(pos)
+                || intersectingAntiStuckCheck(pos))
+            return;
+
+        double selfDmg = ExplosionUtil.getDamageTo(mc.player, crystalDamageVec(pos),
+                blockDestructionConfig.getValue(),
+                selfExtrapolateConfig.getValue() ? extraTicks : 0, false);
+        boolean unsafe = playerDamageCheck(selfDmg);
+        if (unsafe && !safetyOverride.getValue()) return;
 
-        for (BlockPos pos : placeBlocks)
+        for (Entity entity : targets)
         {
-            if (!canUseCrystalOnBlock(pos) || placeRangeCheck(pos)
-                    || intersectingAntiStuckCheck(pos))
-                continue;
+            if (pos.getSquaredDistance(entity.getPos()) > 144.0) continue;
 
-            double selfDmg = ExplosionUtil.getDamageTo(mc.player, crystalDamageVec(pos),
-                    blockDestructionConfig.getValue(),
-                    selfExtrapolateConfig.getValue() ? extraTicks : 0, false);
-            boolean unsafe = playerDamageCheck(selfDmg);
-            if (unsafe && !safetyOverride.getValue()) continue;
+            boolean antiSurround = checkAntiSurroundBlock(pos, entity);
+            double dmg = ExplosionUtil.getDamageTo(entity, crystalDamageVec(pos),
+                    blockDestructionConfig.getValue(), extraTicks, assumeArmorConfig.getValue());
 
-            for (Entity entity : entities)
-            {
-                if (entity == null || !entity.isAlive() || entity == mc.player
-                        || !isValidTarget(entity)
-                        || Managers.SOCIAL.isFriend(entity.getName()))
-                    continue;
-                if (pos.getSquaredDistance(entity.getPos()) > 144.0) continue;
-                if (mc.player.squaredDistanceTo(entity)
-                        > targetRangeConfig.getValue() * targetRangeConfig.getValue())
-                    continue;
-
-                boolean antiSurround = checkAntiSurroundBlock(pos, entity);
-                double dmg = ExplosionUtil.getDamageTo(entity, crystalDamageVec(pos),
-                        blockDestructionConfig.getValue(), extraTicks, assumeArmorConfig.getValue());
-
-                if (checkOverrideSafety(unsafe, dmg, entity)) continue;
-
-                DamageData<BlockPos> cur = new DamageData<>(pos, entity, dmg, selfDmg, antiSurround);
-                validData.add(cur);
-                if (data == null || dmg > data.getDamage()) data = cur;
-            }
+            if (checkOverrideSafety(unsafe, dmg, entity)) continue;
+
+            result.offer(new DamageData<>(pos, entity, dmg, selfDmg, antiSurround));
         }
+    }
 
+    /**
+     * 병합된 후보 결과에서 최종 크리스탈 선택.
+     * 최소 데미지 미달 시 AntiSurround 후보 중 가장 가까운 것을 사용.
+     */
+    private <T> DamageData<T> selectResult(CandidateResult<T> result)
+    {
+        DamageData<T> data = result.best;
         if (data == null || targetDamageCheck(data))
         {
-            if (antiSurroundConfig.getValue())
-                return validData.stream().filter(DamageData::isAntiSurround)
-                        .min(Comparator.comparingDouble(d ->
-                                mc.player.squaredDistanceTo(d.getBlockPos().toCenterPos())))
-                        .orElse(null);
-            return null;
+            return antiSurroundConfig.getValue() ? result.antiSurround : null;
         }
         return data;
     }
@@ -1334,11 +1334,9 @@ public class AutoCrystalModule extends CombatModule
         }
         if (shulkersConfig.getValue() && entity instanceof PlayerEntity)
         {
-            for (BlockPos pos : getSphere(3.0f, entity.getPos()))
-            {
-                if (mc.world.getBlockState(pos).getBlock() instanceof ShulkerBoxBlock)
-                    return true;
-            }
+            if (SphereUtil.anyMatch(entity.getPos(), 3.0, pos ->
+                    mc.world.getBlockState(pos).getBlock() instanceof ShulkerBoxBlock))
+                return true;
         }
         return false;
     }
@@ -1403,18 +1401,20 @@ public class AutoCrystalModule extends CombatModule
 
     public boolean canUseCrystalOnBlock(BlockPos pos)
     {
-        BlockState state = mc.world.getBlockState(pos);
+        // 백그라운드 스레드에서는 틱 시작 시 캡처한 스냅샷을 읽는다
+        BlockState state = Managers.WORLD_SNAPSHOT.getWorld().getBlockState(pos);
         if (!state.isOf(Blocks.OBSIDIAN) && !state.isOf(Blocks.BEDROCK)) return false;
         return isCrystalHitboxClear(pos);
     }
 
     public boolean isCrystalHitboxClear(BlockPos pos)
     {
+        final BlockView world = Managers.WORLD_SNAPSHOT.getWorld();
         BlockPos p2 = pos.up();
-        BlockState state2 = mc.world.getBlockState(p2);
-        if (placementsConfig.getValue() == Placements.PROTOCOL && !mc.world.isAir(p2.up()))
+        BlockState state2 = world.getBlockState(p2);
+        if (placementsConfig.getValue() == Placements.PROTOCOL && !world.getBlockState(p2.up()).isAir())
             return false;
-        if (!mc.world.isAir(p2) && !state2.isOf(Blocks.FIRE)) return false;
+        if (!state2.isAir() && !state2.isOf(Blocks.FIRE)) return false;
         final Box bb = Managers.NETWORK.isCrystalPvpCC() ? HALF_CRYSTAL_BB : FULL_CRYSTAL_BB;
         double d = p2.getX(), e = p2.getY(), f = p2.getZ();
         return getEntitiesBlockingCrystal(
@@ -1423,7 +1423,8 @@ public class AutoCrystalModule extends CombatModule
 
     private List<Entity> getEntitiesBlockingCrystal(Box box)
     {
-        List<Entity> entities = new CopyOnWriteArrayList<>(mc.world.getOtherEntities(null, box));
+        List<Entity> entities = new CopyOnWriteArrayList<>(mc.isOnThread() ?
+                mc.world.getOtherEntities(null, box) : Managers.WORLD_SNAPSHOT.getSnapshot().getEntities(box));
         entities.removeIf(entity ->
         {
             if (entity == null || !entity.isAlive() || entity instanceof ExperienceOrbEntity)
@@ -1464,20 +1465,14 @@ public class AutoCrystalModule extends CombatModule
 
     private List<BlockPos> getSphere(Vec3d origin)
     {
-        return getSphere(Math.ceil(placeRangeConfig.getValue()), origin);
-    }
-
-    private List<BlockPos> getSphere(double rad, Vec3d origin)
-    {
-        List<BlockPos> sphere = new ArrayList<>();
-        for (double x = -rad; x <= rad; x++)
-            for (double y = -rad; y <= rad; y++)
-                for (double z = -rad; z <= rad; z++)
-                    sphere.add(new BlockPos(
-                            (int)(origin.getX() + x),
-                            (int)(origin.getY() + y),
-                            (int)(origin.getZ() + z)));
-        return sphere;
+        // The corner distance of placeRangeCheck accepts blocks whose center
+        // is up to a half diagonal further away
+        double radius = placeRangeConfig.getValue();
+        if (!placeRangeCenterConfig.getValue())
+        {
+            radius += SphereUtil.BLOCK_HALF_DIAGONAL;
+        }
+        return SphereUtil.getSphere(origin, radius);
     }
 
     private boolean isSilentSwap(Swap swap)
@@ -1494,11 +1489,7 @@ public class AutoCrystalModule extends CombatModule
 
     public int getBreakMs()
     {
-        if (attackLatency.isEmpty()) return 0;
-        ArrayList<Long> copy = Lists.newArrayList(attackLatency);
-        float avg = 0.0f;
-        for (float t : copy) avg += t;
-        return copy.isEmpty() ? 0 : (int)(avg / copy.size());
+        return (int) attackLatency.average();
     }
 
     public boolean isAttacking()  { return attackCrystal != null; }
@@ -1523,6 +1514,101 @@ public class AutoCrystalModule extends CombatModule
 
     private record AntiStuckData(int id, BlockPos blockPos, Vec3d pos, double stuckDist) {}
 
+    // ── 병렬 후보 평가 ────────────────────────────────────────────
+
+    @FunctionalInterface
+    private interface CandidateEvaluator<T>
+    {
+        void evaluate(T candidate, List<Entity> targets, int extraTicks, CandidateResult<T> result);
+    }
+
+    /**
+     * 후보 범위를 반으로 분할하여 병렬 평가하는 fork-join 작업.
+     * 왼쪽 결과를 우선 병합하므로 마감 전에 끝나면 순차 평가와 같은 결과를 반환.
+     * 마감 시간을 넘기면 남은 후보를 건너뛰고 그때까지의 최선 결과를 반환.
+     */
+    private static class CandidateTask<T> extends RecursiveTask<CandidateResult<T>>
+    {
+        private final List<? extends T> candidates;
+        private final int from, to;
+        private final List<Entity> targets;
+        private final int extraTicks;
+        private final long deadline;
+        private final CandidateEvaluator<T> evaluator;
+
+        public CandidateTask(List<? extends T> candidates, int from, int to,
+                             List<Entity> targets, int extraTicks, long deadline,
+                             CandidateEvaluator<T> evaluator)
+        {
+            this.candidates = candidates;
+            this.from       = from;
+            this.to         = to;
+            this.targets    = targets;
+            this.extraTicks = extraTicks;
+            this.deadline   = deadline;
+            this.evaluator  = evaluator;
+        }
+
+        @Override
+        protected CandidateResult<T> compute()
+        {
+            if (to - from <= CALC_THRESHOLD)
+            {
+                CandidateResult<T> result = new CandidateResult<>();
+                for (int i = from; i < to && System.nanoTime() < deadline; i++)
+                {
+                    evaluator.evaluate(candidates.get(i), targets, extraTicks, result);
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            CandidateTask<T> left = new CandidateTask<>(candidates, from, mid,
+                    targets, extraTicks, deadline, evaluator);
+            left.fork();
+            CandidateResult<T> right = new CandidateTask<>(candidates, mid, to,
+                    targets, extraTicks, deadline, evaluator).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * 후보 범위의 부분 결과: 최대 데미지 후보와 가장 가까운 AntiSurround 후보.
+     */
+    private static class CandidateResult<T>
+    {
+        private DamageData<T> best;
+        private DamageData<T> antiSurround;
+        private double antiSurroundDist;
+
+        private void offer(DamageData<T> data)
+        {
+            if (best == null || data.getDamage() > best.getDamage()) best = data;
+            if (data.isAntiSurround())
+            {
+                offerAntiSurround(data,
+                        mc.player.squaredDistanceTo(data.getBlockPos().toCenterPos()));
+            }
+        }
+
+        private void offerAntiSurround(DamageData<T> data, double dist)
+        {
+            if (antiSurround == null || dist < antiSurroundDist)
+            {
+                antiSurround     = data;
+                antiSurroundDist = dist;
+            }
+        }
+
+        private CandidateResult<T> merge(CandidateResult<T> other)
+        {
+            if (other.best != null && (best == null || other.best.getDamage() > best.getDamage()))
+                best = other.best;
+            if (other.antiSurround != null)
+                offerAntiSurround(other.antiSurround, other.antiSurroundDist);
+            return this;
+        }
+    }
+
     // ── DamageData ────────────────────────────────────────────────
 
     private static class DamageData<T>
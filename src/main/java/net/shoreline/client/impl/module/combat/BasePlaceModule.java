@@ -5,7 +5,6 @@ import net.minecraft.block.ShapeContext;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.util.math.Vec3i;
 import net.shoreline.client.api.config.Config;
 import net.shoreline.client.api.config.setting.BooleanConfig;
 import net.shoreline.client.api.config.setting.NumberConfig;
@@ -21,10 +20,10 @@ import net.shoreline.client.init.Managers;
 import net.shoreline.client.util.entity.EntityUtil;
 import net.shoreline.client.util.render.animation.Animation;
 import net.shoreline.client.util.world.ExplosionUtil;
+import net.shoreline.client.util.world.SphereUtil;
 import net.shoreline.eventbus.annotation.EventListener;
 
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -137,7 +136,9 @@ public class BasePlaceModule extends ObsidianPlacerModule
 
     private BlockPos getCrystalBase(PlayerEntity player)
     {
-        List<BlockPos> targetBlocks = getSphere(placeRangeConfig.getValue(), mc.player.getEyePos());
+        // The range is checked from the feet to the base below the crystal,
+        // which is the distance from one block above the feet to the crystal
+        List<BlockPos> targetBlocks = getSphere(placeRangeConfig.getValue(), mc.player.getPos().add(0.0, 1.0, 0.0));
         double damage = 0.0f;
         BlockPos crystalBase = null;
         for (BlockPos pos : targetBlocks)
@@ -194,20 +195,6 @@ public class BasePlaceModule extends ObsidianPlacerModule
 
     private List<BlockPos> getSphere(double rad, Vec3d origin)
     {
-        List<BlockPos> sphere = new ArrayList<>();
-        for (double x = -rad; x <= rad; ++x)
-        {
-            for (double y = -rad; y <= rad; ++y)
-            {
-                for (double z = -rad; z <= rad; ++z)
-                {
-                    Vec3i pos = new Vec3i((int) (origin.getX() + x),
-                            (int) (origin.getY() + y), (int) (origin.getZ() + z));
-                    final BlockPos p = new BlockPos(pos);
-                    sphere.add(p);
-                }
-            }
-        }
-        return sphere;
+        return SphereUtil.getSphere(origin, rad);
     }
 }
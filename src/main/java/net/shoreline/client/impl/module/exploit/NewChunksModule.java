@@ -1,43 +1,46 @@
 package net.shoreline.client.impl.module.exploit;
 
-import com.google.common.collect.Sets;
-import io.netty.buffer.Unpooled;
-import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.MobSpawnerBlockEntity;
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.s2c.play.ChunkData;
 import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.network.packet.s2c.play.GameJoinS2CPacket;
+import net.minecraft.network.packet.s2c.play.PlayerRespawnS2CPacket;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
-import net.minecraft.world.chunk.ChunkSection;
-import net.minecraft.world.chunk.PalettedContainer;
-import net.minecraft.world.chunk.WorldChunk;
+import net.shoreline.client.Shoreline;
 import net.shoreline.client.api.config.Config;
 import net.shoreline.client.api.config.setting.BooleanConfig;
 import net.shoreline.client.api.config.setting.ColorConfig;
 import net.shoreline.client.api.config.setting.NumberConfig;
 import net.shoreline.client.api.module.ModuleCategory;
 import net.shoreline.client.api.module.ToggleModule;
+import net.shoreline.client.api.render.RegionMesh;
 import net.shoreline.client.api.render.RenderBuffers;
 import net.shoreline.client.api.render.RenderManager;
 import net.shoreline.client.impl.event.TickEvent;
-import net.shoreline.client.impl.event.network.GameJoinEvent;
+import net.shoreline.client.impl.event.config.ConfigUpdateEvent;
+import net.shoreline.client.impl.event.network.DisconnectEvent;
 import net.shoreline.client.impl.event.network.PacketEvent;
 import net.shoreline.client.impl.event.render.RenderWorldEvent;
 import net.shoreline.client.util.chat.ChatUtil;
 import net.shoreline.client.util.render.ColorUtil;
 import net.shoreline.client.util.world.BlockUtil;
+import net.shoreline.client.util.world.ChunkStateStore;
 import net.shoreline.eventbus.annotation.EventListener;
 import net.shoreline.eventbus.event.StageEvent;
 
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * @author linus
@@ -56,10 +59,29 @@ public class NewChunksModule extends ToggleModule
     Config<Boolean> notifyConfig = register(new BooleanConfig("Notify", "Notify in chat when an activated spawner is found", true, () -> false));
     Config<Color> colorConfig = register(new ColorConfig("SpawnerColor", "The color of the tracked spawners", Color.MAGENTA, false, false));
 
-    private final Set<ChunkPos> newChunks = Sets.newConcurrentHashSet();
-    private final Set<ChunkPos> oldChunks = Sets.newConcurrentHashSet();
+    // Chunk packets are classified off the netty thread, one at a time so a
+    // chunk is never classified twice
+    private static final Executor CLASSIFY_EXECUTOR = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread t = new Thread(r, "NewChunks-Classifier");
+        t.setDaemon(true);
+        return t;
+    });
+    // The log2 of the mesh region size in chunks
+    private static final int REGION_SHIFT = 3;
+
+    // The chunk states of the current server and dimension. The store is
+    // switched in packet order when a join or respawn packet arrives, so
+    // chunk packets of a new dimension are never written to the old store
+    private volatile ChunkStateStore chunks;
+    private volatile RegistryKey<World> chunksDimension;
 
     private final List<BlockPos> activatedSpawners = new ArrayList<>();
+    // Chunk outlines in regions of 8x8 chunks, rebuilt when a chunk is added
+    // and only kept within the view distance
+    private final RegionMesh chunksMesh = new RegionMesh(REGION_SHIFT, this::buildChunks);
+    private volatile int lastRegionX = Integer.MIN_VALUE;
+    private int lastRegionZ = Integer.MIN_VALUE;
 
     public NewChunksModule()
     {
@@ -70,13 +92,25 @@ public class NewChunksModule extends ToggleModule
     public void onDisable()
     {
         activatedSpawners.clear();
+        closeChunks();
     }
 
     @EventListener
-    public void onGameJoin(GameJoinEvent event)
+    public void onDisconnect(DisconnectEvent event)
     {
-        newChunks.clear();
-        oldChunks.clear();
+        closeChunks();
+    }
+
+    @EventListener
+    public void onConfigUpdate(ConfigUpdateEvent event)
+    {
+        if (event.getStage() == StageEvent.EventStage.POST && (event.getConfig() == newChunksConfig
+                || event.getConfig() == oldChunksConfig || event.getConfig() == yLevelConfig
+                || event.getConfig() == newChunksColorConfig || event.getConfig() == oldChunksColorConfig))
+        {
+            // Empty regions are not kept, so mark every region in view
+            lastRegionX = Integer.MIN_VALUE;
+        }
     }
 
     @EventListener
@@ -86,6 +120,7 @@ public class NewChunksModule extends ToggleModule
         {
             return;
         }
+        updateChunks();
 
         for (BlockEntity block : BlockUtil.blockEntities())
         {
@@ -135,20 +170,12 @@ public class NewChunksModule extends ToggleModule
     public void onRenderWorld(RenderWorldEvent event)
     {
         RenderBuffers.preRender();
-        if (newChunksConfig.getValue())
+        if (mc.getCameraEntity() != null)
         {
-            for (ChunkPos chunkPos : newChunks)
-            {
-                RenderManager.renderBoundingBox(event.getMatrices(), new Box(chunkPos.getStartX(), yLevelConfig.getValue(), chunkPos.getStartZ(), chunkPos.getEndX() + 1.0, yLevelConfig.getValue(), chunkPos.getEndZ() + 1.0), 1.5f, newChunksColorConfig.getValue().getRGB());
-            }
-        }
-        if (oldChunksConfig.getValue())
-        {
-            for (ChunkPos chunkPos : oldChunks)
-            {
-                RenderManager.renderBoundingBox(event.getMatrices(), new Box(chunkPos.getStartX(), yLevelConfig.getValue(), chunkPos.getStartZ(), chunkPos.getEndX() + 1.0, yLevelConfig.getValue(), chunkPos.getEndZ() + 1.0), 1.5f, oldChunksColorConfig.getValue().getRGB());
-            }
+            ChunkPos cameraPos = mc.getCameraEntity().getChunkPos();
+            chunksMesh.retain(cameraPos.x, cameraPos.z, getRegionRadius());
         }
+        chunksMesh.render(event.getMatrices(), 1.5f);
 
         if (spawnerDetectorConfig.getValue())
         {
@@ -166,215 +193,334 @@ public class NewChunksModule extends ToggleModule
         RenderBuffers.postRender();
     }
 
-    @EventListener
-    public void onPacketInbound(PacketEvent.Inbound event)
+    /**
+     * Opens the chunk states of the current server and dimension and marks
+     * the regions which came into view
+     */
+    private void updateChunks()
     {
-        if (mc.world == null)
+        if (mc.world == null || mc.getCameraEntity() == null)
+        {
+            return;
+        }
+        // Enabled in game, there is no join or respawn packet for the current
+        // dimension. Never replaces a store opened by a packet
+        if (chunksDimension == null)
+        {
+            openChunks(mc.world.getRegistryKey(), true);
+        }
+        ChunkPos cameraPos = mc.getCameraEntity().getChunkPos();
+        int regionX = cameraPos.x >> REGION_SHIFT;
+        int regionZ = cameraPos.z >> REGION_SHIFT;
+        if (regionX == lastRegionX && regionZ == lastRegionZ)
         {
             return;
         }
-        if (event.getPacket() instanceof ChunkDataS2CPacket packet)
+        int radius = getRegionRadius();
+        for (int x = regionX - radius; x <= regionX + radius; x++)
         {
-            ChunkPos chunkPos = new ChunkPos(packet.getChunkX(), packet.getChunkZ());
-            WorldChunk chunk = new WorldChunk(mc.world, chunkPos);
-            // https://github.com/etianl/Trouser-Streak/blob/main/src/main/java/pwn/noobs/trouserstreak/modules/NewerNewChunks.java
-            // 99% accuracy
-            PacketByteBuf buf = packet.getChunkData().getSectionsDataBuf();
-            boolean isNewChunk = false;
-            boolean firstchunkappearsnew = false;
-            PacketByteBuf bufferCopy = new PacketByteBuf(Unpooled.copiedBuffer(buf.nioBuffer()));
-            if (buf.readableBytes() < 3)
+            for (int z = regionZ - radius; z <= regionZ + radius; z++)
             {
-                return;
+                // Regions which were in view are already built
+                if (Math.abs(x - lastRegionX) > radius || Math.abs(z - lastRegionZ) > radius)
+                {
+                    chunksMesh.markDirty(x << REGION_SHIFT, z << REGION_SHIFT);
+                }
             }
+        }
+        lastRegionX = regionX;
+        lastRegionZ = regionZ;
+    }
 
-            buf.readShort();
+    /**
+     * Replaces the chunk states with the states of the dimension. Called from
+     * the netty thread for join and respawn packets.
+     *
+     * @param dimension
+     * @param ifUnknown Only opens the store if no dimension is known yet
+     */
+    private synchronized void openChunks(RegistryKey<World> dimension, boolean ifUnknown)
+    {
+        if (ifUnknown && chunksDimension != null)
+        {
+            return;
+        }
+        if (dimension.equals(chunksDimension))
+        {
+            return;
+        }
+        closeChunks();
+        chunks = new ChunkStateStore(getChunksDirectory(dimension));
+        chunksDimension = dimension;
+    }
 
-            int blockBitsPerEntry = buf.readUnsignedByte();
-            if (blockBitsPerEntry >= 4 && blockBitsPerEntry <= 8)
+    /**
+     * Closes the chunk states after the pending classifications
+     */
+    private synchronized void closeChunks()
+    {
+        ChunkStateStore store = chunks;
+        chunks = null;
+        chunksDimension = null;
+        if (store != null)
+        {
+            CLASSIFY_EXECUTOR.execute(store::close);
+        }
+        chunksMesh.clear();
+        lastRegionX = Integer.MIN_VALUE;
+    }
+
+    private Path getChunksDirectory(RegistryKey<World> dimensionKey)
+    {
+        String server = mc.getCurrentServerEntry() != null ? mc.getCurrentServerEntry().address : "singleplayer";
+        String dimension = dimensionKey.getValue().toString();
+        return Shoreline.CONFIG.getClientDirectory().resolve("newchunks")
+                .resolve(server.replaceAll("[^A-Za-z0-9._-]", "_"))
+                .resolve(dimension.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    private int getRegionRadius()
+    {
+        return (mc.options.getViewDistance().getValue() >> REGION_SHIFT) + 1;
+    }
+
+    private void buildChunks(ChunkPos start, ChunkPos end, RegionMesh.MeshBuilder mesh)
+    {
+        ChunkStateStore store = chunks;
+        if (store == null)
+        {
+            return;
+        }
+        for (int x = start.x; x <= end.x; x++)
+        {
+            for (int z = start.z; z <= end.z; z++)
             {
-                int blockPaletteLength = buf.readVarInt();
-                int blockPaletteEntry = buf.readVarInt();
-                if (blockPaletteEntry == 0 && mc.world.getRegistryKey() != World.END)
+                int state = store.get(x, z);
+                if (newChunksConfig.getValue() && state == ChunkStateStore.NEW)
                 {
-                    firstchunkappearsnew = true;
+                    mesh.boundingBox(getChunkBox(new ChunkPos(x, z)), newChunksColorConfig.getValue().getRGB());
+                }
+                else if (oldChunksConfig.getValue() && state == ChunkStateStore.OLD)
+                {
+                    mesh.boundingBox(getChunkBox(new ChunkPos(x, z)), oldChunksColorConfig.getValue().getRGB());
                 }
             }
-            if (bufferCopy.readableBytes() < 2)
+        }
+    }
+
+    private Box getChunkBox(ChunkPos chunkPos)
+    {
+        return new Box(chunkPos.getStartX(), yLevelConfig.getValue(), chunkPos.getStartZ(),
+                chunkPos.getEndX() + 1.0, yLevelConfig.getValue(), chunkPos.getEndZ() + 1.0);
+    }
+
+
+    @EventListener
+    public void onPacketInbound(PacketEvent.Inbound event)
+    {
+        if (event.getPacket() instanceof GameJoinS2CPacket packet)
+        {
+            openChunks(packet.commonPlayerSpawnInfo().dimension(), false);
+        }
+        else if (event.getPacket() instanceof PlayerRespawnS2CPacket packet)
+        {
+            openChunks(packet.commonPlayerSpawnInfo().dimension(), false);
+        }
+        else if (event.getPacket() instanceof ChunkDataS2CPacket packet)
+        {
+            ChunkStateStore store;
+            RegistryKey<World> dimension;
+            synchronized (this)
+            {
+                store = chunks;
+                dimension = chunksDimension;
+            }
+            // The dimension of the chunk is not known yet, drop it rather
+            // than writing it to the store of another dimension
+            if (store == null)
             {
                 return;
             }
+            int chunkX = packet.getChunkX();
+            int chunkZ = packet.getChunkZ();
+            // The section data is only read, so the worker wraps the packet
+            // data instead of copying it
+            ChunkData data = packet.getChunkData();
+            CLASSIFY_EXECUTOR.execute(() ->
+            {
+                if (store.get(chunkX, chunkZ) != ChunkStateStore.UNKNOWN)
+                {
+                    return;
+                }
+                int state = classify(data.getSectionsDataBuf(), dimension);
+                if (state != ChunkStateStore.UNKNOWN && store.putIfUnknown(chunkX, chunkZ, state))
+                {
+                    chunksMesh.markDirty(chunkX, chunkZ);
+                }
+            });
+        }
+    }
+
+    /**
+     * Classifies a chunk by the palettes of its sections. Reads the section
+     * data in place without allocating.
+     *
+     * @param buf       The section data of the chunk packet
+     * @param dimension The dimension of the chunk
+     * @return {@link ChunkStateStore#NEW}, {@link ChunkStateStore#OLD} or
+     * {@link ChunkStateStore#UNKNOWN} if the data is too short
+     */
+    private int classify(PacketByteBuf buf, RegistryKey<World> dimension)
+    {
+        // https://github.com/etianl/Trouser-Streak/blob/main/src/main/java/pwn/noobs/trouserstreak/modules/NewerNewChunks.java
+        // 99% accuracy
+        boolean isNewChunk = false;
+        boolean firstchunkappearsnew = false;
+        if (buf.readableBytes() < 3)
+        {
+            return ChunkStateStore.UNKNOWN;
+        }
+
+        int start = buf.readerIndex();
+        buf.readShort();
 
-            int loops = 0;
-            int newChunkQuantifier = 0;
-            int oldChunkQuantifier = 0;
-            try
+        int blockBitsPerEntry = buf.readUnsignedByte();
+        if (blockBitsPerEntry >= 4 && blockBitsPerEntry <= 8)
+        {
+            int blockPaletteLength = buf.readVarInt();
+            int blockPaletteEntry = buf.readVarInt();
+            if (blockPaletteEntry == 0 && dimension != World.END)
+            {
+                firstchunkappearsnew = true;
+            }
+        }
+        buf.readerIndex(start);
+
+        int loops = 0;
+        int newChunkQuantifier = 0;
+        int oldChunkQuantifier = 0;
+        try
+        {
+            while (buf.readableBytes() > 0 && loops < 8)
             {
-                while (bufferCopy.readableBytes() > 0 && loops < 8)
+                short blockCount = buf.readShort();
+                if (buf.readableBytes() < 1)
                 {
-                    short blockCount = bufferCopy.readShort();
-                    if (bufferCopy.readableBytes() < 1)
-                    {
-                        break;
-                    }
-                    int blockBitsPerEntry2 = bufferCopy.readUnsignedByte();
-                    if (blockBitsPerEntry2 == 0)
-                    {
-                        int singleBlockValue = bufferCopy.readVarInt();
-                        bufferCopy.readVarInt();
-                    }
-                    else if (blockBitsPerEntry2 >= 4 && blockBitsPerEntry2 <= 8)
+                    break;
+                }
+                int blockBitsPerEntry2 = buf.readUnsignedByte();
+                if (blockBitsPerEntry2 == 0)
+                {
+                    int singleBlockValue = buf.readVarInt();
+                    buf.readVarInt();
+                }
+                else if (blockBitsPerEntry2 >= 4 && blockBitsPerEntry2 <= 8)
+                {
+                    int blockPaletteLength = buf.readVarInt();
+                    int isNewSection = 0;
+                    int isOlderOldSection = 0;
+                    for (int i = 0; i < blockPaletteLength; i++)
                     {
-                        ChunkSection section = chunk.getSectionArray()[loops];
-                        PalettedContainer<BlockState> palettedContainer = section.getBlockStateContainer();
-                        Set<BlockState> bstates = new HashSet<>();
-                        for (int x = 0; x < 16; x++)
-                        {
-                            for (int y = 0; y < 16; y++)
-                            {
-                                for (int z = 0; z < 16; z++)
-                                {
-                                    bstates.add(palettedContainer.get(x, y, z));
-                                }
-                            }
-                        }
-                        int blockPaletteLength = bufferCopy.readVarInt();
-                        int isNewSection = 0;
-                        int isOlderOldSection = 0;
-                        int bstatesSize = bstates.size();
-                        if (bstatesSize <= 1)
+                        int blockPaletteEntry = buf.readVarInt();
+                        if (i == 0 && blockPaletteEntry == 0 && dimension == World.OVERWORLD)
                         {
-                            bstatesSize = blockPaletteLength;
+                            isNewSection++;
                         }
-                        if (bstatesSize < blockPaletteLength)
+                        if (i == 1 && (blockPaletteEntry == 80 || blockPaletteEntry == 1 || blockPaletteEntry == 9 || blockPaletteEntry == 5781) && dimension == World.OVERWORLD)
                         {
-                            isNewSection = 2;
-                            newChunkQuantifier++;
+                            isNewSection++;
                         }
-                        for (int i = 0; i < blockPaletteLength; i++)
+                        if (i == 2 && (blockPaletteEntry == 5781 || blockPaletteEntry == 10 || blockPaletteEntry == 22318) && dimension == World.OVERWORLD)
                         {
-                            int blockPaletteEntry = bufferCopy.readVarInt();
-                            if (i == 0 && blockPaletteEntry == 0 && mc.world.getRegistryKey() == World.OVERWORLD)
-                            {
-                                isNewSection++;
-                            }
-                            if (i == 1 && (blockPaletteEntry == 80 || blockPaletteEntry == 1 || blockPaletteEntry == 9 || blockPaletteEntry == 5781) && mc.world.getRegistryKey() == World.OVERWORLD)
-                            {
-                                isNewSection++;
-                            }
-                            if (i == 2 && (blockPaletteEntry == 5781 || blockPaletteEntry == 10 || blockPaletteEntry == 22318) && mc.world.getRegistryKey() == World.OVERWORLD)
-                            {
-                                isNewSection++;
-                            }
-                            if (loops == 4 && blockPaletteEntry == 79 && mc.world.getRegistryKey() == World.OVERWORLD)
-                            {
-                                if (!oldChunks.contains(chunkPos) && !newChunks.contains(chunkPos))
-                                {
-                                    oldChunks.add(chunkPos);
-                                    return;
-                                }
-                            }
-                            if (blockPaletteEntry == 0 && mc.world.getRegistryKey() == World.NETHER | mc.world.getRegistryKey() == World.END)
-                            {
-                                isOlderOldSection++;
-                            }
+                            isNewSection++;
                         }
-                        if (isOlderOldSection >= 2)
+                        if (loops == 4 && blockPaletteEntry == 79 && dimension == World.OVERWORLD)
                         {
-                            oldChunkQuantifier++;
+                            return ChunkStateStore.OLD;
                         }
-                        if (isNewSection >= 2)
+                        if (blockPaletteEntry == 0 && (dimension == World.NETHER || dimension == World.END))
                         {
-                            newChunkQuantifier++;
-                        }
-
-                        int blockDataArrayLength = bufferCopy.readVarInt();
-                        if (bufferCopy.readableBytes() >= blockDataArrayLength * 8)
-                        {
-                            bufferCopy.skipBytes(blockDataArrayLength * 8);
-                        }
-                        else
-                        {
-                            bufferCopy.skipBytes(bufferCopy.readableBytes());
-                            break;
+                            isOlderOldSection++;
                         }
                     }
-                    else if (blockBitsPerEntry2 == 15)
+                    if (isOlderOldSection >= 2)
                     {
-                        int blockDataArrayLength = bufferCopy.readVarInt();
-                        if (bufferCopy.readableBytes() >= blockDataArrayLength * 8)
-                        {
-                            bufferCopy.skipBytes(blockDataArrayLength * 8);
-                        }
-                        else
-                        {
-                            bufferCopy.skipBytes(bufferCopy.readableBytes());
-                            break;
-                        }
+                        oldChunkQuantifier++;
+                    }
+                    if (isNewSection >= 2)
+                    {
+                        newChunkQuantifier++;
+                    }
+
+                    int blockDataArrayLength = buf.readVarInt();
+                    if (buf.readableBytes() >= blockDataArrayLength * 8)
+                    {
+                        buf.skipBytes(blockDataArrayLength * 8);
                     }
                     else
                     {
+                        buf.skipBytes(buf.readableBytes());
                         break;
                     }
-
-                    if (bufferCopy.readableBytes() < 1)
+                }
+                else if (blockBitsPerEntry2 == 15)
+                {
+                    int blockDataArrayLength = buf.readVarInt();
+                    if (buf.readableBytes() >= blockDataArrayLength * 8)
                     {
+                        buf.skipBytes(blockDataArrayLength * 8);
+                    }
+                    else
+                    {
+                        buf.skipBytes(buf.readableBytes());
                         break;
                     }
+                }
+                else
+                {
+                    break;
+                }
 
-                    int biomeBitsPerEntry = bufferCopy.readUnsignedByte();
-                    if (biomeBitsPerEntry == 0)
+                if (buf.readableBytes() < 1)
+                {
+                    break;
+                }
+
+                int biomeBitsPerEntry = buf.readUnsignedByte();
+                if (biomeBitsPerEntry == 0)
+                {
+                    int singleBiomeValue = buf.readVarInt();
+                    if (singleBiomeValue == 39 && dimension == World.END)
                     {
-                        int singleBiomeValue = bufferCopy.readVarInt();
-                        if (singleBiomeValue == 39 && mc.world.getRegistryKey() == World.END)
-                        {
-                            isNewChunk = true;
-                        }
-                        bufferCopy.readVarInt();
+                        isNewChunk = true;
                     }
-                    else if (biomeBitsPerEntry >= 1 && biomeBitsPerEntry <= 3)
+                    buf.readVarInt();
+                }
+                else if (biomeBitsPerEntry >= 1 && biomeBitsPerEntry <= 3)
+                {
+                    int biomePaletteLength = buf.readVarInt();
+                    for (int i = 0; i < biomePaletteLength; i++)
                     {
-                        int biomePaletteLength = bufferCopy.readVarInt();
-                        for (int i = 0; i < biomePaletteLength; i++)
+                        if (buf.readableBytes() < 1)
                         {
-                            if (bufferCopy.readableBytes() < 1)
-                            {
-                                break;
-                            }
-                            int biomePaletteEntry = bufferCopy.readVarInt();
-                            if (i == 0 && biomePaletteEntry == 39 && mc.world.getRegistryKey() == World.END)
-                            {
-                                isNewChunk = true;
-                            }
-                        }
-                        if (bufferCopy.readableBytes() >= 1)
-                        {
-                            int biomeDataArrayLength = bufferCopy.readVarInt();
-                            if (bufferCopy.readableBytes() >= biomeDataArrayLength * 8)
-                            {
-                                bufferCopy.skipBytes(biomeDataArrayLength * 8);
-                            }
-                            else
-                            {
-                                bufferCopy.skipBytes(bufferCopy.readableBytes());
-                                break;
-                            }
+                            break;
                         }
-                        else
+                        int biomePaletteEntry = buf.readVarInt();
+                        if (i == 0 && biomePaletteEntry == 39 && dimension == World.END)
                         {
-                            break;
+                            isNewChunk = true;
                         }
                     }
-                    else if (biomeBitsPerEntry == 6)
+                    if (buf.readableBytes() >= 1)
                     {
-                        int biomeDataArrayLength = bufferCopy.readVarInt();
-                        if (bufferCopy.readableBytes() >= biomeDataArrayLength * 8)
+                        int biomeDataArrayLength = buf.readVarInt();
+                        if (buf.readableBytes() >= biomeDataArrayLength * 8)
                         {
-                            bufferCopy.skipBytes(biomeDataArrayLength * 8);
+                            buf.skipBytes(biomeDataArrayLength * 8);
                         }
                         else
                         {
-                            bufferCopy.skipBytes(bufferCopy.readableBytes());
+                            buf.skipBytes(buf.readableBytes());
                             break;
                         }
                     }
@@ -382,91 +528,57 @@ public class NewChunksModule extends ToggleModule
                     {
                         break;
                     }
-                    loops++;
                 }
-                if (loops > 0)
+                else if (biomeBitsPerEntry == 6)
                 {
-                    if (mc.world.getRegistryKey() == World.NETHER || mc.world.getRegistryKey() == World.END)
+                    int biomeDataArrayLength = buf.readVarInt();
+                    if (buf.readableBytes() >= biomeDataArrayLength * 8)
                     {
-                        double oldpercentage = ((double) oldChunkQuantifier / loops) * 100;
-                        if (oldpercentage >= 25)
-                        {
-                            isNewChunk = false;
-                            if (!oldChunks.contains(chunkPos) && !newChunks.contains(chunkPos))
-                            {
-                                oldChunks.add(chunkPos);
-                                return;
-                            }
-                        }
-                    }
-                    if (mc.world.getRegistryKey() == World.OVERWORLD)
-                    {
-                        double percentage = ((double) newChunkQuantifier / loops) * 100;
-                        if (percentage >= 65)
-                        {
-                            isNewChunk = true;
-                        }
+                        buf.skipBytes(biomeDataArrayLength * 8);
                     }
-                }
-            }
-            catch (Exception e)
-            {
-                e.printStackTrace();
-                if (mc.world.getRegistryKey() == World.NETHER || mc.world.getRegistryKey() == World.END)
-                {
-                    double oldpercentage = ((double) oldChunkQuantifier / loops) * 100;
-                    if (oldpercentage >= 25)
+                    else
                     {
-                        isNewChunk = false;
-                        if (!oldChunks.contains(chunkPos) && !newChunks.contains(chunkPos))
-                        {
-                            oldChunks.add(chunkPos);
-                            return;
-                        }
+                        buf.skipBytes(buf.readableBytes());
+                        break;
                     }
                 }
-                if (mc.world.getRegistryKey() == World.OVERWORLD)
+                else
                 {
-                    double percentage = ((double) newChunkQuantifier / loops) * 100;
-                    if (percentage >= 65)
-                    {
-                        isNewChunk = true;
-                    }
+                    break;
                 }
+                loops++;
             }
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
 
-            if (firstchunkappearsnew)
-            {
-                isNewChunk = true;
-            }
-            if (!isNewChunk)
+        // Also classifies the sections read before a malformed section
+        if (loops > 0)
+        {
+            if (dimension == World.NETHER || dimension == World.END)
             {
-                try
-                {
-                    if (!oldChunks.contains(chunkPos) && !newChunks.contains(chunkPos))
-                    {
-                        oldChunks.add(chunkPos);
-                    }
-                }
-                catch (Exception e)
+                double oldpercentage = ((double) oldChunkQuantifier / loops) * 100;
+                if (oldpercentage >= 25)
                 {
-                    //e.printStackTrace();
+                    return ChunkStateStore.OLD;
                 }
             }
-            else
+            if (dimension == World.OVERWORLD)
             {
-                try
-                {
-                    if (!oldChunks.contains(chunkPos) && !newChunks.contains(chunkPos))
-                    {
-                        newChunks.add(chunkPos);
-                    }
-                }
-                catch (Exception e)
+                double percentage = ((double) newChunkQuantifier / loops) * 100;
+                if (percentage >= 65)
                 {
-                    //e.printStackTrace();
+                    isNewChunk = true;
                 }
             }
         }
+
+        if (firstchunkappearsnew)
+        {
+            isNewChunk = true;
+        }
+        return isNewChunk ? ChunkStateStore.NEW : ChunkStateStore.OLD;
     }
-}
\ No newline at end of file
+}
@@ -43,6 +43,7 @@ import net.shoreline.client.api.render.layers.RenderLayersClient;
 import net.shoreline.client.impl.event.render.RenderWorldEvent;
 import net.shoreline.client.impl.event.render.entity.RenderLabelEvent;
 import net.shoreline.client.impl.event.world.PlaySoundEvent;
+import net.shoreline.client.impl.font.AWTFontRenderer;
 import net.shoreline.client.impl.module.client.ColorsModule;
 import net.shoreline.client.impl.module.client.FontModule;
 import net.shoreline.client.impl.module.client.SocialsModule;
@@ -148,7 +149,8 @@ public class NametagsModule extends ToggleModule
                 double rx = player.getX() - pinterpolate.getX();
                 double ry = player.getY() - pinterpolate.getY();
                 double rz = player.getZ() - pinterpolate.getZ();
-                float w1 = FontModule.getInstance().isEnabled() ? Fonts.CLIENT_UNSCALED.getStringWidth(info) : mc.textRenderer.getWidth(info);
+                AWTFontRenderer font = Fonts.CLIENT_UNSCALED;
+                float w1 = FontModule.getInstance().isEnabled() && font != null ? font.getStringWidth(info) : mc.textRenderer.getWidth(info);
                 int width = (int)(w1);
                 float hwidth = width / 2.0f;
                 double dx = (pos.getX() - interpolate.getX()) - rx;
@@ -168,7 +170,7 @@ public class NametagsModule extends ToggleModule
             }
             else if (entity instanceof AbstractHorseEntity tameable && tameable.getOwnerUuid() != null && tamedConfig.getValue())
             {
-                String lookup = Managers.LOOKUP.getNameFromUUID(tameable.getOwnerUuid());
+                String lookup = Managers.LOOKUP.getCachedNameFromUUID(tameable.getOwnerUuid());
                 if (lookup != null)
                 {
                     Vec3d tamePos = Interpolation.getRenderPosition(entity, mc.getRenderTickCounter().getTickDelta(true));
@@ -180,7 +182,7 @@ public class NametagsModule extends ToggleModule
             }
             else if (entity instanceof TameableEntity tameable && tameable.getOwnerUuid() != null && tamedConfig.getValue())
             {
-                String lookup = Managers.LOOKUP.getNameFromUUID(tameable.getOwnerUuid());
+                String lookup = Managers.LOOKUP.getCachedNameFromUUID(tameable.getOwnerUuid());
                 if (lookup != null)
                 {
                     Vec3d tamePos = Interpolation.getRenderPosition(entity, mc.getRenderTickCounter().getTickDelta(true));
@@ -288,9 +290,10 @@ public class NametagsModule extends ToggleModule
 
     private void drawText(MatrixStack matrices, String text, float x, float y, int color)
     {
-        if (FontModule.getInstance().isEnabled())
+        AWTFontRenderer font = Fonts.CLIENT_UNSCALED;
+        if (FontModule.getInstance().isEnabled() && font != null)
         {
-            Fonts.CLIENT_UNSCALED.drawStringWithShadow(matrices, text, x, y + 1.0f, color);
+            font.drawStringWithShadow(matrices, text, x, y + 1.0f, color);
         }
         else
         {
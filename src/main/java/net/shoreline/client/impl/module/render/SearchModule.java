@@ -8,10 +8,8 @@ import net.minecraft.block.Blocks;
 import net.minecraft.client.render.Camera;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.util.Formatting;
 import net.minecraft.util.math.*;
 import net.minecraft.util.shape.VoxelShape;
-import net.minecraft.world.chunk.WorldChunk;
 import net.shoreline.client.api.config.Config;
 import net.shoreline.client.api.config.setting.BlockListConfig;
 import net.shoreline.client.api.config.setting.BooleanConfig;
@@ -19,26 +17,21 @@ import net.shoreline.client.api.config.setting.NumberConfig;
 import net.shoreline.client.api.module.ModuleCategory;
 import net.shoreline.client.api.module.ToggleModule;
 import net.shoreline.client.api.render.Interpolation;
+import net.shoreline.client.api.render.RegionMesh;
 import net.shoreline.client.api.render.RenderBuffers;
 import net.shoreline.client.api.render.RenderManager;
 import net.shoreline.client.impl.event.config.ConfigUpdateEvent;
-import net.shoreline.client.impl.event.network.GameJoinEvent;
 import net.shoreline.client.impl.event.render.RenderWorldEvent;
-import net.shoreline.client.impl.event.world.LoadChunkBlockEvent;
-import net.shoreline.client.impl.event.world.LoadWorldEvent;
-import net.shoreline.client.impl.event.world.SetBlockStateEvent;
-import net.shoreline.client.impl.event.world.UnloadChunkBlocksEvent;
+import net.shoreline.client.impl.manager.world.BlockIndex;
+import net.shoreline.client.init.Managers;
 import net.shoreline.client.mixin.accessor.AccessorCamera;
 import net.shoreline.client.util.render.RenderUtil;
-import net.shoreline.client.util.world.BlockUtil;
 import net.shoreline.eventbus.annotation.EventListener;
 import net.shoreline.eventbus.event.StageEvent;
 import org.joml.Matrix4f;
 
 import java.awt.*;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author linus
@@ -57,8 +50,9 @@ public class SearchModule extends ToggleModule
     Config<Boolean> fillConfig = register(new BooleanConfig("Fill", "Fills the render", true));
     Config<Boolean> softReloadConfig = register(new BooleanConfig("SoftReload", "Reloads without clearing the renders", false));
 
-    private final Map<BlockPos, BlockState> blocks = new ConcurrentHashMap<>();
-    private boolean warnedLag;
+    private BlockIndex blocks;
+    // Highlights by chunk, rebuilt when the indexed blocks of the chunk change
+    private final RegionMesh mesh = new RegionMesh(0, this::buildChunk);
 
     public SearchModule()
     {
@@ -68,91 +62,21 @@ public class SearchModule extends ToggleModule
     @Override
     public void onEnable()
     {
+        blocks = Managers.BLOCK_INDEX.register(this::isSearchBlock,
+                (chunkX, chunkZ, positions) -> mesh.markDirty(chunkX, chunkZ));
         if (mc.world == null || mc.getNetworkHandler() == null)
         {
             return;
         }
-        // Big hack
-        for (WorldChunk chunk : BlockUtil.loadedChunks())
-        {
-            int startX = chunk.getPos().getStartX();
-            int startZ = chunk.getPos().getStartZ();
-
-            for (int y = chunk.getBottomY(); y < chunk.getHeight(); y++)
-            {
-                for (int x1 = startX; x1 < startX + 16; x1++)
-                {
-                    for (int z1 = startZ; z1 < startZ + 16; z1++)
-                    {
-                        BlockPos pos = new BlockPos(x1, y, z1);
-                        BlockState blockState = chunk.getBlockState(pos);
-                        if (!blockState.isAir() && isSearchBlock(blockState) && !blocks.containsKey(pos))
-                        {
-                            blocks.put(pos, blockState);
-                        }
-                    }
-                }
-            }
-        }
         RenderUtil.reloadRenders(softReloadConfig.getValue());
-        if (!warnedLag)
-        {
-            sendModuleMessage(Formatting.RED + "This module may cause lag when loading new chunks");
-            warnedLag = true;
-        }
     }
 
     @Override
     public void onDisable()
     {
-        blocks.clear();
-    }
-
-    @EventListener
-    public void onGameJoin(GameJoinEvent event)
-    {
-        blocks.clear();
-    }
-
-    @EventListener
-    public void onChangeDimension(LoadWorldEvent event)
-    {
-        blocks.clear();
-    }
-
-    @EventListener
-    public void onLoadChunk(LoadChunkBlockEvent event)
-    {
-        BlockState blockState = event.getState();
-        if (!blockState.isAir() && isSearchBlock(blockState) && !blocks.containsKey(event.getPos()))
-        {
-            blocks.put(event.getPos(), blockState);
-        }
-    }
-
-    @EventListener
-    public void onUnloadChunkBlocks(UnloadChunkBlocksEvent event)
-    {
-        blocks.entrySet().removeIf(e -> event.contains(e.getKey()));
-    }
-
-    @EventListener
-    public void onSetBlockState(SetBlockStateEvent event)
-    {
-        if (isSearchBlock(event.getState()))
-        {
-            if (!blocks.containsKey(event.getPos()))
-            {
-                blocks.put(event.getPos(), event.getState());
-            }
-        }
-        else
-        {
-            if (blocks.containsKey(event.getPos()))
-            {
-                blocks.remove(event.getPos());
-            }
-        }
+        Managers.BLOCK_INDEX.unregister(blocks);
+        blocks = null;
+        mesh.clear();
     }
 
     @EventListener
@@ -163,6 +87,10 @@ public class SearchModule extends ToggleModule
             disable();
             enable();
         }
+        else if (event.getConfig() == fillConfig && event.getStage() == StageEvent.EventStage.POST)
+        {
+            mesh.markAllDirty();
+        }
     }
 
     @EventListener
@@ -204,35 +132,49 @@ public class SearchModule extends ToggleModule
                     .rotateX(-(float) Math.toRadians(pitch))
                     .rotateY(-(float) Math.toRadians(yaw))
                     .add(new Vec3d(x1, y1, z1));
-            for (Map.Entry<BlockPos, BlockState> entry : blocks.entrySet())
+            blocks.forEach(pos1 ->
             {
-                BlockPos pos1 = entry.getKey();
-                RenderManager.renderLine(event.getMatrices(), pos, pos1.toCenterPos(), widthConfig.getValue(), getColor(pos1, entry.getValue(), 255));
-            }
+                BlockState state = mc.world.getBlockState(pos1);
+                if (isSearchBlock(state))
+                {
+                    RenderManager.renderLine(event.getMatrices(), pos, pos1.toCenterPos(), widthConfig.getValue(), getColor(pos1, state, 255));
+                }
+            });
             RenderBuffers.postRender();
             RenderSystem.setProjectionMatrix(prevProjectionMatrix, VertexSorter.BY_DISTANCE);
         }
         RenderBuffers.preRender();
-        for (Map.Entry<BlockPos, BlockState> entry : blocks.entrySet())
+        mesh.render(event.getMatrices(), 1.5f);
+        RenderBuffers.postRender();
+    }
+
+    private void buildChunk(ChunkPos start, ChunkPos end, RegionMesh.MeshBuilder builder)
+    {
+        if (blocks == null || mc.world == null)
         {
-            BlockPos pos1 = entry.getKey();
-            VoxelShape outlineShape = entry.getValue().getOutlineShape(mc.world, pos1);
+            return;
+        }
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (long packed : blocks.getChunk(start.x, start.z))
+        {
+            pos.set(packed);
+            BlockState state = mc.world.getBlockState(pos);
+            if (!isSearchBlock(state))
+            {
+                continue;
+            }
+            VoxelShape outlineShape = state.getOutlineShape(mc.world, pos);
             if (outlineShape.isEmpty())
             {
                 continue;
             }
-            Box render1 = outlineShape.getBoundingBox();
-            Box render = new Box(pos1.getX() + render1.minX, pos1.getY() + render1.minY,
-                    pos1.getZ() + render1.minZ, pos1.getX() + render1.maxX,
-                    pos1.getY() + render1.maxY, pos1.getZ() + render1.maxZ);
+            Box render = outlineShape.getBoundingBox().offset(pos);
             if (fillConfig.getValue())
             {
-                RenderManager.renderBox(event.getMatrices(), render, getColor(pos1, entry.getValue(), 40));
+                builder.box(render, getColor(pos, state, 40));
             }
-            RenderManager.renderBoundingBox(event.getMatrices(),
-                    render, 1.5f, getColor(pos1, entry.getValue(), 145));
+            builder.boundingBox(render, getColor(pos, state, 145));
         }
-        RenderBuffers.postRender();
     }
 
     private int getColor(BlockPos pos, BlockState state, int alpha)
@@ -251,6 +193,6 @@ public class SearchModule extends ToggleModule
 
     private boolean isSearchBlock(BlockState state)
     {
-        return ((BlockListConfig) blocksConfig).contains(state.getBlock());
+        return !state.isAir() && ((BlockListConfig) blocksConfig).contains(state.getBlock());
     }
 }
@@ -1,14 +1,12 @@
 package net.shoreline.client.impl.module.render;
 
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.entity.*;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.world.chunk.WorldChunk;
 import net.shoreline.client.api.config.Config;
 import net.shoreline.client.api.config.setting.BooleanConfig;
 import net.shoreline.client.api.config.setting.ColorConfig;
@@ -19,10 +17,10 @@ import net.shoreline.client.api.render.RenderBuffers;
 import net.shoreline.client.api.render.RenderManager;
 import net.shoreline.client.impl.event.network.GameJoinEvent;
 import net.shoreline.client.impl.event.render.RenderWorldEvent;
-import net.shoreline.client.impl.event.world.LoadChunkBlockEvent;
 import net.shoreline.client.impl.event.world.LoadWorldEvent;
 import net.shoreline.client.impl.event.world.UnloadChunkBlocksEvent;
-import net.shoreline.client.util.world.BlockUtil;
+import net.shoreline.client.impl.manager.world.BlockIndex;
+import net.shoreline.client.init.Managers;
 import net.shoreline.eventbus.annotation.EventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -124,6 +122,9 @@ public class StashFinderModule extends ToggleModule {
      */
     private final Map<Long, AtomicInteger> chunkScores = new ConcurrentHashMap<>();
 
+    /** 지표 블록 인덱스 (활성화 중에만 등록) */
+    private BlockIndex index;
+
     // ─── 생성자 ──────────────────────────────────────────────────
 
     public StashFinderModule() {
@@ -136,16 +137,17 @@ public class StashFinderModule extends ToggleModule {
 
     @Override
     public void onEnable() {
+        // 이미 로드된 청크는 등록 시 인덱싱되고, 이후 로드·블록 변경은 인덱스가 알려준다
+        index = Managers.BLOCK_INDEX.register(state -> getBlockScore(state.getBlock()) > 0,
+                (chunkX, chunkZ, positions) -> mc.execute(() -> updateChunk(chunkX, chunkZ, positions)));
         if (mc.world == null) return;
-        // 이미 로드된 청크 즉시 스캔
-        for (WorldChunk chunk : BlockUtil.loadedChunks()) {
-            scanChunk(chunk);
-        }
         sendModuleMessage("§aStashFinder 활성화 - 청크 스캔 시작");
     }
 
     @Override
     public void onDisable() {
+        Managers.BLOCK_INDEX.unregister(index);
+        index = null;
         stashes.clear();
         chunkScores.clear();
     }
@@ -164,49 +166,6 @@ public class StashFinderModule extends ToggleModule {
         chunkScores.clear();
     }
 
-    /**
-     * 블록이 로드될 때마다 점수를 계산한다.
-     * SearchModule과 동일한 이벤트 시스템을 사용한다.
-     */
-    @EventListener
-    public void onLoadChunkBlock(LoadChunkBlockEvent event) {
-        BlockPos pos = event.getPos();
-        BlockState state = event.getState();
-
-        int score = getBlockScore(state.getBlock());
-        if (score <= 0) return;
-
-        // 청크 키 계산 (chunkX << 32 | chunkZ)
-        long chunkKey = chunkKey(pos.getX() >> 4, pos.getZ() >> 4);
-
-        // 해당 청크 점수 누적
-        AtomicInteger chunkScore = chunkScores.computeIfAbsent(chunkKey, k -> new AtomicInteger(0));
-        int newScore = chunkScore.addAndGet(score);
-
-        // 임계값 초과 시 스태시 등록
-        if (newScore >= minScoreConfig.getValue() && !stashes.containsKey(chunkKey)) {
-            // 청크 중심 좌표 계산
-            int chunkX = pos.getX() >> 4;
-            int chunkZ = pos.getZ() >> 4;
-            int centerX = chunkX * 16 + 8;
-            int centerZ = chunkZ * 16 + 8;
-            int centerY = pos.getY();
-
-            StashData stash = new StashData(
-                    new BlockPos(centerX, centerY, centerZ),
-                    newScore,
-                    System.currentTimeMillis()
-            );
-            stashes.put(chunkKey, stash);
-
-            // 알림 & 로그
-            onStashFound(stash);
-        } else if (stashes.containsKey(chunkKey)) {
-            // 이미 등록된 스태시 점수 갱신
-            stashes.get(chunkKey).setScore(newScore);
-        }
-    }
-
     @EventListener
     public void onUnloadChunk(UnloadChunkBlocksEvent event) {
         // 청크 언로드 시 해당 청크 데이터 제거 (메모리 관리)
@@ -320,37 +279,33 @@ public class StashFinderModule extends ToggleModule {
     // ─── 유틸 ────────────────────────────────────────────────────
 
     /**
-     * 이미 로드된 청크를 전체 스캔한다. (모듈 활성화 시 1회 실행)
+     * 인덱싱된 청크의 지표 블록으로 점수를 계산한다. 메인 스레드에서 호출된다.
      */
-    private void scanChunk(WorldChunk chunk) {
-        int startX = chunk.getPos().getStartX();
-        int startZ = chunk.getPos().getStartZ();
-        for (int y = chunk.getBottomY(); y < chunk.getTopY(); y++) {
-            for (int x = startX; x < startX + 16; x++) {
-                for (int z = startZ; z < startZ + 16; z++) {
-                    BlockPos pos = new BlockPos(x, y, z);
-                    BlockState state = chunk.getBlockState(pos);
-                    if (!state.isAir()) {
-                        int score = getBlockScore(state.getBlock());
-                        if (score > 0) {
-                            long key = chunkKey(chunk.getPos().x, chunk.getPos().z);
-                            chunkScores.computeIfAbsent(key, k -> new AtomicInteger(0))
-                                    .addAndGet(score);
-                        }
-                    }
-                }
+    private void updateChunk(int chunkX, int chunkZ, long[] positions) {
+        // 언로드된 청크는 빈 배열로 알려지며, 발견된 스태시는 유지한다
+        if (!isEnabled() || mc.world == null || positions.length == 0) return;
+        // 청크 점수는 누적하지 않고 새로 계산 (재로드 시 중복 방지)
+        long key = chunkKey(chunkX, chunkZ);
+        int score = 0;
+        int centerY = 64;
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (long packed : positions) {
+            int previous = score;
+            score += getBlockScore(mc.world.getBlockState(pos.set(packed)).getBlock());
+            // 임계값을 넘긴 블록의 높이를 스태시 높이로 사용
+            if (previous < minScoreConfig.getValue() && score >= minScoreConfig.getValue()) {
+                centerY = pos.getY();
             }
         }
-        // 스캔 완료 후 임계값 체크
-        long key = chunkKey(chunk.getPos().x, chunk.getPos().z);
-        AtomicInteger score = chunkScores.get(key);
-        if (score != null && score.get() >= minScoreConfig.getValue()
-                && !stashes.containsKey(key)) {
-            int centerX = chunk.getPos().x * 16 + 8;
-            int centerZ = chunk.getPos().z * 16 + 8;
+        chunkScores.put(key, new AtomicInteger(score));
+        StashData existing = stashes.get(key);
+        if (existing != null) {
+            // 이미 등록된 스태시 점수 갱신
+            existing.setScore(score);
+        } else if (score >= minScoreConfig.getValue()) {
             StashData stash = new StashData(
-                    new BlockPos(centerX, 64, centerZ),
-                    score.get(),
+                    new BlockPos(chunkX * 16 + 8, centerY, chunkZ * 16 + 8),
+                    score,
                     System.currentTimeMillis());
             stashes.put(key, stash);
             onStashFound(stash);
@@ -1,9 +1,15 @@
 package net.shoreline.client.impl.module.render;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
+import net.minecraft.block.EnderChestBlock;
+import net.minecraft.block.FurnaceBlock;
+import net.minecraft.block.HopperBlock;
+import net.minecraft.block.ShulkerBoxBlock;
 import net.minecraft.block.entity.*;
 import net.minecraft.block.enums.ChestType;
+import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.util.math.*;
 import net.shoreline.client.api.config.Config;
 import net.shoreline.client.api.config.setting.BooleanConfig;
@@ -14,7 +20,8 @@ import net.shoreline.client.api.module.ToggleModule;
 import net.shoreline.client.api.render.RenderBuffers;
 import net.shoreline.client.api.render.RenderManager;
 import net.shoreline.client.impl.event.render.RenderWorldEvent;
-import net.shoreline.client.util.world.BlockUtil;
+import net.shoreline.client.impl.manager.world.BlockIndex;
+import net.shoreline.client.init.Managers;
 import net.shoreline.eventbus.annotation.EventListener;
 
 import java.awt.*;
@@ -22,6 +29,8 @@ import java.awt.*;
 public class StorageESPModule extends ToggleModule
 {
     private static StorageESPModule INSTANCE;
+    //
+    private BlockIndex blocks;
 
     Config<Float> rangeConfig = register(new NumberConfig<>("Range", "The ESP render range", 10.0f, 50.0f, 200.0f));
     Config<Boolean> fillConfig = register(new BooleanConfig("Fill", "Fills in the highlight", false));
@@ -48,141 +57,169 @@ public class StorageESPModule extends ToggleModule
         return INSTANCE;
     }
 
+    @Override
+    public void onEnable()
+    {
+        blocks = Managers.BLOCK_INDEX.register(state -> isStorageBlock(state.getBlock()));
+    }
+
+    @Override
+    public void onDisable()
+    {
+        Managers.BLOCK_INDEX.unregister(blocks);
+        blocks = null;
+    }
+
     @EventListener
     public void onRenderWorld(RenderWorldEvent event)
     {
+        if (mc.player == null || mc.world == null)
+        {
+            return;
+        }
         RenderBuffers.preRender();
-        for (BlockEntity blockEntity : BlockUtil.blockEntities())
+        blocks.forEachInRange(mc.player.getPos(), rangeConfig.getValue(), pos ->
         {
-            double dist = mc.player.squaredDistanceTo(blockEntity.getPos().toCenterPos());
-            if (dist > ((NumberConfig) rangeConfig).getValueSq())
-            {
-                continue;
-            }
-            Color color = getStorageESPColor(blockEntity);
-            if (color == null)
+            BlockEntity blockEntity = mc.world.getBlockEntity(pos);
+            if (blockEntity != null)
             {
-                continue;
+                renderStorage(event.getMatrices(), blockEntity);
             }
+        });
+        RenderBuffers.postRender();
+    }
+
+    private void renderStorage(MatrixStack matrices, BlockEntity blockEntity)
+    {
+        Color color = getStorageESPColor(blockEntity);
+        if (color == null)
+        {
+            return;
+        }
 
-            Vec3d vec3d = blockEntity.getPos().toCenterPos();
-            double alpha = (100.0 - mc.player.squaredDistanceTo(vec3d)) / 100.0;
-            alpha = 1.0 - MathHelper.clamp(alpha, 0.0, 1.0);
-            BlockPos blockPos = blockEntity.getPos();
+        Vec3d vec3d = blockEntity.getPos().toCenterPos();
+        double alpha = (100.0 - mc.player.squaredDistanceTo(vec3d)) / 100.0;
+        alpha = 1.0 - MathHelper.clamp(alpha, 0.0, 1.0);
+        BlockPos blockPos = blockEntity.getPos();
 
-            if (blockEntity instanceof ChestBlockEntity)
+        if (blockEntity instanceof ChestBlockEntity)
+        {
+            double x1 = blockPos.getX() + 0.06;
+            double y1 = blockPos.getY();
+            double z1 = blockPos.getZ() + 0.06;
+            double x2 = blockPos.getX() + 0.94;
+            double y2 = blockPos.getY() + 0.875;
+            double z2 = blockPos.getZ() + 0.94;
+            BlockState state = blockEntity.getCachedState();
+            if (state.contains(ChestBlock.CHEST_TYPE))
             {
-                double x1 = blockPos.getX() + 0.06;
-                double y1 = blockPos.getY();
-                double z1 = blockPos.getZ() + 0.06;
-                double x2 = blockPos.getX() + 0.94;
-                double y2 = blockPos.getY() + 0.875;
-                double z2 = blockPos.getZ() + 0.94;
-                BlockState state = blockEntity.getCachedState();
-                if (state.contains(ChestBlock.CHEST_TYPE))
+                Direction direction = state.get(ChestBlock.FACING);
+                ChestType type = state.get(ChestBlock.CHEST_TYPE);
+                if (type == ChestType.RIGHT)
                 {
-                    Direction direction = state.get(ChestBlock.FACING);
-                    ChestType type = state.get(ChestBlock.CHEST_TYPE);
-                    if (type == ChestType.RIGHT)
+                    direction = direction.rotateYCounterclockwise();
+                    if (direction.getOffsetX() < 0)
                     {
-                        direction = direction.rotateYCounterclockwise();
-                        if (direction.getOffsetX() < 0)
-                        {
-                            x1 += direction.getOffsetX();
-                        }
-                        else
-                        {
-                            x2 += direction.getOffsetX();
-                        }
-
-                        if (direction.getOffsetZ() < 0)
-                        {
-                            z1 += direction.getOffsetZ();
-                        }
-                        else
-                        {
-                            z2 += direction.getOffsetZ();
-                        }
-                        int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (30 * alpha)).getRGB();
-                        int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (72 * alpha)).getRGB();
-                        Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
-                        if (fillConfig.getValue())
-                        {
-                            RenderManager.renderBox(event.getMatrices(), chestBox, fillColor);
-                        }
-                        RenderManager.renderBoundingBox(event.getMatrices(), chestBox, widthConfig.getValue(), outlineColor);
+                        x1 += direction.getOffsetX();
                     }
-                    else if (type == ChestType.LEFT)
+                    else
+                    {
+                        x2 += direction.getOffsetX();
+                    }
+
+                    if (direction.getOffsetZ() < 0)
                     {
-                        direction = direction.rotateYClockwise();
-                        if (direction.getOffsetX() < 0)
-                        {
-                            x1 += direction.getOffsetX();
-                        }
-                        else
-                        {
-                            x2 += direction.getOffsetX();
-                        }
-
-                        if (direction.getOffsetZ() < 0)
-                        {
-                            z1 += direction.getOffsetZ();
-                        }
-                        else
-                        {
-                            z2 += direction.getOffsetZ();
-                        }
-                        int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (30 * alpha)).getRGB();
-                        int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (72 * alpha)).getRGB();
-                        Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
-                        if (fillConfig.getValue())
-                        {
-                            RenderManager.renderBox(event.getMatrices(), chestBox, fillColor);
-                        }
-                        RenderManager.renderBoundingBox(event.getMatrices(), chestBox, widthConfig.getValue(), outlineColor);
+                        z1 += direction.getOffsetZ();
                     }
-                    else if (type == ChestType.SINGLE)
+                    else
                     {
-                        int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (60 * alpha)).getRGB();
-                        int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (145 * alpha)).getRGB();
-                        Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
-                        if (fillConfig.getValue())
-                        {
-                            RenderManager.renderBox(event.getMatrices(), chestBox, fillColor);
-                        }
-                        RenderManager.renderBoundingBox(event.getMatrices(), chestBox, widthConfig.getValue(), outlineColor);
+                        z2 += direction.getOffsetZ();
                     }
+                    int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (30 * alpha)).getRGB();
+                    int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (72 * alpha)).getRGB();
+                    Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
+                    if (fillConfig.getValue())
+                    {
+                        RenderManager.renderBox(matrices, chestBox, fillColor);
+                    }
+                    RenderManager.renderBoundingBox(matrices, chestBox, widthConfig.getValue(), outlineColor);
                 }
-            }
-            else if (blockEntity instanceof EnderChestBlockEntity)
-            {
-                double x1 = blockPos.getX() + 0.06;
-                double y1 = blockPos.getY();
-                double z1 = blockPos.getZ() + 0.06;
-                double x2 = blockPos.getX() + 0.94;
-                double y2 = blockPos.getY() + 0.875;
-                double z2 = blockPos.getZ() + 0.94;
-                int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (60 * alpha)).getRGB();
-                int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (145 * alpha)).getRGB();
-                Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
-                if (fillConfig.getValue())
+                else if (type == ChestType.LEFT)
                 {
-                    RenderManager.renderBox(event.getMatrices(), chestBox, fillColor);
+                    direction = direction.rotateYClockwise();
+                    if (direction.getOffsetX() < 0)
+                    {
+                        x1 += direction.getOffsetX();
+                    }
+                    else
+                    {
+                        x2 += direction.getOffsetX();
+                    }
+
+                    if (direction.getOffsetZ() < 0)
+                    {
+                        z1 += direction.getOffsetZ();
+                    }
+                    else
+                    {
+                        z2 += direction.getOffsetZ();
+                    }
+                    int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (30 * alpha)).getRGB();
+                    int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (72 * alpha)).getRGB();
+                    Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
+                    if (fillConfig.getValue())
+                    {
+                        RenderManager.renderBox(matrices, chestBox, fillColor);
+                    }
+                    RenderManager.renderBoundingBox(matrices, chestBox, widthConfig.getValue(), outlineColor);
                 }
-                RenderManager.renderBoundingBox(event.getMatrices(), chestBox, widthConfig.getValue(), outlineColor);
-            }
-            else
-            {
-                int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (60 * alpha)).getRGB();
-                int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (145 * alpha)).getRGB();
-                if (fillConfig.getValue())
+                else if (type == ChestType.SINGLE)
                 {
-                    RenderManager.renderBox(event.getMatrices(), blockPos, fillColor);
+                    int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (60 * alpha)).getRGB();
+                    int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (145 * alpha)).getRGB();
+                    Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
+                    if (fillConfig.getValue())
+                    {
+                        RenderManager.renderBox(matrices, chestBox, fillColor);
+                    }
+                    RenderManager.renderBoundingBox(matrices, chestBox, widthConfig.getValue(), outlineColor);
                 }
-                RenderManager.renderBoundingBox(event.getMatrices(), blockPos, widthConfig.getValue(), outlineColor);
             }
         }
-        RenderBuffers.postRender();
+        else if (blockEntity instanceof EnderChestBlockEntity)
+        {
+            double x1 = blockPos.getX() + 0.06;
+            double y1 = blockPos.getY();
+            double z1 = blockPos.getZ() + 0.06;
+            double x2 = blockPos.getX() + 0.94;
+            double y2 = blockPos.getY() + 0.875;
+            double z2 = blockPos.getZ() + 0.94;
+            int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (60 * alpha)).getRGB();
+            int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (145 * alpha)).getRGB();
+            Box chestBox = new Box(x1, y1, z1, x2, y2, z2);
+            if (fillConfig.getValue())
+            {
+                RenderManager.renderBox(matrices, chestBox, fillColor);
+            }
+            RenderManager.renderBoundingBox(matrices, chestBox, widthConfig.getValue(), outlineColor);
+        }
+        else
+        {
+            int fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (60 * alpha)).getRGB();
+            int outlineColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (145 * alpha)).getRGB();
+            if (fillConfig.getValue())
+            {
+                RenderManager.renderBox(matrices, blockPos, fillColor);
+            }
+            RenderManager.renderBoundingBox(matrices, blockPos, widthConfig.getValue(), outlineColor);
+        }
+    }
+
+    private boolean isStorageBlock(Block block)
+    {
+        return block instanceof ChestBlock || block instanceof EnderChestBlock
+                || block instanceof ShulkerBoxBlock || block instanceof HopperBlock
+                || block instanceof FurnaceBlock;
     }
 
     public Color getStorageESPColor(BlockEntity tileEntity)
@@ -30,6 +30,7 @@ import net.shoreline.client.util.player.RotationUtil;
 import net.shoreline.client.util.render.ColorUtil;
 import net.shoreline.client.util.render.animation.Animation;
 import net.shoreline.client.util.world.BlastResistantBlocks;
+import net.shoreline.client.util.world.SphereUtil;
 import net.shoreline.eventbus.annotation.EventListener;
 import net.shoreline.eventbus.event.StageEvent;
 
@@ -288,23 +289,19 @@ public class NukerModule extends CombatModule
         }
     }
 
-    private List<BlockPos> getSphere(Vec3d origin)
+    private List<BlockPos> getSphere()
     {
         List<BlockPos> sphere = new ArrayList<>();
-        double rad = Math.ceil(rangeConfig.getValue());
-        for (double x = -rad; x <= rad; ++x)
+        // Flatten keeps the blocks from the feet up
+        int minY = flattenConfig.getValue() ? MathHelper.floor(mc.player.getY()) : Integer.MIN_VALUE;
+        // Blocks are accepted by the distance from the eyes to their center
+        SphereUtil.forEach(mc.player.getEyePos(), rangeConfig.getValue(), pos ->
         {
-            for (double y = flattenConfig.getValue() ? 0.0 : -rad; y <= rad; ++y)
+            if (pos.getY() >= minY)
             {
-                for (double z = -rad; z <= rad; ++z)
-                {
-                    Vec3i pos = new Vec3i((int) (origin.getX() + x),
-                            (int) (origin.getY() + y), (int) (origin.getZ() + z));
-                    final BlockPos p = new BlockPos(pos);
-                    sphere.add(p);
-                }
+                sphere.add(pos.toImmutable());
             }
-        }
+        });
         return sphere;
     }
 
@@ -432,7 +429,7 @@ public class NukerModule extends CombatModule
     {
         if (modeConfig.getValue() == NukeMode.SPHERE)
         {
-            List<BlockPos> sphere = getSphere(mc.player.getPos());
+            List<BlockPos> sphere = getSphere();
 
             BlockPos minePos = null;
             int yLevel = -128;
@@ -1,6 +1,7 @@
 package net.shoreline.client.init;
 
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
 import net.minecraft.client.MinecraftClient;
 import net.shoreline.client.Shoreline;
 import net.shoreline.client.impl.font.AWTFontRenderer;
@@ -17,22 +18,43 @@ public class Fonts
     public static final String DEFAULT_FONT_FILE_PATH = "assets/shoreline/font/verdana.ttf";
     public static String FONT_FILE_PATH = "assets/shoreline/font/verdana.ttf";
 
-    public static AWTFontRenderer CLIENT;
-    public static AWTFontRenderer CLIENT_UNSCALED;
+    // Published by the font stage, null until the fonts are loaded
+    public static volatile AWTFontRenderer CLIENT;
+    public static volatile AWTFontRenderer CLIENT_UNSCALED;
     public static float FONT_SIZE = 9.0f;
 
-    private static boolean initialized;
+    private static volatile boolean initialized;
+    private static boolean loading;
 
+    /**
+     * Loads the fonts on a worker thread, the text renderers fall back to the
+     * vanilla font until {@link #isInitialized()}. Logs the init timing
+     * report once the fonts are loaded.
+     */
     public static void init()
     {
-        if (initialized)
+        if (initialized || loading)
         {
             return;
         }
-        Shoreline.CONFIG.loadFonts();
-        Fonts.loadFonts();
-        Shoreline.info("Loaded fonts!");
-        initialized = true;
+        loading = true;
+        Util.getMainWorkerExecutor().execute(() ->
+        {
+            try
+            {
+                InitTimings.time("fonts", () ->
+                {
+                    Shoreline.CONFIG.loadFonts();
+                    Fonts.loadFonts();
+                });
+                Shoreline.info("Loaded fonts!");
+                initialized = true;
+            }
+            finally
+            {
+                InitTimings.report();
+            }
+        });
     }
 
     public static void loadFonts()
@@ -52,13 +74,25 @@ public class Fonts
 
     public static void closeFonts()
     {
-        CLIENT.close();
-        CLIENT_UNSCALED.close();
+        // Null if the fonts failed to load
+        if (CLIENT != null)
+        {
+            CLIENT.close();
+        }
+        if (CLIENT_UNSCALED != null)
+        {
+            CLIENT_UNSCALED.close();
+        }
     }
 
     public static void setSize(float size)
     {
         FONT_SIZE = size;
+        // SDF atlases serve every size, only the scale of the quads changes
+        if (CLIENT != null && CLIENT.setSize(size))
+        {
+            return;
+        }
         try
         {
             CLIENT = new AWTFontRenderer(new FileInputStream(FONT_FILE_PATH), FONT_SIZE);
@@ -0,0 +1,162 @@
+package net.shoreline.client.init;
+
+import net.shoreline.client.Shoreline;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The client init stages and their dependencies. A stage starts once all of
+ * its dependencies finished, so stages which do not depend on each other run
+ * in parallel. Main stages run on the thread which runs the graph in the
+ * order they were added, all other stages run on the init executor. The
+ * duration of every stage is recorded in {@link InitTimings}. A failed main
+ * stage is rethrown, a failed parallel stage is logged.
+ *
+ * <p>Dependencies must be added before the stages which depend on them.</p>
+ *
+ * @author linus
+ * @since 1.0
+ */
+public final class InitGraph
+{
+    //
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final Executor executor;
+
+    /**
+     * @param executor The executor which runs the parallel stages
+     */
+    public InitGraph(Executor executor)
+    {
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a stage which runs on the calling thread of {@link #run()}
+     *
+     * @param name         The unique stage name
+     * @param task         The stage task
+     * @param dependencies The names of the stages which must finish first
+     * @return This graph
+     */
+    public InitGraph mainStage(String name, Runnable task, String... dependencies)
+    {
+        return add(new Stage(name, task, true, dependencies));
+    }
+
+    /**
+     * Adds a stage which runs on the init executor
+     *
+     * @param name         The unique stage name
+     * @param task         The stage task
+     * @param dependencies The names of the stages which must finish first
+     * @return This graph
+     */
+    public InitGraph stage(String name, Runnable task, String... dependencies)
+    {
+        return add(new Stage(name, task, false, dependencies));
+    }
+
+    private InitGraph add(Stage stage)
+    {
+        for (String dependency : stage.dependencies)
+        {
+            if (!stages.containsKey(dependency))
+            {
+                throw new IllegalArgumentException("Unknown dependency " + dependency + " of " + stage.name);
+            }
+        }
+        if (stages.putIfAbsent(stage.name, stage) != null)
+        {
+            throw new IllegalArgumentException("Duplicate stage " + stage.name);
+        }
+        return this;
+    }
+
+    /**
+     * Starts the parallel stages and runs the main stages. Returns once the
+     * main stages finished, the parallel stages which no main stage depends
+     * on can still be running.
+     *
+     * @return A future which completes once all stages finished
+     */
+    public CompletableFuture<Void> run()
+    {
+        for (Stage stage : stages.values())
+        {
+            if (!stage.main)
+            {
+                dependencies(stage).thenRunAsync(() -> runStage(stage), executor)
+                        .whenComplete((v, t) -> complete(stage, t));
+            }
+        }
+        for (Stage stage : stages.values())
+        {
+            if (stage.main)
+            {
+                try
+                {
+                    dependencies(stage).join();
+                    runStage(stage);
+                }
+                // The client cannot start without its main stages
+                catch (RuntimeException | Error e)
+                {
+                    stage.future.completeExceptionally(e);
+                    throw e;
+                }
+                stage.future.complete(null);
+            }
+        }
+        return CompletableFuture.allOf(stages.values().stream()
+                .map(s -> s.future).toArray(CompletableFuture[]::new));
+    }
+
+    private CompletableFuture<Void> dependencies(Stage stage)
+    {
+        CompletableFuture<?>[] futures = new CompletableFuture[stage.dependencies.length];
+        for (int i = 0; i < futures.length; i++)
+        {
+            futures[i] = stages.get(stage.dependencies[i]).future;
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private void runStage(Stage stage)
+    {
+        InitTimings.time(stage.name, stage.task);
+    }
+
+    private void complete(Stage stage, Throwable failure)
+    {
+        if (failure == null)
+        {
+            stage.future.complete(null);
+            return;
+        }
+        // Stages which depend on the failed stage are skipped
+        Shoreline.error("Init stage {} failed!", stage.name);
+        failure.printStackTrace();
+        stage.future.completeExceptionally(failure);
+    }
+
+    private static final class Stage
+    {
+        private final String name;
+        private final Runnable task;
+        private final boolean main;
+        private final String[] dependencies;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Stage(String name, Runnable task, boolean main, String[] dependencies)
+        {
+            this.name = name;
+            this.task = task;
+            this.main = main;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package net.shoreline.client.init;
+
+import net.shoreline.client.Shoreline;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the duration of the client init stages. Stages can finish on any
+ * thread, the report is logged once the game finished loading so launch time
+ * regressions show up in the log.
+ *
+ * @author linus
+ * @see InitGraph
+ * @since 1.0
+ */
+public final class InitTimings
+{
+    // The time the client init started, stage offsets are relative to it
+    private static final long START = System.nanoTime();
+    //
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+
+    private InitTimings()
+    {
+
+    }
+
+    /**
+     * Runs the stage on the calling thread and records its duration
+     *
+     * @param stage The stage name
+     * @param task  The stage task
+     */
+    public static void time(String stage, Runnable task)
+    {
+        long start = System.nanoTime();
+        try
+        {
+            task.run();
+        }
+        finally
+        {
+            record(stage, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * @param stage The stage name
+     * @param start The {@link System#nanoTime()} the stage started
+     * @param end   The {@link System#nanoTime()} the stage finished
+     */
+    public static void record(String stage, long start, long end)
+    {
+        TIMINGS.put(stage, new Timing(stage, Thread.currentThread().getName(), start - START, end - start));
+    }
+
+    /**
+     * Logs the recorded stages in the order they started. Stages which are
+     * still running are not part of the report.
+     */
+    public static void report()
+    {
+        List<Timing> timings = new ArrayList<>(TIMINGS.values());
+        timings.sort(Comparator.comparingLong(Timing::offset));
+        Shoreline.info("Client init finished after {}ms", toMillis(System.nanoTime() - START));
+        for (Timing timing : timings)
+        {
+            Shoreline.info("  {} took {}ms (started at {}ms on {})", timing.stage(),
+                    toMillis(timing.duration()), toMillis(timing.offset()), timing.thread());
+        }
+    }
+
+    private static long toMillis(long nanos)
+    {
+        return nanos / 1_000_000L;
+    }
+
+    private record Timing(String stage, String thread, long offset, long duration)
+    {
+
+    }
+}
@@ -22,6 +22,8 @@ import net.shoreline.client.impl.manager.player.MovementManager;
 import net.shoreline.client.impl.manager.player.PositionManager;
 import net.shoreline.client.impl.manager.player.interaction.InteractionManager;
 import net.shoreline.client.impl.manager.player.rotation.RotationManager;
+import net.shoreline.client.impl.manager.world.BlockIndexManager;
+import net.shoreline.client.impl.manager.world.WorldSnapshotManager;
 import net.shoreline.client.impl.manager.world.BlockManager;
 import net.shoreline.client.impl.manager.world.WaypointManager;
 import net.shoreline.client.impl.manager.world.sound.SoundManager;
@@ -60,6 +62,8 @@ public class Managers
     public static LookupManager LOOKUP;
     public static LightmapManager LIGHT_MAP;
     public static BlockManager BLOCK;
+    public static BlockIndexManager BLOCK_INDEX;
+    public static WorldSnapshotManager WORLD_SNAPSHOT;
     public static HitboxManager HITBOX;
     public static PearlManager PEARL;
     // The initialized state of the managers. If this is true, all managers
@@ -89,6 +93,8 @@ public class Managers
             POSITION = new PositionManager();
             ROTATION = new RotationManager();
             BLOCK = new BlockManager();
+            BLOCK_INDEX = new BlockIndexManager();
+            WORLD_SNAPSHOT = new WorldSnapshotManager();
             HITBOX = new HitboxManager();
             PEARL = new PearlManager();
             ANTICHEAT = new AntiCheatManager();
@@ -117,6 +123,7 @@ public class Managers
         {
             MACRO.postInit();
             ACCOUNT.postInit();
+            LOOKUP.postInit();
             CAPES = new CapeManager();
             LIGHT_MAP = new LightmapManager();
         }
@@ -133,9 +133,15 @@ public abstract class MixinMinecraftClient implements IMinecraftClient
         doItemUseCalled = false;
         if (player != null && world != null)
         {
-            TickEvent tickPreEvent = new TickEvent();
-            tickPreEvent.setStage(StageEvent.EventStage.PRE);
-            EventBus.INSTANCE.dispatch(tickPreEvent);
+            TickEvent tickPreEvent = TickEvent.acquire(StageEvent.EventStage.PRE);
+            try
+            {
+                EventBus.INSTANCE.dispatch(tickPreEvent);
+            }
+            finally
+            {
+                tickPreEvent.release();
+            }
         }
         if (interactionManager == null)
         {
@@ -164,9 +170,15 @@ public abstract class MixinMinecraftClient implements IMinecraftClient
     {
         if (player != null && world != null)
         {
-            TickEvent tickPostEvent = new TickEvent();
-            tickPostEvent.setStage(StageEvent.EventStage.POST);
-            EventBus.INSTANCE.dispatch(tickPostEvent);
+            TickEvent tickPostEvent = TickEvent.acquire(StageEvent.EventStage.POST);
+            try
+            {
+                EventBus.INSTANCE.dispatch(tickPostEvent);
+            }
+            finally
+            {
+                tickPostEvent.release();
+            }
             for (Entity entity : world.getEntities())
             {
                 if (entity instanceof LivingEntity e)
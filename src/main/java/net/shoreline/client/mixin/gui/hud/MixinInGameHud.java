@@ -38,8 +38,15 @@ public class MixinInGameHud implements Globals
     private void hookRender(DrawContext context, RenderTickCounter tickCounter, CallbackInfo ci)
     {
         RenderOverlayEvent.Post renderOverlayEvent =
-                new RenderOverlayEvent.Post(context, tickCounter.getTickDelta(true));
-        EventBus.INSTANCE.dispatch(renderOverlayEvent);
+                RenderOverlayEvent.Post.acquire(context, tickCounter.getTickDelta(true));
+        try
+        {
+            EventBus.INSTANCE.dispatch(renderOverlayEvent);
+        }
+        finally
+        {
+            renderOverlayEvent.release();
+        }
     }
 
 //    @Redirect(method = "renderHotbar", at = @At(value = "FIELD", target = "Lnet/minecraft/entity/player/PlayerInventory;selectedSlot:I"))
@@ -57,11 +57,18 @@ public class MixinClientConnection
                                      boolean flush, CallbackInfo ci)
     {
         PacketEvent.Outbound packetOutboundEvent =
-                new PacketEvent.Outbound(packet);
-        EventBus.INSTANCE.dispatch(packetOutboundEvent);
-        if (packetOutboundEvent.isCanceled())
+                PacketEvent.Outbound.acquire(packet);
+        try
         {
-            ci.cancel();
+            EventBus.INSTANCE.dispatch(packetOutboundEvent);
+            if (packetOutboundEvent.isCanceled())
+            {
+                ci.cancel();
+            }
+        }
+        finally
+        {
+            packetOutboundEvent.release();
         }
     }
 
@@ -70,11 +77,18 @@ public class MixinClientConnection
                                        boolean flush, CallbackInfo ci)
     {
         PacketEvent.OutboundPost packetOutboundEvent =
-                new PacketEvent.OutboundPost(packet);
-        EventBus.INSTANCE.dispatch(packetOutboundEvent);
-        if (packetOutboundEvent.isCanceled())
+                PacketEvent.OutboundPost.acquire(packet);
+        try
         {
-            ci.cancel();
+            EventBus.INSTANCE.dispatch(packetOutboundEvent);
+            if (packetOutboundEvent.isCanceled())
+            {
+                ci.cancel();
+            }
+        }
+        finally
+        {
+            packetOutboundEvent.release();
         }
     }
 
@@ -93,12 +107,19 @@ public class MixinClientConnection
         if (packet != null && ownedPacketListener != null && ownedPacketListener.accepts(packet)) // Josu fix
         {
             PacketEvent.Inbound packetInboundEvent =
-                    new PacketEvent.Inbound(packetListener, packet);
-            EventBus.INSTANCE.dispatch(packetInboundEvent);
-            // prevent client from receiving packet from server
-            if (packetInboundEvent.isCanceled())
+                    PacketEvent.Inbound.acquire(packetListener, packet);
+            try
             {
-                ci.cancel();
+                EventBus.INSTANCE.dispatch(packetInboundEvent);
+                // prevent client from receiving packet from server
+                if (packetInboundEvent.isCanceled())
+                {
+                    ci.cancel();
+                }
+            }
+            finally
+            {
+                packetInboundEvent.release();
             }
         }
     }
@@ -1,6 +1,5 @@
 package net.shoreline.client.mixin.network;
 
-import net.minecraft.block.BlockState;
 import net.minecraft.client.network.ClientPlayNetworkHandler;
 import net.minecraft.client.network.ClientPlayerEntity;
 import net.minecraft.client.world.ClientWorld;
@@ -11,14 +10,12 @@ import net.minecraft.network.packet.c2s.play.PlayerMoveC2SPacket;
 import net.minecraft.network.packet.c2s.play.TeleportConfirmC2SPacket;
 import net.minecraft.network.packet.s2c.play.*;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.chunk.WorldChunk;
 import net.shoreline.client.impl.event.gui.chat.ChatMessageEvent;
 import net.shoreline.client.impl.event.network.GameJoinEvent;
 import net.shoreline.client.impl.event.network.InventoryEvent;
 import net.shoreline.client.impl.event.network.ServerRotationEvent;
-import net.shoreline.client.impl.event.world.LoadChunkBlockEvent;
 import net.shoreline.client.impl.event.world.LoadChunkEvent;
 import net.shoreline.client.impl.imixin.IClientPlayNetworkHandler;
 import net.shoreline.client.mixin.accessor.AccessorClientConnection;
@@ -87,23 +84,12 @@ public abstract class MixinClientPlayNetworkHandler implements IClientPlayNetwor
     private void hookOnChunkData(ChunkDataS2CPacket packet, CallbackInfo ci)
     {
         WorldChunk chunk = world.getChunkManager().getWorldChunk(packet.getChunkX(), packet.getChunkZ(), false);
-        int startX = chunk.getPos().getStartX();
-        int startZ = chunk.getPos().getStartZ();
-        LoadChunkEvent loadChunkEvent = new LoadChunkEvent(chunk);
-        EventBus.INSTANCE.dispatch(loadChunkEvent);
-        for (int y = chunk.getBottomY(); y < chunk.getHeight(); y++)
+        if (chunk == null)
         {
-            for (int x1 = startX; x1 < startX + 16; x1++)
-            {
-                for (int z1 = startZ; z1 < startZ + 16; z1++)
-                {
-                    BlockPos pos = new BlockPos(x1, y, z1);
-                    BlockState state = chunk.getBlockState(pos);
-                    LoadChunkBlockEvent loadChunkBlockEvent = new LoadChunkBlockEvent(pos, state);
-                    EventBus.INSTANCE.dispatch(loadChunkBlockEvent);
-                }
-            }
+            return;
         }
+        LoadChunkEvent loadChunkEvent = new LoadChunkEvent(chunk);
+        EventBus.INSTANCE.dispatch(loadChunkEvent);
     }
 
     @Inject(method = "onPlayerPositionLook", at = @At(value = "HEAD"), cancellable = true)
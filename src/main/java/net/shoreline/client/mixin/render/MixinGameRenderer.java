@@ -61,15 +61,29 @@ public class MixinGameRenderer implements Globals
     @Inject(method = "renderWorld", at = @At(value = "INVOKE_STRING", target = "Lnet/minecraft/util/profiler/Profiler;swap(Ljava/lang/String;)V", args = {"ldc=hand"}), locals = LocalCapture.CAPTURE_FAILEXCEPTION)
     private void hookRenderWorld(RenderTickCounter tickCounter, CallbackInfo ci, @Local(ordinal = 1) Matrix4f matrix4f2, @Local(ordinal = 1) float tickDelta, @Local MatrixStack matrixStack)
     {
-        RenderWorldEvent.Game renderWorldEvent = new RenderWorldEvent.Game(matrixStack, tickDelta);
-        EventBus.INSTANCE.dispatch(renderWorldEvent);
+        RenderWorldEvent.Game renderWorldEvent = RenderWorldEvent.Game.acquire(matrixStack, tickDelta);
+        try
+        {
+            EventBus.INSTANCE.dispatch(renderWorldEvent);
+        }
+        finally
+        {
+            renderWorldEvent.release();
+        }
     }
 
     @Inject(method = "renderWorld", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/render/GameRenderer;renderHand(Lnet/minecraft/client/render/Camera;FLorg/joml/Matrix4f;)V", shift = At.Shift.AFTER))
     public void hookRenderWorld$2(RenderTickCounter tickCounter, CallbackInfo ci, @Local(ordinal = 1) Matrix4f matrix4f2, @Local(ordinal = 1) float tickDelta, @Local MatrixStack matrixStack)
     {
-        RenderWorldEvent.Hand reloadShaderEvent = new RenderWorldEvent.Hand(matrixStack, tickDelta);
-        EventBus.INSTANCE.dispatch(reloadShaderEvent);
+        RenderWorldEvent.Hand reloadShaderEvent = RenderWorldEvent.Hand.acquire(matrixStack, tickDelta);
+        try
+        {
+            EventBus.INSTANCE.dispatch(reloadShaderEvent);
+        }
+        finally
+        {
+            reloadShaderEvent.release();
+        }
     }
 
     @Inject(method = "renderWorld", at = @At(value = "INVOKE", target = "Lnet/minecraft/client/render/LightmapTextureManager;update(F)V"))
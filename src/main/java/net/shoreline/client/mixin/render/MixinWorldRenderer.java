@@ -37,8 +37,15 @@ public class MixinWorldRenderer implements Globals
         matrixStack.multiply(RotationAxis.POSITIVE_Y.rotationDegrees(camera.getYaw() + 180.0f));
         RenderSystem.applyModelViewMatrix();
         final RenderWorldEvent renderWorldEvent =
-                new RenderWorldEvent(matrixStack, tickCounter.getTickDelta(true));
-        EventBus.INSTANCE.dispatch(renderWorldEvent);
+                RenderWorldEvent.acquire(matrixStack, tickCounter.getTickDelta(true));
+        try
+        {
+            EventBus.INSTANCE.dispatch(renderWorldEvent);
+        }
+        finally
+        {
+            renderWorldEvent.release();
+        }
         RenderSystem.getModelViewStack().popMatrix();
         RenderSystem.applyModelViewMatrix();
     }
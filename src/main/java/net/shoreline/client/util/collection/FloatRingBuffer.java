@@ -0,0 +1,226 @@
+package net.shoreline.client.util.collection;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A fixed capacity ring buffer of primitive floats which keeps the last
+ * {@link #capacity()} values and their running sum. Writers are serialized
+ * by a {@link StampedLock} and readers use optimistic reads, so reading from
+ * another thread never blocks while values are only added from one thread.
+ *
+ * @author linus
+ * @see LongRingBuffer
+ * @since 1.0
+ */
+public class FloatRingBuffer
+{
+    //
+    private final StampedLock lock = new StampedLock();
+    private final float[] values;
+    // The total number of added values, the next index is writes % capacity
+    private long writes;
+    private double sum;
+
+    /**
+     * @param capacity The maximum number of values
+     */
+    public FloatRingBuffer(int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.values = new float[capacity];
+    }
+
+    /**
+     * Adds the value and evicts the oldest value if the buffer is full
+     *
+     * @param value
+     */
+    public void add(float value)
+    {
+        long stamp = lock.writeLock();
+        try
+        {
+            int index = (int) (writes % values.length);
+            if (writes >= values.length)
+            {
+                sum -= values[index];
+            }
+            values[index] = value;
+            sum += value;
+            writes++;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear()
+    {
+        long stamp = lock.writeLock();
+        try
+        {
+            writes = 0;
+            sum = 0.0;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The number of values in the buffer
+     */
+    public int size()
+    {
+        long stamp = lock.tryOptimisticRead();
+        long w = writes;
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                w = writes;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        return (int) Math.min(w, values.length);
+    }
+
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    public boolean isFull()
+    {
+        return size() == values.length;
+    }
+
+    public int capacity()
+    {
+        return values.length;
+    }
+
+    /**
+     * @return The sum of the values in the buffer
+     */
+    public float sum()
+    {
+        long stamp = lock.tryOptimisticRead();
+        double s = sum;
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                s = sum;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        return (float) s;
+    }
+
+    /**
+     * @return The average of the values in the buffer or <tt>0</tt> if the
+     * buffer is empty
+     */
+    public float average()
+    {
+        long stamp = lock.tryOptimisticRead();
+        double s = sum;
+        long w = writes;
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                s = sum;
+                w = writes;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        int size = (int) Math.min(w, values.length);
+        return size == 0 ? 0.0f : (float) (s / size);
+    }
+
+    /**
+     * @param defaultValue The value returned if the buffer is empty
+     * @return The most recently added value
+     */
+    public float latest(float defaultValue)
+    {
+        long stamp = lock.tryOptimisticRead();
+        float latest = latest0(defaultValue);
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                latest = latest0(defaultValue);
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * @param defaultValue The value returned if the buffer is empty
+     * @return The minimum value in the buffer
+     */
+    public float min(float defaultValue)
+    {
+        long stamp = lock.tryOptimisticRead();
+        float min = min0(defaultValue);
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                min = min0(defaultValue);
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        return min;
+    }
+
+    private float latest0(float defaultValue)
+    {
+        long w = writes;
+        return w == 0 ? defaultValue : values[(int) ((w - 1) % values.length)];
+    }
+
+    private float min0(float defaultValue)
+    {
+        int size = (int) Math.min(writes, values.length);
+        if (size == 0)
+        {
+            return defaultValue;
+        }
+        float min = Float.MAX_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,159 @@
+package net.shoreline.client.util.collection;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A fixed capacity ring buffer of primitive longs which keeps the last
+ * {@link #capacity()} values and their running sum. Writers are serialized
+ * by a {@link StampedLock} and readers use optimistic reads, so reading from
+ * another thread never blocks while values are only added from one thread.
+ *
+ * @author linus
+ * @see FloatRingBuffer
+ * @since 1.0
+ */
+public class LongRingBuffer
+{
+    //
+    private final StampedLock lock = new StampedLock();
+    private final long[] values;
+    // The total number of added values, the next index is writes % capacity
+    private long writes;
+    private long sum;
+
+    /**
+     * @param capacity The maximum number of values
+     */
+    public LongRingBuffer(int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Adds the value and evicts the oldest value if the buffer is full
+     *
+     * @param value
+     */
+    public void add(long value)
+    {
+        long stamp = lock.writeLock();
+        try
+        {
+            int index = (int) (writes % values.length);
+            if (writes >= values.length)
+            {
+                sum -= values[index];
+            }
+            values[index] = value;
+            sum += value;
+            writes++;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear()
+    {
+        long stamp = lock.writeLock();
+        try
+        {
+            writes = 0;
+            sum = 0;
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The number of values in the buffer
+     */
+    public int size()
+    {
+        long stamp = lock.tryOptimisticRead();
+        long w = writes;
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                w = writes;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        return (int) Math.min(w, values.length);
+    }
+
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    public boolean isFull()
+    {
+        return size() == values.length;
+    }
+
+    public int capacity()
+    {
+        return values.length;
+    }
+
+    /**
+     * @return The sum of the values in the buffer
+     */
+    public long sum()
+    {
+        long stamp = lock.tryOptimisticRead();
+        long s = sum;
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                s = sum;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        return s;
+    }
+
+    /**
+     * @return The average of the values in the buffer or <tt>0</tt> if the
+     * buffer is empty
+     */
+    public double average()
+    {
+        long stamp = lock.tryOptimisticRead();
+        long s = sum;
+        long w = writes;
+        if (!lock.validate(stamp))
+        {
+            stamp = lock.readLock();
+            try
+            {
+                s = sum;
+                w = writes;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+        int size = (int) Math.min(w, values.length);
+        return size == 0 ? 0.0 : (double) s / size;
+    }
+}
@@ -1,30 +1,69 @@
 package net.shoreline.client.util.math;
 
-import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
 
+/**
+ * Counts the events of the last second in {@link #BUCKETS} buckets of
+ * {@link #BUCKET_MS}ms. Each bucket packs its time stamp and count into one
+ * long which is updated with a CAS, so the counter can be updated from any
+ * thread (e.g. the netty thread) and read from another without locking.
+ *
+ * @author linus
+ * @since 1.0
+ */
 public class PerSecondCounter
 {
-    private final LinkedList<Long> counter = new LinkedList<>();
+    private static final int BUCKETS = 20;
+    private static final long BUCKET_MS = 1000L / BUCKETS;
+    // The low bits of a bucket hold the count, the high bits the time stamp
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    //
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    // The current time in ms
+    private final LongSupplier clock;
+
+    public PerSecondCounter()
+    {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock The current time in ms
+     */
+    public PerSecondCounter(LongSupplier clock)
+    {
+        this.clock = clock;
+    }
 
     public void updateCounter()
     {
-        counter.add(System.currentTimeMillis() + 1000L);
+        long stamp = clock.getAsLong() / BUCKET_MS;
+        int index = (int) (stamp % BUCKETS);
+        while (true)
+        {
+            long bucket = buckets.get(index);
+            long update = bucket >>> COUNT_BITS == stamp ? bucket + 1 : stamp << COUNT_BITS | 1;
+            if (bucket >>> COUNT_BITS > stamp || buckets.compareAndSet(index, bucket, update))
+            {
+                return;
+            }
+        }
     }
 
     public int getPerSecond()
     {
-        long time = System.currentTimeMillis();
-        try
+        long stamp = clock.getAsLong() / BUCKET_MS;
+        int count = 0;
+        for (int i = 0; i < BUCKETS; i++)
         {
-            while (!counter.isEmpty() && counter.peek() != null && counter.peek() < time)
+            long bucket = buckets.get(i);
+            if (stamp - (bucket >>> COUNT_BITS) < BUCKETS)
             {
-                counter.remove();
+                count += (int) (bucket & COUNT_MASK);
             }
-        } catch (Exception e)
-        {
-            counter.clear();
-            e.printStackTrace();
         }
-        return counter.size();
+        return count;
     }
 }
@@ -0,0 +1,170 @@
+package net.shoreline.client.util.world;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.shoreline.client.util.Globals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Finds the blocks of a chunk which match a block state filter. Sections
+ * are skipped with the palette of their block state container, so a chunk
+ * without any matching state is rejected without reading a single block
+ * and only the matching sections are iterated.
+ *
+ * <p>{@link #snapshot(Chunk, Predicate)} copies the matching section
+ * containers on the calling thread so the copies can be iterated on another
+ * thread while the chunk changes or unloads. {@link #scanAsync(Chunk, Predicate)}
+ * iterates them on the scanner thread.</p>
+ *
+ * @author linus
+ * @since 1.0
+ */
+public class ChunkScanner implements Globals
+{
+    private static final Executor SCAN_EXECUTOR = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread t = new Thread(r, "Chunk-Scanner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param chunk  The chunk
+     * @param filter The block state filter
+     * @return <tt>true</tt> if the palette of any section of the chunk
+     * contains a state which matches the filter
+     */
+    public static boolean hasAny(Chunk chunk, Predicate<BlockState> filter)
+    {
+        for (ChunkSection section : chunk.getSectionArray())
+        {
+            if (!section.isEmpty() && section.getBlockStateContainer().hasAny(filter))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits every block of the chunk which matches the filter on the
+     * calling thread.
+     *
+     * @param chunk    The chunk
+     * @param filter   The block state filter
+     * @param consumer The visitor
+     */
+    public static void scan(Chunk chunk, Predicate<BlockState> filter,
+                            BiConsumer<BlockPos, BlockState> consumer)
+    {
+        ChunkSection[] sections = chunk.getSectionArray();
+        for (int i = 0; i < sections.length; i++)
+        {
+            ChunkSection section = sections[i];
+            if (section.isEmpty() || !section.getBlockStateContainer().hasAny(filter))
+            {
+                continue;
+            }
+            scanSection(chunk.getPos(), chunk.sectionIndexToCoord(i),
+                    section.getBlockStateContainer(), filter, consumer);
+        }
+    }
+
+    /**
+     * Finds the blocks of the chunk which match the filter on the scanner
+     * thread. The filter must be safe to call from the scanner thread.
+     *
+     * @param chunk  The chunk
+     * @param filter The block state filter
+     * @return The matching blocks
+     */
+    public static CompletableFuture<List<Match>> scanAsync(Chunk chunk, Predicate<BlockState> filter)
+    {
+        return CompletableFuture.supplyAsync(snapshot(chunk, filter), SCAN_EXECUTOR);
+    }
+
+    /**
+     * Copies the sections of the chunk which may contain a matching state
+     * and returns a scan over the copies. The scan can be run on any thread
+     * and the filter must be safe to call from that thread.
+     *
+     * @param chunk  The chunk
+     * @param filter The block state filter
+     * @return The scan over the copied sections
+     */
+    public static Supplier<List<Match>> snapshot(Chunk chunk, Predicate<BlockState> filter)
+    {
+        ChunkPos chunkPos = chunk.getPos();
+        ChunkSection[] sections = chunk.getSectionArray();
+        List<PalettedContainer<BlockState>> containers = new ArrayList<>();
+        List<Integer> sectionYs = new ArrayList<>();
+        for (int i = 0; i < sections.length; i++)
+        {
+            ChunkSection section = sections[i];
+            if (section.isEmpty() || !section.getBlockStateContainer().hasAny(filter))
+            {
+                continue;
+            }
+            containers.add(section.getBlockStateContainer().copy());
+            sectionYs.add(chunk.sectionIndexToCoord(i));
+        }
+        if (containers.isEmpty())
+        {
+            return List::of;
+        }
+        return () ->
+        {
+            List<Match> matches = new ArrayList<>();
+            for (int i = 0; i < containers.size(); i++)
+            {
+                scanSection(chunkPos, sectionYs.get(i), containers.get(i), filter,
+                        (pos, state) -> matches.add(new Match(pos, state)));
+            }
+            return matches;
+        };
+    }
+
+    private static void scanSection(ChunkPos chunkPos, int sectionY,
+                                    PalettedContainer<BlockState> container,
+                                    Predicate<BlockState> filter,
+                                    BiConsumer<BlockPos, BlockState> consumer)
+    {
+        int startX = chunkPos.getStartX();
+        int startY = sectionY << 4;
+        int startZ = chunkPos.getStartZ();
+        for (int y = 0; y < 16; y++)
+        {
+            for (int z = 0; z < 16; z++)
+            {
+                for (int x = 0; x < 16; x++)
+                {
+                    BlockState state = container.get(x, y, z);
+                    if (filter.test(state))
+                    {
+                        consumer.accept(new BlockPos(startX + x, startY + y, startZ + z), state);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param pos   The block position
+     * @param state The block state
+     */
+    public record Match(BlockPos pos, BlockState state)
+    {
+    }
+}
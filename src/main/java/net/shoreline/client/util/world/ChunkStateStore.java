@@ -0,0 +1,171 @@
+package net.shoreline.client.util.world;
+
+import net.minecraft.util.math.ChunkPos;
+import net.shoreline.client.Shoreline;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores a 2 bit state per chunk in memory mapped files. The world is
+ * sharded into squares of 256x256 chunks, each shard is a 16 KiB file which
+ * is only created once a chunk in it is stored. The states live in the page
+ * cache instead of the heap and only the most recently used shards stay
+ * mapped, so the store stays small no matter how many chunks are stored and
+ * reopening it does not read anything until a shard is accessed.
+ *
+ * <p>The store may be read and written from any thread.</p>
+ *
+ * @author linus
+ * @since 1.0
+ */
+public class ChunkStateStore
+{
+    public static final int UNKNOWN = 0;
+    public static final int NEW = 1;
+    public static final int OLD = 2;
+    // The log2 of the shard size in chunks
+    private static final int SHARD_SHIFT = 8;
+    private static final int SHARD_MASK = (1 << SHARD_SHIFT) - 1;
+    private static final int SHARD_BYTES = (1 << (SHARD_SHIFT * 2)) / 4;
+    // Max number of mapped shards, older shards are unmapped
+    private static final int MAX_MAPPED = 64;
+    //
+    private final Path dir;
+    private final Map<Long, MappedByteBuffer> shards = new LinkedHashMap<>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MappedByteBuffer> eldest)
+        {
+            if (size() > MAX_MAPPED)
+            {
+                eldest.getValue().force();
+                return true;
+            }
+            return false;
+        }
+    };
+    // Shards without a file, so reads outside of the stored area do not
+    // check the file system every time
+    private final Set<Long> missing = new HashSet<>();
+    private boolean closed;
+
+    /**
+     * @param dir The directory of the shard files
+     */
+    public ChunkStateStore(Path dir)
+    {
+        this.dir = dir;
+    }
+
+    /**
+     * @param chunkX
+     * @param chunkZ
+     * @return The state of the chunk or {@link #UNKNOWN} if the chunk is not
+     * stored
+     */
+    public synchronized int get(int chunkX, int chunkZ)
+    {
+        MappedByteBuffer shard = getShard(chunkX, chunkZ, false);
+        if (shard == null)
+        {
+            return UNKNOWN;
+        }
+        int index = getIndex(chunkX, chunkZ);
+        return (shard.get(index >> 2) >> ((index & 3) << 1)) & 3;
+    }
+
+    /**
+     * Stores the state of the chunk unless a state is already stored
+     *
+     * @param chunkX
+     * @param chunkZ
+     * @param state  {@link #NEW} or {@link #OLD}
+     * @return <tt>true</tt> if the state was stored
+     */
+    public synchronized boolean putIfUnknown(int chunkX, int chunkZ, int state)
+    {
+        MappedByteBuffer shard = getShard(chunkX, chunkZ, true);
+        if (shard == null)
+        {
+            return false;
+        }
+        int index = getIndex(chunkX, chunkZ);
+        int shift = (index & 3) << 1;
+        byte bits = shard.get(index >> 2);
+        if (((bits >> shift) & 3) != UNKNOWN)
+        {
+            return false;
+        }
+        shard.put(index >> 2, (byte) (bits | (state & 3) << shift));
+        return true;
+    }
+
+    /**
+     * Writes the mapped shards to disk and unmaps them. The store can not be
+     * used after it is closed, reads return {@link #UNKNOWN}.
+     */
+    public synchronized void close()
+    {
+        for (MappedByteBuffer shard : shards.values())
+        {
+            shard.force();
+        }
+        shards.clear();
+        closed = true;
+    }
+
+    private MappedByteBuffer getShard(int chunkX, int chunkZ, boolean create)
+    {
+        if (closed)
+        {
+            return null;
+        }
+        int shardX = chunkX >> SHARD_SHIFT;
+        int shardZ = chunkZ >> SHARD_SHIFT;
+        long key = ChunkPos.toLong(shardX, shardZ);
+        MappedByteBuffer shard = shards.get(key);
+        if (shard != null || !create && missing.contains(key))
+        {
+            return shard;
+        }
+        Path file = dir.resolve(shardX + "." + shardZ + ".bin");
+        if (!create && !Files.exists(file))
+        {
+            missing.add(key);
+            return null;
+        }
+        try
+        {
+            Files.createDirectories(dir);
+            // Mapping past the end of the file grows a new file to the shard size
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE))
+            {
+                shard = channel.map(FileChannel.MapMode.READ_WRITE, 0, SHARD_BYTES);
+            }
+        }
+        catch (IOException e)
+        {
+            Shoreline.error("Could not map chunk states {}!", file);
+            e.printStackTrace();
+            return null;
+        }
+        missing.remove(key);
+        shards.put(key, shard);
+        return shard;
+    }
+
+    private static int getIndex(int chunkX, int chunkZ)
+    {
+        return (chunkZ & SHARD_MASK) << SHARD_SHIFT | chunkX & SHARD_MASK;
+    }
+}
@@ -1,6 +1,5 @@
 package net.shoreline.client.util.world;
 
-import net.minecraft.block.BlockState;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.enchantment.Enchantments;
 import net.minecraft.entity.DamageUtil;
@@ -15,17 +14,14 @@ import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.item.ArmorItem;
 import net.minecraft.item.ItemStack;
-import net.minecraft.util.hit.BlockHitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.world.BlockView;
 import net.shoreline.client.util.Globals;
 import net.shoreline.client.util.player.EnchantmentUtil;
 import org.apache.commons.lang3.mutable.MutableInt;
 
 import java.util.Set;
-import java.util.function.BiFunction;
 
 /**
  * @author linus
@@ -270,9 +266,7 @@ public class ExplosionUtil implements Globals
         double dy = pos.getY() - bb.minY;
         double dz = pos.getZ() - bb.minZ;
         final Box box = bb.offset(dx, dy, dz);
-        //
-        RaycastFactory raycastFactory = getRaycastFactory(ignoreTerrain ? IgnoreTerrain.BLAST : IgnoreTerrain.NONE);
-        double ab = getExposure(explosion, box, raycastFactory);
+        double ab = getExposure(explosion, box, ignoreTerrain ? IgnoreTerrain.BLAST : IgnoreTerrain.NONE);
         double w = Math.sqrt(pos.squaredDistanceTo(explosion)) / 12.0;
         double ac = (1.0 - w) * ab;
         double dmg = (float) ((int) ((ac * ac + ac) / 2.0 * 7.0 * 12.0 + 1.0));
@@ -369,8 +363,7 @@ public class ExplosionUtil implements Globals
                                      final IgnoreTerrain ignoreTerrain,
                                      final Set<BlockPos> ignoreBlocks)
     {
-        RaycastFactory raycastFactory = getRaycastFactory(ignoreTerrain, ignoreBlocks);
-        return getExposure(source, box, raycastFactory);
+        return ExposureEngine.getExposure(source, box, ignoreTerrain, ignoreBlocks);
     }
 
     /**
@@ -383,141 +376,7 @@ public class ExplosionUtil implements Globals
                                      final Box box,
                                      final IgnoreTerrain ignoreTerrain)
     {
-        RaycastFactory raycastFactory = getRaycastFactory(ignoreTerrain);
-        return getExposure(source, box, raycastFactory);
-    }
-
-    /**
-     * @param source
-     * @param box
-     * @return
-     */
-    private static float getExposure(final Vec3d source,
-                                     final Box box,
-                                     final RaycastFactory raycastFactory)
-    {
-        double xDiff = box.maxX - box.minX;
-        double yDiff = box.maxY - box.minY;
-        double zDiff = box.maxZ - box.minZ;
-
-        double xStep = 1 / (xDiff * 2 + 1);
-        double yStep = 1 / (yDiff * 2 + 1);
-        double zStep = 1 / (zDiff * 2 + 1);
-
-        if (xStep > 0 && yStep > 0 && zStep > 0)
-        {
-            int misses = 0;
-            int hits = 0;
-
-            double xOffset = (1 - Math.floor(1 / xStep) * xStep) * 0.5;
-            double zOffset = (1 - Math.floor(1 / zStep) * zStep) * 0.5;
-
-            xStep = xStep * xDiff;
-            yStep = yStep * yDiff;
-            zStep = zStep * zDiff;
-
-            double startX = box.minX + xOffset;
-            double startY = box.minY;
-            double startZ = box.minZ + zOffset;
-            double endX = box.maxX + xOffset;
-            double endY = box.maxY;
-            double endZ = box.maxZ + zOffset;
-
-            for (double x = startX; x <= endX; x += xStep)
-            {
-                for (double y = startY; y <= endY; y += yStep)
-                {
-                    for (double z = startZ; z <= endZ; z += zStep)
-                    {
-                        Vec3d position = new Vec3d(x, y, z);
-
-                        if (raycast(new ExposureRaycastContext(position, source), raycastFactory) == null) misses++;
-
-                        hits++;
-                    }
-                }
-            }
-
-            return (float) misses / hits;
-        }
-
-        return 0f;
-    }
-
-    private static RaycastFactory getRaycastFactory(IgnoreTerrain ignoreTerrain, Set<BlockPos> ignoreBlocks)
-    {
-        if (ignoreTerrain == IgnoreTerrain.BLAST)
-        {
-            return (context, blockPos) ->
-            {
-                if (ignoreBlocks.contains(blockPos))
-                {
-                    return null;
-                }
-                BlockState blockState = mc.world.getBlockState(blockPos);
-                if (blockState.getBlock().getBlastResistance() < 600) return null;
-
-                return blockState.getCollisionShape(mc.world, blockPos).raycast(context.start(), context.end(), blockPos);
-            };
-        }
-        else if (ignoreTerrain == IgnoreTerrain.ALL)
-        {
-            return (context, blockPos) -> null;
-        }
-        else
-        {
-            return (context, blockPos) ->
-            {
-                if (ignoreBlocks.contains(blockPos))
-                {
-                    return null;
-                }
-                BlockState blockState = mc.world.getBlockState(blockPos);
-                return blockState.getCollisionShape(mc.world, blockPos).raycast(context.start(), context.end(), blockPos);
-            };
-        }
-    }
-
-    private static RaycastFactory getRaycastFactory(IgnoreTerrain ignoreTerrain)
-    {
-        if (ignoreTerrain == IgnoreTerrain.BLAST)
-        {
-            return (context, blockPos) ->
-            {
-                BlockState blockState = mc.world.getBlockState(blockPos);
-                if (blockState.getBlock().getBlastResistance() < 600) return null;
-
-                return blockState.getCollisionShape(mc.world, blockPos).raycast(context.start(), context.end(), blockPos);
-            };
-        }
-        else if (ignoreTerrain == IgnoreTerrain.ALL)
-        {
-            return (context, blockPos) -> null;
-        }
-        else
-        {
-            return (context, blockPos) ->
-            {
-                BlockState blockState = mc.world.getBlockState(blockPos);
-                return blockState.getCollisionShape(mc.world, blockPos).raycast(context.start(), context.end(), blockPos);
-            };
-        }
-    }
-
-    /* Raycasts */
-
-    private static BlockHitResult raycast(ExposureRaycastContext context, RaycastFactory raycastFactory)
-    {
-        return BlockView.raycast(context.start, context.end, context, raycastFactory, ctx -> null);
-    }
-
-    public record ExposureRaycastContext(Vec3d start, Vec3d end)
-    {
-    }
-
-    @FunctionalInterface
-    public interface RaycastFactory extends BiFunction<ExposureRaycastContext, BlockPos, BlockHitResult>
-    {
+        return ExposureEngine.getExposure(source, box, ignoreTerrain);
     }
 
     public enum IgnoreTerrain
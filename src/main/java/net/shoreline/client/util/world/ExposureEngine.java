@@ -0,0 +1,444 @@
+package net.shoreline.client.util.world;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+import net.shoreline.client.impl.event.TickEvent;
+import net.shoreline.client.impl.manager.world.WorldSnapshot;
+import net.shoreline.client.impl.event.world.SetBlockStateEvent;
+import net.shoreline.client.init.Managers;
+import net.shoreline.client.util.Globals;
+import net.shoreline.eventbus.EventBus;
+import net.shoreline.eventbus.annotation.EventListener;
+import net.shoreline.eventbus.event.StageEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes explosion exposure over a per-tick snapshot of the block
+ * collision shapes. The snapshot is built lazily per chunk section and
+ * stores a bitset of the cells with a collision shape, so exposure rays
+ * skip empty cells without looking up block states. Rays are traversed
+ * with the same DDA as {@link net.minecraft.world.BlockView#raycast} and
+ * only the cells with a collision shape are tested against their shape,
+ * which yields the same exposure as raycasting the world.
+ *
+ * <p>Exposure values are memoized per source, box and ignored blocks. The
+ * main thread reads the live world and its cache is cleared every tick and
+ * on block changes. The calculation threads read the {@link WorldSnapshot}
+ * and use a separate cache which belongs to one snapshot, so sections of an
+ * older snapshot never mix with the live world or a newer snapshot.</p>
+ *
+ * @author linus
+ * @see ExplosionUtil
+ * @since 1.0
+ */
+public class ExposureEngine implements Globals
+{
+    private static final ExposureEngine INSTANCE = new ExposureEngine();
+    // Live world cache of the main thread, cleared every tick
+    private final Cache live = new Cache(null);
+    // Cache of the latest snapshot used by the calculation threads,
+    // replaced when a newer snapshot is captured
+    private volatile Cache snapshotCache = new Cache(WorldSnapshot.EMPTY);
+
+    private ExposureEngine()
+    {
+        EventBus.INSTANCE.subscribe(this);
+    }
+
+    @EventListener(priority = Integer.MAX_VALUE)
+    public void onTick(TickEvent event)
+    {
+        if (event.getStage() == StageEvent.EventStage.PRE)
+        {
+            live.sections.clear();
+            live.exposures.clear();
+        }
+    }
+
+    @EventListener
+    public void onSetBlockState(SetBlockStateEvent event)
+    {
+        // Snapshots do not change, only the live world cache is stale
+        live.sections.remove(ChunkSectionPos.toLong(event.getPos()));
+        live.exposures.clear();
+    }
+
+    /**
+     * @param source
+     * @param box
+     * @param ignoreTerrain
+     * @param ignoreBlocks  The blocks ignored by the rays, must not be
+     *                      modified after the call since it is part of the
+     *                      memoized key
+     * @return The fraction of the box exposed to the source
+     */
+    public static float getExposure(Vec3d source, Box box,
+                                    ExplosionUtil.IgnoreTerrain ignoreTerrain,
+                                    Set<BlockPos> ignoreBlocks)
+    {
+        return INSTANCE.getExposure0(source, box, ignoreTerrain, ignoreBlocks);
+    }
+
+    /**
+     * @param source
+     * @param box
+     * @param ignoreTerrain
+     * @return The fraction of the box exposed to the source
+     */
+    public static float getExposure(Vec3d source, Box box,
+                                    ExplosionUtil.IgnoreTerrain ignoreTerrain)
+    {
+        return INSTANCE.getExposure0(source, box, ignoreTerrain, Collections.emptySet());
+    }
+
+    /**
+     * Computes the exposure over the snapshot without the shared caches
+     *
+     * @param snapshot
+     * @param source
+     * @param box
+     * @param ignoreTerrain
+     * @param ignoreBlocks
+     * @return The fraction of the box exposed to the source
+     */
+    static float getExposure(WorldSnapshot snapshot, Vec3d source, Box box,
+                             ExplosionUtil.IgnoreTerrain ignoreTerrain,
+                             Set<BlockPos> ignoreBlocks)
+    {
+        return INSTANCE.computeExposure(new Cache(snapshot), source, box, ignoreTerrain, ignoreBlocks);
+    }
+
+    private float getExposure0(Vec3d source, Box box,
+                               ExplosionUtil.IgnoreTerrain ignoreTerrain,
+                               Set<BlockPos> ignoreBlocks)
+    {
+        Cache cache = getCache();
+        if (ignoreTerrain == ExplosionUtil.IgnoreTerrain.ALL)
+        {
+            return computeExposure(cache, source, box, ignoreTerrain, ignoreBlocks);
+        }
+        ExposureKey key = new ExposureKey(source.getX(), source.getY(), source.getZ(),
+                box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, ignoreTerrain, ignoreBlocks);
+        Float exposure = cache.exposures.get(key);
+        if (exposure == null)
+        {
+            exposure = computeExposure(cache, source, box, ignoreTerrain, ignoreBlocks);
+            cache.exposures.put(key, exposure);
+        }
+        return exposure;
+    }
+
+    /**
+     * @return The live world cache on the main thread and the cache of the
+     * current snapshot on any other thread
+     */
+    private Cache getCache()
+    {
+        if (mc.isOnThread())
+        {
+            return live;
+        }
+        WorldSnapshot snapshot = Managers.WORLD_SNAPSHOT.getSnapshot();
+        Cache cache = snapshotCache;
+        if (cache.snapshot != snapshot)
+        {
+            cache = new Cache(snapshot);
+            snapshotCache = cache;
+        }
+        return cache;
+    }
+
+    private float computeExposure(Cache cache, Vec3d source, Box box,
+                                  ExplosionUtil.IgnoreTerrain ignoreTerrain,
+                                  Set<BlockPos> ignoreBlocks)
+    {
+        double xDiff = box.maxX - box.minX;
+        double yDiff = box.maxY - box.minY;
+        double zDiff = box.maxZ - box.minZ;
+
+        double xStep = 1 / (xDiff * 2 + 1);
+        double yStep = 1 / (yDiff * 2 + 1);
+        double zStep = 1 / (zDiff * 2 + 1);
+
+        if (xStep > 0 && yStep > 0 && zStep > 0)
+        {
+            int misses = 0;
+            int hits = 0;
+
+            double xOffset = (1 - Math.floor(1 / xStep) * xStep) * 0.5;
+            double zOffset = (1 - Math.floor(1 / zStep) * zStep) * 0.5;
+
+            xStep = xStep * xDiff;
+            yStep = yStep * yDiff;
+            zStep = zStep * zDiff;
+
+            double startX = box.minX + xOffset;
+            double startY = box.minY;
+            double startZ = box.minZ + zOffset;
+            double endX = box.maxX + xOffset;
+            double endY = box.maxY;
+            double endZ = box.maxZ + zOffset;
+
+            BlockPos.Mutable pos = new BlockPos.Mutable();
+            for (double x = startX; x <= endX; x += xStep)
+            {
+                for (double y = startY; y <= endY; y += yStep)
+                {
+                    for (double z = startZ; z <= endZ; z += zStep)
+                    {
+                        if (ignoreTerrain == ExplosionUtil.IgnoreTerrain.ALL
+                                || !raycast(cache, x, y, z, source, ignoreTerrain, ignoreBlocks, pos))
+                        {
+                            misses++;
+                        }
+                        hits++;
+                    }
+                }
+            }
+
+            return (float) misses / hits;
+        }
+
+        return 0f;
+    }
+
+    /**
+     * Port of the {@link net.minecraft.world.BlockView#raycast} traversal
+     * which does not allocate for cells without a collision shape.
+     *
+     * @return <tt>true</tt> if a block obstructs the ray
+     */
+    private boolean raycast(Cache cache, double x, double y, double z, Vec3d end,
+                            ExplosionUtil.IgnoreTerrain ignoreTerrain,
+                            Set<BlockPos> ignoreBlocks, BlockPos.Mutable pos)
+    {
+        if (x == end.getX() && y == end.getY() && z == end.getZ())
+        {
+            return false;
+        }
+        double d = MathHelper.lerp(-1.0E-7, end.getX(), x);
+        double e = MathHelper.lerp(-1.0E-7, end.getY(), y);
+        double f = MathHelper.lerp(-1.0E-7, end.getZ(), z);
+        double g = MathHelper.lerp(-1.0E-7, x, end.getX());
+        double h = MathHelper.lerp(-1.0E-7, y, end.getY());
+        double i = MathHelper.lerp(-1.0E-7, z, end.getZ());
+        int j = MathHelper.floor(g);
+        int k = MathHelper.floor(h);
+        int l = MathHelper.floor(i);
+        Vec3d start = null;
+        if (isSolid(cache, j, k, l, ignoreTerrain))
+        {
+            start = new Vec3d(x, y, z);
+            if (hitsCell(cache, start, end, j, k, l, ignoreBlocks, pos))
+            {
+                return true;
+            }
+        }
+        double m = d - g;
+        double n = e - h;
+        double o = f - i;
+        int p = MathHelper.sign(m);
+        int q = MathHelper.sign(n);
+        int r = MathHelper.sign(o);
+        double s = p == 0 ? Double.MAX_VALUE : (double) p / m;
+        double t = q == 0 ? Double.MAX_VALUE : (double) q / n;
+        double u = r == 0 ? Double.MAX_VALUE : (double) r / o;
+        double v = s * (p > 0 ? 1.0 - MathHelper.fractionalPart(g) : MathHelper.fractionalPart(g));
+        double w = t * (q > 0 ? 1.0 - MathHelper.fractionalPart(h) : MathHelper.fractionalPart(h));
+        double a = u * (r > 0 ? 1.0 - MathHelper.fractionalPart(i) : MathHelper.fractionalPart(i));
+        while (v <= 1.0 || w <= 1.0 || a <= 1.0)
+        {
+            if (v < w)
+            {
+                if (v < a)
+                {
+                    j += p;
+                    v += s;
+                }
+                else
+                {
+                    l += r;
+                    a += u;
+                }
+            }
+            else if (w < a)
+            {
+                k += q;
+                w += t;
+            }
+            else
+            {
+                l += r;
+                a += u;
+            }
+            if (!isSolid(cache, j, k, l, ignoreTerrain))
+            {
+                continue;
+            }
+            if (start == null)
+            {
+                start = new Vec3d(x, y, z);
+            }
+            if (hitsCell(cache, start, end, j, k, l, ignoreBlocks, pos))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hitsCell(Cache cache, Vec3d start, Vec3d end, int x, int y, int z,
+                             Set<BlockPos> ignoreBlocks, BlockPos.Mutable pos)
+    {
+        pos.set(x, y, z);
+        if (!ignoreBlocks.isEmpty() && ignoreBlocks.contains(pos))
+        {
+            return false;
+        }
+        return cache.getSection(x, y, z).getShape(x, y, z).raycast(start, end, pos) != null;
+    }
+
+    private boolean isSolid(Cache cache, int x, int y, int z, ExplosionUtil.IgnoreTerrain ignoreTerrain)
+    {
+        Section section = cache.getSection(x, y, z);
+        int index = Section.index(x, y, z);
+        return ignoreTerrain == ExplosionUtil.IgnoreTerrain.BLAST ?
+                section.isSet(section.resistant, index) : section.isSet(section.solid, index);
+    }
+
+    /**
+     * Sections and exposures of one world, either the live world or a
+     * snapshot
+     */
+    private static class Cache
+    {
+        // The snapshot or null for the live world
+        private final WorldSnapshot snapshot;
+        // Sections by packed section pos
+        private final Map<Long, Section> sections = new ConcurrentHashMap<>();
+        // Memoized exposure values
+        private final Map<ExposureKey, Float> exposures = new ConcurrentHashMap<>();
+
+        private Cache(WorldSnapshot snapshot)
+        {
+            this.snapshot = snapshot;
+        }
+
+        private Section getSection(int x, int y, int z)
+        {
+            long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+            Section section = sections.get(key);
+            if (section == null)
+            {
+                section = new Section(snapshot, x >> 4, y >> 4, z >> 4);
+                sections.put(key, section);
+            }
+            return section;
+        }
+    }
+
+    private static class Section
+    {
+        // Cells with a non-empty collision shape
+        private final long[] solid = new long[64];
+        // Solid cells with a blast resistance of at least 600
+        private final long[] resistant = new long[64];
+        // Collision shapes of the solid cells
+        private final VoxelShape[] shapes = new VoxelShape[4096];
+
+        private Section(WorldSnapshot snapshot, int sectionX, int sectionY, int sectionZ)
+        {
+            PalettedContainer<BlockState> states = getBlockStates(snapshot, sectionX, sectionY, sectionZ);
+            if (states == null)
+            {
+                return;
+            }
+            BlockView world = snapshot != null ? snapshot : mc.world;
+            BlockPos.Mutable pos = new BlockPos.Mutable();
+            for (int y = 0; y < 16; y++)
+            {
+                for (int z = 0; z < 16; z++)
+                {
+                    for (int x = 0; x < 16; x++)
+                    {
+                        BlockState state = states.get(x, y, z);
+                        if (state.isAir())
+                        {
+                            continue;
+                        }
+                        pos.set((sectionX << 4) + x, (sectionY << 4) + y, (sectionZ << 4) + z);
+                        VoxelShape shape = state.getCollisionShape(world, pos);
+                        if (shape.isEmpty())
+                        {
+                            continue;
+                        }
+                        int index = index(x, y, z);
+                        shapes[index] = shape;
+                        solid[index >> 6] |= 1L << index;
+                        if (state.getBlock().getBlastResistance() >= 600)
+                        {
+                            resistant[index >> 6] |= 1L << index;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Reads the section of the snapshot or the live section if the
+         * snapshot is null
+         */
+        private static PalettedContainer<BlockState> getBlockStates(WorldSnapshot snapshot,
+                                                                    int sectionX, int sectionY, int sectionZ)
+        {
+            if (snapshot != null)
+            {
+                return snapshot.getSection(ChunkSectionPos.asLong(sectionX, sectionY, sectionZ));
+            }
+            WorldChunk chunk = mc.world.getChunkManager().getWorldChunk(sectionX, sectionZ, false);
+            if (chunk == null || sectionY < mc.world.getBottomSectionCoord()
+                    || sectionY >= mc.world.getTopSectionCoord())
+            {
+                return null;
+            }
+            ChunkSection chunkSection = chunk.getSection(mc.world.sectionCoordToIndex(sectionY));
+            return chunkSection.isEmpty() ? null : chunkSection.getBlockStateContainer();
+        }
+
+        private static int index(int x, int y, int z)
+        {
+            return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+        }
+
+        private boolean isSet(long[] bits, int index)
+        {
+            return (bits[index >> 6] & 1L << index) != 0;
+        }
+
+        private VoxelShape getShape(int x, int y, int z)
+        {
+            return shapes[index(x, y, z)];
+        }
+    }
+
+    private record ExposureKey(double sourceX, double sourceY, double sourceZ,
+                               double minX, double minY, double minZ,
+                               double maxX, double maxY, double maxZ,
+                               ExplosionUtil.IgnoreTerrain ignoreTerrain,
+                               Set<BlockPos> ignoreBlocks)
+    {
+    }
+}
@@ -0,0 +1,149 @@
+package net.shoreline.client.util.world;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Block sphere iteration backed by precomputed offset tables. The offsets of
+ * each radius are computed once, sorted by distance and packed into a
+ * <tt>long[]</tt> with {@link BlockPos#asLong(int, int, int)}, so iterating
+ * a sphere does not allocate a {@link BlockPos} per position.
+ *
+ * @author linus
+ * @since 1.0
+ */
+public class SphereUtil
+{
+    /**
+     * The distance from a block center to its corners. Callers which accept
+     * blocks by the distance to a corner or the closest point of the block
+     * pad their range by this, so the sphere contains every accepted block.
+     */
+    public static final double BLOCK_HALF_DIAGONAL = Math.sqrt(3.0) / 2.0;
+    // Packed offsets by radius, sorted by distance to the center
+    private static final Map<Integer, long[]> OFFSETS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the offsets within the radius of the center block sorted by
+     * distance to the center. The returned array must not be modified.
+     *
+     * @param radius The radius in blocks
+     * @return The packed offsets
+     */
+    public static long[] getOffsets(int radius)
+    {
+        return OFFSETS.computeIfAbsent(radius, SphereUtil::computeOffsets);
+    }
+
+    private static long[] computeOffsets(int radius)
+    {
+        int diameter = radius * 2 + 1;
+        int[][] offsets = new int[diameter * diameter * diameter][];
+        int count = 0;
+        for (int x = -radius; x <= radius; x++)
+        {
+            for (int y = -radius; y <= radius; y++)
+            {
+                for (int z = -radius; z <= radius; z++)
+                {
+                    if (x * x + y * y + z * z <= radius * radius)
+                    {
+                        offsets[count++] = new int[] {x, y, z};
+                    }
+                }
+            }
+        }
+        offsets = Arrays.copyOf(offsets, count);
+        Arrays.sort(offsets, (o1, o2) -> Integer.compare(o1[0] * o1[0] + o1[1] * o1[1] + o1[2] * o1[2],
+                o2[0] * o2[0] + o2[1] * o2[1] + o2[2] * o2[2]));
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++)
+        {
+            packed[i] = BlockPos.asLong(offsets[i][0], offsets[i][1], offsets[i][2]);
+        }
+        return packed;
+    }
+
+    /**
+     * Visits every block whose center is within the radius of the origin,
+     * closest blocks first. The visited position is reused and must be
+     * copied with {@link BlockPos#toImmutable()} if it is kept.
+     *
+     * @param origin  The sphere origin
+     * @param radius  The sphere radius
+     * @param visitor The visitor
+     */
+    public static void forEach(Vec3d origin, double radius, Consumer<BlockPos.Mutable> visitor)
+    {
+        anyMatch(origin, radius, pos ->
+        {
+            visitor.accept(pos);
+            return false;
+        });
+    }
+
+    /**
+     * Visits the blocks whose center is within the radius of the origin,
+     * closest blocks first, until the predicate matches. The visited
+     * position is reused and must be copied with
+     * {@link BlockPos#toImmutable()} if it is kept.
+     *
+     * @param origin    The sphere origin
+     * @param radius    The sphere radius
+     * @param predicate The predicate
+     * @return <tt>true</tt> if the predicate matched any block
+     */
+    public static boolean anyMatch(Vec3d origin, double radius, Predicate<BlockPos.Mutable> predicate)
+    {
+        // The origin can be anywhere inside its block, one extra block
+        // covers every block center within the radius
+        long[] offsets = getOffsets(MathHelper.ceil(radius) + 1);
+        int blockX = MathHelper.floor(origin.getX());
+        int blockY = MathHelper.floor(origin.getY());
+        int blockZ = MathHelper.floor(origin.getZ());
+        double radiusSq = radius * radius;
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (long offset : offsets)
+        {
+            int x = blockX + BlockPos.unpackLongX(offset);
+            int y = blockY + BlockPos.unpackLongY(offset);
+            int z = blockZ + BlockPos.unpackLongZ(offset);
+            double dx = x + 0.5 - origin.getX();
+            double dy = y + 0.5 - origin.getY();
+            double dz = z + 0.5 - origin.getZ();
+            if (dx * dx + dy * dy + dz * dz > radiusSq)
+            {
+                continue;
+            }
+            if (predicate.test(pos.set(x, y, z)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the blocks whose center is within the radius of the origin
+     * sorted by distance to the origin block.
+     *
+     * @param origin The sphere origin
+     * @param radius The sphere radius
+     * @return The block positions
+     */
+    public static List<BlockPos> getSphere(Vec3d origin, double radius)
+    {
+        List<BlockPos> sphere = new ArrayList<>(getOffsets(MathHelper.ceil(radius) + 1).length);
+        forEach(origin, radius, pos -> sphere.add(pos.toImmutable()));
+        return sphere;
+    }
+}
@@ -0,0 +1,138 @@
+package net.shoreline.eventbus;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import net.shoreline.client.Shoreline;
+import net.shoreline.eventbus.event.Event;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * Generates a hidden {@link EventDispatcher} class per event type which
+ * calls every listener method directly, in priority order, with the cancel
+ * checks unrolled. Unlike the {@link Listener} invokers, every call site in
+ * the generated class is monomorphic so the JIT is able to inline the
+ * listeners into the dispatcher.
+ *
+ * @see EventBus#setGeneratedDispatch(boolean)
+ */
+public final class DispatcherGenerator {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final String CLASS_NAME = Type.getInternalName(EventDispatcher.class) + "$Generated";
+    private static final String EVENT = Type.getInternalName(Event.class);
+
+    private DispatcherGenerator() {
+    }
+
+    /**
+     * @param eventType The event type of the listeners
+     * @param listeners The listeners sorted by priority
+     * @return The generated dispatcher or <tt>null</tt> if the listeners
+     * cannot be called directly from a generated class
+     */
+    public static EventDispatcher generate(Class<?> eventType, Listener[] listeners) {
+        if (!isAccessible(eventType)) {
+            return null;
+        }
+        Object[] subscribers = new Object[listeners.length];
+        for (int i = 0; i < listeners.length; ++i) {
+            Method method = listeners[i].getMethod();
+            if (Modifier.isStatic(method.getModifiers()) || !isAccessible(method.getDeclaringClass())) {
+                return null;
+            }
+            subscribers[i] = listeners[i].getSubscriber();
+        }
+        try {
+            byte[] bytes = writeClass(eventType, listeners);
+            MethodHandles.Lookup dispatcher = LOOKUP.defineHiddenClass(bytes, true);
+            return (EventDispatcher) dispatcher.findConstructor(dispatcher.lookupClass(),
+                    MethodType.methodType(Void.TYPE, Object[].class)).invoke(subscribers);
+        }
+        catch (Throwable e) {
+            Shoreline.error("Failed to generate dispatcher for {}!", eventType.getSimpleName());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static boolean isAccessible(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        // The generated class links against the type by name
+        try {
+            return Class.forName(type.getName(), false, DispatcherGenerator.class.getClassLoader()) == type;
+        }
+        catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static byte[] writeClass(Class<?> eventType, Listener[] listeners) {
+        String eventName = Type.getInternalName(eventType);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // Frames only ever merge identical locals, avoid class loading
+                return "java/lang/Object";
+            }
+        };
+        cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, CLASS_NAME, null,
+                "java/lang/Object", new String[]{Type.getInternalName(EventDispatcher.class)});
+        for (int i = 0; i < listeners.length; ++i) {
+            cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "s" + i,
+                    Type.getDescriptor(listeners[i].getMethod().getDeclaringClass()), null, null).visitEnd();
+        }
+        // <init>(Object[] subscribers)
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        for (int i = 0; i < listeners.length; ++i) {
+            String owner = Type.getInternalName(listeners[i].getMethod().getDeclaringClass());
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(Opcodes.AALOAD);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+            mv.visitFieldInsn(Opcodes.PUTFIELD, CLASS_NAME, "s" + i, "L" + owner + ";");
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        // boolean dispatch(Event event)
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "dispatch", "(L" + EVENT + ";)Z", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, eventName);
+        mv.visitVarInsn(Opcodes.ASTORE, 2);
+        for (int i = 0; i < listeners.length; ++i) {
+            Method method = listeners[i].getMethod();
+            Class<?> owner = method.getDeclaringClass();
+            Label skip = new Label();
+            if (!listeners[i].isReceiveCanceled()) {
+                mv.visitVarInsn(Opcodes.ALOAD, 1);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, EVENT, "isCanceled", "()Z", false);
+                mv.visitJumpInsn(Opcodes.IFNE, skip);
+            }
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, "s" + i, Type.getDescriptor(owner));
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitMethodInsn(owner.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL,
+                    Type.getInternalName(owner), method.getName(), Type.getMethodDescriptor(method), owner.isInterface());
+            mv.visitLabel(skip);
+        }
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, EVENT, "isCanceled", "()Z", false);
+        mv.visitInsn(Opcodes.IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+}
@@ -1,84 +1,230 @@
 package net.shoreline.eventbus;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import net.shoreline.eventbus.EventHandler;
 import net.shoreline.eventbus.Listener;
-import net.shoreline.eventbus.annotation.EventListener;
 import net.shoreline.eventbus.event.Event;
+import net.shoreline.eventbus.event.FilterableEvent;
 
 public class EventBus implements EventHandler {
     /**
-     * A Map<Class<Event>, Invoker> where the keys are the linked list for that event type.
+     * A Map<Class<Event>, Listener[]> where the values are the listeners for that event type.
      *
-     * So the list may look like...
+     * So the map may look like...
      *
-     * <PacketEvent:Invoker>,
-     * <RenderEvent:Invoker>,
-     * <JoinGameEvent:Invoker>
+     * <PacketEvent:Listener[]>,
+     * <RenderEvent:Listener[]>,
+     * <JoinGameEvent:Listener[]>
      *
      * This way, instead of a single linked list that we iterate down each time an event is posted,
-     * we query the map to get the linked list associated with a certain event and invoke ALL the events
-     * on that chain of invokers, without checking if the methodType matches the eventType.
+     * we query the map to get the listeners associated with a certain event and invoke ALL of them,
+     * without checking if the methodType matches the eventType.
      *
-     * If we are in a development environment, use reflection to gather every Event class instance.
-     * then put them in the map with a null invoker (stop_decompiling_1(null, null, null, null)).
-     * (@see DevEventBusLoader)
+     * The arrays are copy-on-write snapshots. They are sorted by priority and only ever rebuilt
+     * in subscribe/unsubscribe, so dispatching is a plain indexed loop that never allocates and
+     * never observes a partially updated listener list, even on the netty thread. Each subscriber
+     * keeps a Subscription (@see Subscription) with its listeners grouped by event type, so
+     * subscribe/unsubscribe only rebuild the arrays of the event types the subscriber listens to.
      *
-     * If we are loading the client dynamically, each time the native class loader encounters a class that
-     * extends Event, it puts it on this map with a null invoker.
+     * With generated dispatch enabled, each snapshot is additionally compiled into a hidden
+     * EventDispatcher class (@see DispatcherGenerator) which is used instead of the listener
+     * loop. Event types whose listeners cannot be generated fall back to the listener loop.
      *
-     * So essentially there is no computeIfAbsent for this list, it is always filled when the DLL is loaded.
+     * Listeners of a FilterableEvent may declare a filter (@see EventListener#filter), e.g. the
+     * packet classes they handle. Event types with filtered listeners keep a FilterTable which
+     * maps each filter type to the listeners accepting it, so each packet only reaches the
+     * listeners which handle that packet.
+     *
+     * The listeners, filter table and dispatcher of an event type are published together in
+     * one immutable ListenerTable (@see ListenerTable), so dispatch reads them with a single
+     * lookup and never mixes the state of two different snapshots.
      */
 
     public static final EventBus INSTANCE = new EventBus();
-    private final Set<Object> subscribers = Collections.synchronizedSet(new HashSet());
-    private final Map<Object, PriorityQueue<Listener>> listeners = new ConcurrentHashMap<Object, PriorityQueue<Listener>>();
+    private final Map<Object, Subscription> subscribers = new IdentityHashMap<Object, Subscription>();
+    private final Map<Object, Subscription> compiled = new IdentityHashMap<Object, Subscription>();
+    private final Map<Class<?>, ListenerTable> tables = new ConcurrentHashMap<Class<?>, ListenerTable>();
+    private volatile boolean generatedDispatch = Boolean.getBoolean("shoreline.eventbus.generated");
+    private volatile ListenerProfiler profiler;
 
     @Override
     public void subscribe(Object obj) {
-        if (this.subscribers.contains(obj)) {
-            return;
-        }
-        this.subscribers.add(obj);
-        for (Method method : obj.getClass().getMethods()) {
-            Class<?>[] params;
-            method.trySetAccessible();
-            if (!method.isAnnotationPresent(EventListener.class)) continue;
-            EventListener listener = method.getAnnotation(EventListener.class);
-            if (method.getReturnType() != Void.TYPE || (params = method.getParameterTypes()).length != 1) continue;
-            PriorityQueue active = this.listeners.computeIfAbsent(params[0], v -> new PriorityQueue());
-            active.add(new Listener(method, obj, listener.receiveCanceled(), listener.priority()));
+        synchronized (this.subscribers) {
+            if (this.subscribers.containsKey(obj)) {
+                return;
+            }
+            Subscription subscription = this.compiled.get(obj);
+            if (subscription == null) {
+                subscription = Subscription.of(obj);
+            }
+            this.subscribers.put(obj, subscription);
+            for (int i = 0; i < subscription.size(); ++i) {
+                Class<?> type = subscription.getType(i);
+                this.update(type, Subscription.merge(this.getListeners(type), subscription.getListeners(i)));
+            }
         }
     }
 
     @Override
     public void unsubscribe(Object obj) {
-        if (this.subscribers.remove(obj)) {
-            this.listeners.values().forEach(set -> set.removeIf(l -> l.getSubscriber() == obj));
-            this.listeners.entrySet().removeIf(e -> ((PriorityQueue)e.getValue()).isEmpty());
+        synchronized (this.subscribers) {
+            Subscription subscription = this.subscribers.remove(obj);
+            if (subscription == null) {
+                return;
+            }
+            for (int i = 0; i < subscription.size(); ++i) {
+                Class<?> type = subscription.getType(i);
+                Listener[] active = this.getListeners(type);
+                if (active == null) continue;
+                Listener[] snapshot = Subscription.remove(active, obj);
+                if (snapshot == active) continue;
+                this.update(type, snapshot);
+            }
+        }
+    }
+
+    /**
+     * Builds the listeners of a subscriber which is subscribed and unsubscribed
+     * often, e.g. a module which is toggled. Later subscriptions reuse the
+     * listeners and only touch the listener arrays of the event types the
+     * subscriber listens to, instead of scanning the subscriber class and
+     * every active event type.
+     *
+     * @param obj The subscriber instance
+     */
+    public void precompile(Object obj) {
+        synchronized (this.subscribers) {
+            this.compiled.computeIfAbsent(obj, Subscription::of);
+        }
+    }
+
+    /**
+     * Builds the listener invokers of the subscriber class ahead of its first
+     * subscription, e.g. on an init thread. Can be called from any thread.
+     *
+     * @param type The subscriber class
+     */
+    public void prepare(Class<?> type) {
+        for (Method method : ListenerRegistry.getListenerMethods(type)) {
+            try {
+                ListenerRegistry.prepare(method);
+            }
+            catch (Throwable e) {
+                // Reported again by the listener once the class is subscribed
+            }
+        }
+    }
+
+    private Listener[] getListeners(Class<?> type) {
+        ListenerTable table = this.tables.get(type);
+        return table != null ? table.getListeners() : null;
+    }
+
+    private void update(Class<?> type, Listener[] snapshot) {
+        if (snapshot.length == 0) {
+            this.tables.remove(type);
+            return;
+        }
+        boolean filtered = false;
+        if (FilterableEvent.class.isAssignableFrom(type)) {
+            for (Listener listener : snapshot) {
+                if (!listener.isFiltered()) continue;
+                filtered = true;
+                break;
+            }
+        }
+        // Filtered event types always dispatch through their filter table
+        EventDispatcher dispatcher = this.generatedDispatch && !filtered ? DispatcherGenerator.generate(type, snapshot) : null;
+        this.tables.put(type, new ListenerTable(snapshot, filtered ? new FilterTable(snapshot) : null, dispatcher));
+    }
+
+    /**
+     * Enables or disables dispatching through generated {@link EventDispatcher}
+     * classes. The mode can also be enabled at launch with the
+     * <tt>shoreline.eventbus.generated</tt> system property.
+     *
+     * @param generatedDispatch Whether to use generated dispatchers
+     */
+    public void setGeneratedDispatch(boolean generatedDispatch) {
+        synchronized (this.subscribers) {
+            this.generatedDispatch = generatedDispatch;
+            for (Map.Entry<Class<?>, ListenerTable> entry : this.tables.entrySet()) {
+                this.update(entry.getKey(), entry.getValue().getListeners());
+            }
         }
     }
 
+    public boolean isGeneratedDispatch() {
+        return this.generatedDispatch;
+    }
+
+    /**
+     * Enables or disables recording the time and allocations of each listener
+     * (@see ListenerProfiler). Enabling starts a new profile. While profiling,
+     * events are dispatched through the listener loop instead of generated
+     * dispatchers.
+     *
+     * @param profiling Whether to profile the listeners
+     */
+    public void setProfiling(boolean profiling) {
+        this.profiler = profiling ? new ListenerProfiler() : null;
+    }
+
+    /**
+     * @return The active profiler or <tt>null</tt> if profiling is disabled
+     */
+    public ListenerProfiler getProfiler() {
+        return this.profiler;
+    }
+
     @Override
     public boolean dispatch(Event event) {
         if (event == null) {
             return false;
         }
-        PriorityQueue<Listener> active = this.listeners.get(event.getClass());
-        if (active == null || active.isEmpty()) {
+        ListenerProfiler profiler = this.profiler;
+        if (profiler != null) {
+            return this.dispatchProfiled(event, profiler);
+        }
+        ListenerTable table = this.tables.get(event.getClass());
+        if (table == null) {
             return false;
         }
-        for (Listener listener : new ArrayList<Listener>(active)) {
+        EventDispatcher dispatcher = table.getDispatcher();
+        if (dispatcher != null) {
+            return dispatcher.dispatch(event);
+        }
+        Listener[] active = table.getListeners();
+        FilterTable filters = table.getFilters();
+        if (filters != null) {
+            active = filters.get(((FilterableEvent) event).getFilterType());
+        }
+        for (int i = 0; i < active.length; ++i) {
+            Listener listener = active[i];
             if (event.isCanceled() && !listener.isReceiveCanceled()) continue;
             listener.invokeSubscriber(event);
         }
         return event.isCanceled();
     }
-}
\ No newline at end of file
+
+    private boolean dispatchProfiled(Event event, ListenerProfiler profiler) {
+        ListenerTable table = this.tables.get(event.getClass());
+        if (table == null) {
+            return false;
+        }
+        Listener[] active = table.getListeners();
+        FilterTable filters = table.getFilters();
+        if (filters != null) {
+            active = filters.get(((FilterableEvent) event).getFilterType());
+        }
+        for (int i = 0; i < active.length; ++i) {
+            Listener listener = active[i];
+            if (event.isCanceled() && !listener.isReceiveCanceled()) continue;
+            profiler.invoke(listener, event);
+        }
+        return event.isCanceled();
+    }
+}
@@ -0,0 +1,19 @@
+package net.shoreline.eventbus;
+
+import net.shoreline.eventbus.event.Event;
+
+/**
+ * Dispatches an event to a fixed set of listeners of a single event type.
+ * Implementations are generated by {@link DispatcherGenerator} and replaced
+ * whenever the subscribers of the event type change.
+ *
+ * @see DispatcherGenerator
+ */
+public interface EventDispatcher {
+    /**
+     * @param event The event, must be an instance of the event type the
+     *              dispatcher was generated for
+     * @return <tt>true</tt> if the event was canceled
+     */
+    public boolean dispatch(Event event);
+}
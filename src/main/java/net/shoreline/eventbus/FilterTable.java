@@ -0,0 +1,44 @@
+package net.shoreline.eventbus;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed dispatch table of a {@link net.shoreline.eventbus.event.FilterableEvent}
+ * type. The listeners accepting each filter type are computed once, on the first event
+ * with that filter type, and kept in priority order. The listeners of a table never
+ * change, a new table is built whenever the listeners of the event type change.
+ *
+ * @see Listener#accepts(Class)
+ */
+final class FilterTable {
+    private final Listener[] listeners;
+    private final Map<Class<?>, Listener[]> accepted = new ConcurrentHashMap<Class<?>, Listener[]>();
+
+    FilterTable(Listener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * @param filterType The filter type of the event
+     * @return The listeners accepting the filter type in priority order
+     */
+    Listener[] get(Class<?> filterType) {
+        Listener[] result = this.accepted.get(filterType);
+        if (result == null) {
+            result = this.accepted.computeIfAbsent(filterType, this::computeAccepted);
+        }
+        return result;
+    }
+
+    private Listener[] computeAccepted(Class<?> filterType) {
+        Listener[] accepted = new Listener[this.listeners.length];
+        int i = 0;
+        for (Listener listener : this.listeners) {
+            if (!listener.accepts(filterType)) continue;
+            accepted[i++] = listener;
+        }
+        return i == accepted.length ? this.listeners : Arrays.copyOf(accepted, i);
+    }
+}
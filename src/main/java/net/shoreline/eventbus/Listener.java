@@ -1,39 +1,30 @@
 package net.shoreline.eventbus;
 
-import java.lang.invoke.CallSite;
-import java.lang.invoke.LambdaMetafactory;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
 import net.shoreline.client.Shoreline;
 import net.shoreline.client.api.Invokable;
 import net.shoreline.eventbus.event.Event;
 
 public class Listener implements Comparable<Listener> {
-    private static final Map<Method, Invokable<Object>> INVOKE_CACHE = new HashMap<Method, Invokable<Object>>();
-    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
     private final Method method;
     private final Object subscriber;
     private final boolean receiveCanceled;
     private final int priority;
+    private final Class<?>[] filter;
     private Invokable<Object> invoker;
 
     public Listener(Method method, Object subscriber, boolean receiveCanceled, int priority) {
+        this(method, subscriber, receiveCanceled, priority, new Class<?>[0]);
+    }
+
+    public Listener(Method method, Object subscriber, boolean receiveCanceled, int priority, Class<?>[] filter) {
         this.method = method;
         this.subscriber = subscriber;
         this.receiveCanceled = receiveCanceled;
         this.priority = priority;
+        this.filter = filter;
         try {
-            if (!INVOKE_CACHE.containsKey(method)) {
-                MethodType methodType = MethodType.methodType(Invokable.class);
-                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "invoke", methodType.appendParameterTypes(subscriber.getClass()), MethodType.methodType(Void.TYPE, Object.class), LOOKUP.unreflect(method), MethodType.methodType(Void.TYPE, method.getParameterTypes()[0]));
-                this.invoker = (Invokable<Object>) callSite.getTarget().invoke(subscriber);
-                INVOKE_CACHE.put(method, this.invoker);
-            } else {
-                this.invoker = INVOKE_CACHE.get(method);
-            }
+            this.invoker = ListenerRegistry.bind(method, subscriber);
         }
         catch (Throwable e) {
             Shoreline.error("Failed to build invoker for {}!", method.getName());
@@ -67,4 +58,24 @@ public class Listener implements Comparable<Listener> {
     public int getPriority() {
         return this.priority;
     }
+
+    public boolean isFiltered() {
+        return this.filter.length > 0;
+    }
+
+    /**
+     * @param filterType The filter type of a {@link net.shoreline.eventbus.event.FilterableEvent}
+     * @return <tt>true</tt> if the listener receives events with the filter type
+     */
+    public boolean accepts(Class<?> filterType) {
+        if (this.filter.length == 0) {
+            return true;
+        }
+        for (Class<?> type : this.filter) {
+            if (type.isAssignableFrom(filterType)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
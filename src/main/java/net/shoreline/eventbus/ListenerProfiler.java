@@ -0,0 +1,145 @@
+package net.shoreline.eventbus;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import net.shoreline.eventbus.event.Event;
+
+/**
+ * Records the invocation count, time and allocated bytes of each listener,
+ * bucketed by the dispatching thread. Only installed while profiling is
+ * enabled (@see EventBus#setProfiling(boolean)), so a disabled profiler costs
+ * dispatch a single null check.
+ *
+ * Netty event loop threads are numbered, they are bucketed by their name
+ * without the number so all packet threads share one bucket.
+ */
+public final class ListenerProfiler {
+    public static final Comparator<Result> BY_TOTAL_TIME = Comparator.comparingLong(Result::totalNanos).reversed();
+    public static final Comparator<Result> BY_MAX_TIME = Comparator.comparingLong(Result::maxNanos).reversed();
+    public static final Comparator<Result> BY_ALLOCATIONS = Comparator.comparingLong(Result::allocatedBytes).reversed();
+    private static final com.sun.management.ThreadMXBean THREADS = ListenerProfiler.getThreadBean();
+    private final Map<String, Map<Listener, Stats>> buckets = new ConcurrentHashMap<String, Map<Listener, Stats>>();
+    private final boolean allocations;
+    private final long started = System.nanoTime();
+
+    ListenerProfiler() {
+        this.allocations = THREADS != null && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    void invoke(Listener listener, Event event) {
+        Stats stats = this.buckets.computeIfAbsent(ListenerProfiler.getBucket(Thread.currentThread()), v -> new ConcurrentHashMap<Listener, Stats>()).computeIfAbsent(listener, Stats::new);
+        long allocated = this.allocations ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+        long start = System.nanoTime();
+        try {
+            listener.invokeSubscriber(event);
+        }
+        finally {
+            long nanos = System.nanoTime() - start;
+            stats.record(nanos, this.allocations ? THREADS.getCurrentThreadAllocatedBytes() - allocated : 0L);
+        }
+    }
+
+    /**
+     * @param limit      The max number of results
+     * @param comparator The order of the results, e.g. {@link #BY_TOTAL_TIME}
+     * @return The recorded listeners in the given order
+     */
+    public List<Result> getResults(int limit, Comparator<Result> comparator) {
+        List<Result> results = new ArrayList<Result>();
+        for (Map.Entry<String, Map<Listener, Stats>> bucket : this.buckets.entrySet()) {
+            for (Stats stats : bucket.getValue().values()) {
+                results.add(stats.toResult(bucket.getKey()));
+            }
+        }
+        results.sort(comparator);
+        return results.size() > limit ? new ArrayList<Result>(results.subList(0, limit)) : results;
+    }
+
+    /**
+     * @return Whether allocated bytes are recorded, not every JVM supports
+     * measuring thread allocations
+     */
+    public boolean isRecordingAllocations() {
+        return this.allocations;
+    }
+
+    /**
+     * @return The time since profiling started in ns
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - this.started;
+    }
+
+    private static String getBucket(Thread thread) {
+        String name = thread.getName();
+        int end = name.length();
+        while (end > 0 && Character.isDigit(name.charAt(end - 1))) {
+            --end;
+        }
+        while (end > 0 && (name.charAt(end - 1) == '#' || name.charAt(end - 1) == ' ' || name.charAt(end - 1) == '-')) {
+            --end;
+        }
+        return end == name.length() || end == 0 ? name : name.substring(0, end);
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+                return bean;
+            }
+        }
+        catch (UnsupportedOperationException | SecurityException e) {
+            // Allocations are not recorded
+        }
+        return null;
+    }
+
+    /**
+     * The recorded stats of one listener on one thread bucket
+     *
+     * @param listener       The listener name, <tt>Subscriber#method</tt>
+     * @param event          The event type name
+     * @param thread         The thread bucket
+     * @param count          The number of invocations
+     * @param totalNanos     The total time in ns
+     * @param maxNanos       The longest invocation in ns
+     * @param allocatedBytes The total allocated bytes
+     */
+    public record Result(String listener, String event, String thread, long count, long totalNanos, long maxNanos, long allocatedBytes) {
+        public long averageNanos() {
+            return this.count == 0L ? 0L : this.totalNanos / this.count;
+        }
+    }
+
+    private static final class Stats {
+        private final Listener listener;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private Stats(Listener listener) {
+            this.listener = listener;
+        }
+
+        private void record(long nanos, long allocated) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+            this.allocatedBytes.add(allocated);
+        }
+
+        private Result toResult(String thread) {
+            String subscriber = this.listener.getSubscriber().getClass().getSimpleName() + "#" + this.listener.getMethod().getName();
+            String event = this.listener.getMethod().getParameterTypes()[0].getSimpleName();
+            return new Result(subscriber, event, thread, this.count.sum(), this.totalNanos.sum(), this.maxNanos.get(), this.allocatedBytes.sum());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package net.shoreline.eventbus;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.shoreline.client.api.Invokable;
+import net.shoreline.eventbus.annotation.EventListener;
+
+/**
+ * Caches the listener methods of each subscriber class and an unbound
+ * {@link Invokable} factory per listener method. The factories are spun
+ * with {@link LambdaMetafactory} once per method and then bound to each
+ * subscriber instance, so every subscriber gets its own invoker without
+ * paying the metafactory cost again. All caches are safe to use from any
+ * thread.
+ *
+ * @see Listener
+ */
+final class ListenerRegistry {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Invokable.class, Object.class);
+    private static final Map<Method, MethodHandle> FACTORIES = new ConcurrentHashMap<Method, MethodHandle>();
+    private static final ClassValue<Method[]> LISTENER_METHODS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            List<Method> methods = new ArrayList<Method>();
+            for (Method method : type.getMethods()) {
+                if (!method.isAnnotationPresent(EventListener.class)) continue;
+                if (method.getReturnType() != Void.TYPE || method.getParameterCount() != 1) continue;
+                method.trySetAccessible();
+                methods.add(method);
+            }
+            return methods.toArray(new Method[0]);
+        }
+    };
+
+    private ListenerRegistry() {
+    }
+
+    /**
+     * @param type The subscriber class
+     * @return The {@link EventListener} methods of the subscriber class
+     */
+    static Method[] getListenerMethods(Class<?> type) {
+        return LISTENER_METHODS.get(type);
+    }
+
+    /**
+     * @param method     The listener method
+     * @param subscriber The subscriber instance declaring the method
+     * @return An invoker bound to the subscriber instance
+     * @throws Throwable if the invoker factory could not be built
+     */
+    static Invokable<Object> bind(Method method, Object subscriber) throws Throwable {
+        return (Invokable<Object>) getFactory(method).invokeExact(subscriber);
+    }
+
+    /**
+     * Spins the invoker factory of the listener method ahead of the first
+     * subscription
+     *
+     * @param method The listener method
+     * @throws Throwable if the invoker factory could not be built
+     */
+    static void prepare(Method method) throws Throwable {
+        getFactory(method);
+    }
+
+    private static MethodHandle getFactory(Method method) throws Throwable {
+        MethodHandle factory = FACTORIES.get(method);
+        if (factory == null) {
+            factory = createFactory(method);
+            MethodHandle existing = FACTORIES.putIfAbsent(method, factory);
+            if (existing != null) {
+                factory = existing;
+            }
+        }
+        return factory;
+    }
+
+    private static MethodHandle createFactory(Method method) throws Throwable {
+        // Capture the declaring class so that the factory can be bound to
+        // any subscriber which inherits the listener method
+        MethodType methodType = MethodType.methodType(Invokable.class, method.getDeclaringClass());
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "invoke", methodType, MethodType.methodType(Void.TYPE, Object.class), LOOKUP.unreflect(method), MethodType.methodType(Void.TYPE, method.getParameterTypes()[0]));
+        return callSite.getTarget().asType(FACTORY_TYPE);
+    }
+}
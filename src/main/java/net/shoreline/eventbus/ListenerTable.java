@@ -0,0 +1,38 @@
+package net.shoreline.eventbus;
+
+/**
+ * The dispatch state of one event type: its listeners in priority order, their
+ * {@link FilterTable} if any listener is filtered and the generated
+ * {@link EventDispatcher} if generated dispatch is enabled. Tables are immutable and
+ * replaced as a whole whenever the listeners of the event type change, so a dispatch
+ * never pairs the listeners of one snapshot with the filters of another.
+ */
+final class ListenerTable {
+    private final Listener[] listeners;
+    private final FilterTable filters;
+    private final EventDispatcher dispatcher;
+
+    ListenerTable(Listener[] listeners, FilterTable filters, EventDispatcher dispatcher) {
+        this.listeners = listeners;
+        this.filters = filters;
+        this.dispatcher = dispatcher;
+    }
+
+    public Listener[] getListeners() {
+        return this.listeners;
+    }
+
+    /**
+     * @return The filter table or <tt>null</tt> if no listener is filtered
+     */
+    public FilterTable getFilters() {
+        return this.filters;
+    }
+
+    /**
+     * @return The generated dispatcher or <tt>null</tt> if the listener loop is used
+     */
+    public EventDispatcher getDispatcher() {
+        return this.dispatcher;
+    }
+}
@@ -0,0 +1,113 @@
+package net.shoreline.eventbus;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.shoreline.eventbus.annotation.EventListener;
+
+/**
+ * The listeners of one subscriber grouped by event type, each group sorted
+ * by priority. Built once per subscriber, subscribing splices the groups into
+ * the listener arrays of their event types and unsubscribing only touches
+ * those event types.
+ *
+ * @see EventBus#precompile(Object)
+ */
+final class Subscription {
+    private final Class<?>[] types;
+    private final Listener[][] listeners;
+
+    private Subscription(Class<?>[] types, Listener[][] listeners) {
+        this.types = types;
+        this.listeners = listeners;
+    }
+
+    /**
+     * @param subscriber The subscriber instance
+     * @return The listeners of the subscriber
+     */
+    static Subscription of(Object subscriber) {
+        Map<Class<?>, List<Listener>> grouped = new LinkedHashMap<Class<?>, List<Listener>>();
+        for (Method method : ListenerRegistry.getListenerMethods(subscriber.getClass())) {
+            EventListener listener = method.getAnnotation(EventListener.class);
+            grouped.computeIfAbsent(method.getParameterTypes()[0], v -> new ArrayList<Listener>()).add(new Listener(method, subscriber, listener.receiveCanceled(), listener.priority(), listener.filter()));
+        }
+        Class<?>[] types = new Class<?>[grouped.size()];
+        Listener[][] listeners = new Listener[grouped.size()][];
+        int i = 0;
+        for (Map.Entry<Class<?>, List<Listener>> entry : grouped.entrySet()) {
+            types[i] = entry.getKey();
+            listeners[i] = entry.getValue().toArray(new Listener[0]);
+            // Stable sort, listeners with equal priority keep their declaration order
+            Arrays.sort(listeners[i]);
+            ++i;
+        }
+        return new Subscription(types, listeners);
+    }
+
+    int size() {
+        return this.types.length;
+    }
+
+    Class<?> getType(int i) {
+        return this.types[i];
+    }
+
+    Listener[] getListeners(int i) {
+        return this.listeners[i];
+    }
+
+    /**
+     * Merges the sorted slice into the sorted active listeners. Listeners
+     * with equal priority keep their subscription order.
+     *
+     * @param active The active listeners or <tt>null</tt>
+     * @param slice  The listeners of the subscriber
+     * @return The merged listeners
+     */
+    static Listener[] merge(Listener[] active, Listener[] slice) {
+        if (active == null || active.length == 0) {
+            return slice.clone();
+        }
+        Listener[] merged = new Listener[active.length + slice.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < active.length && j < slice.length) {
+            merged[k++] = slice[j].compareTo(active[i]) < 0 ? slice[j++] : active[i++];
+        }
+        while (i < active.length) {
+            merged[k++] = active[i++];
+        }
+        while (j < slice.length) {
+            merged[k++] = slice[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * @param active     The active listeners
+     * @param subscriber The subscriber whose listeners are removed
+     * @return The active listeners without the listeners of the subscriber
+     */
+    static Listener[] remove(Listener[] active, Object subscriber) {
+        int remaining = 0;
+        for (Listener listener : active) {
+            if (listener.getSubscriber() == subscriber) continue;
+            ++remaining;
+        }
+        if (remaining == active.length) {
+            return active;
+        }
+        Listener[] snapshot = new Listener[remaining];
+        int i = 0;
+        for (Listener listener : active) {
+            if (listener.getSubscriber() == subscriber) continue;
+            snapshot[i++] = listener;
+        }
+        return snapshot;
+    }
+}
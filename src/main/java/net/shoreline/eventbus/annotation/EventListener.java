@@ -1,5 +1,7 @@
 package net.shoreline.eventbus.annotation;
 
+import net.shoreline.eventbus.event.FilterableEvent;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -24,4 +26,14 @@ public @interface EventListener {
      * @return Whether canceled events can be dispatched
      */
     boolean receiveCanceled() default true;
+
+    /**
+     * Restricts the listener to events of a {@link FilterableEvent} type
+     * whose filter type is one of (or a subtype of) the given classes, e.g.
+     * the packet classes of a packet event. The default value is empty
+     * which receives all events.
+     *
+     * @return The filter types of the listener
+     */
+    Class<?>[] filter() default {};
 }
@@ -4,11 +4,24 @@ import net.shoreline.eventbus.annotation.Cancelable;
 
 public class Event
 {
-    private final boolean cancelable =
-            getClass().isAnnotationPresent(Cancelable.class);
+    // Cached per event class, looking up the annotation reflectively for
+    // every event instance is far too slow for per-packet events
+    private static final ClassValue<Boolean> CANCELABLE = new ClassValue<>()
+    {
+        @Override
+        protected Boolean computeValue(Class<?> type)
+        {
+            return type.isAnnotationPresent(Cancelable.class);
+        }
+    };
+
+    private final boolean cancelable = CANCELABLE.get(getClass());
 
     private boolean canceled;
 
+    // The pool which owns this event, null if the event is not pooled
+    EventPool<?> pool;
+
     public boolean isCancelable()
     {
         return cancelable;
@@ -33,4 +46,28 @@ public class Event
     {
         setCanceled(true);
     }
+
+    /**
+     * Returns a pooled event to its {@link EventPool} once it has been
+     * dispatched. The event must not be used after it is released. Does
+     * nothing if the event is not pooled.
+     *
+     * @see EventPool#acquire()
+     */
+    public void release()
+    {
+        if (pool != null)
+        {
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Resets the event state before it is reused by its {@link EventPool}.
+     * Pooled events should override this to clear any references they hold.
+     */
+    protected void reset()
+    {
+        canceled = false;
+    }
 }
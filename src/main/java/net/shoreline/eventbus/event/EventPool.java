@@ -0,0 +1,74 @@
+package net.shoreline.eventbus.event;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread pool of reusable events for events which are dispatched at a
+ * very high frequency (i.e. packets, ticks and frames). Pooled events are
+ * acquired before they are dispatched and released afterwards, so steady
+ * state dispatching does not allocate. The pool is re-entrant, events
+ * dispatched from inside a listener of the same event type receive a
+ * different instance.
+ *
+ * <p>Listeners must not keep references to pooled events after the
+ * dispatch has finished.</p>
+ *
+ * @param <T> The event type
+ * @see Event#release()
+ */
+public final class EventPool<T extends Event>
+{
+    private final Supplier<T> factory;
+    private final ThreadLocal<Stack> stacks = ThreadLocal.withInitial(Stack::new);
+
+    /**
+     * @param factory Creates a new event when the pool is exhausted
+     */
+    public EventPool(Supplier<T> factory)
+    {
+        this.factory = factory;
+    }
+
+    /**
+     * @return A reset event owned by the calling thread
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire()
+    {
+        Stack stack = stacks.get();
+        if (stack.depth == stack.events.length)
+        {
+            stack.events = Arrays.copyOf(stack.events, stack.events.length * 2);
+        }
+        Event event = stack.events[stack.depth];
+        if (event == null)
+        {
+            event = factory.get();
+            event.pool = this;
+            stack.events[stack.depth] = event;
+        }
+        stack.depth++;
+        return (T) event;
+    }
+
+    /**
+     * @param event The event acquired by the calling thread
+     */
+    void release(Event event)
+    {
+        Stack stack = stacks.get();
+        if (stack.depth == 0 || stack.events[stack.depth - 1] != event)
+        {
+            throw new IllegalStateException("Event released out of order");
+        }
+        stack.depth--;
+        event.reset();
+    }
+
+    private static class Stack
+    {
+        private Event[] events = new Event[4];
+        private int depth;
+    }
+}
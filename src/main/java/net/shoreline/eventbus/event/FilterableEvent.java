@@ -0,0 +1,19 @@
+package net.shoreline.eventbus.event;
+
+import net.shoreline.eventbus.annotation.EventListener;
+
+/**
+ * An event which can be filtered by a type, i.e. the class of the packet
+ * of a packet event. Listeners of a filterable event may declare
+ * {@link EventListener#filter()} to only receive events of the types they
+ * handle.
+ *
+ * @see EventListener#filter()
+ */
+public interface FilterableEvent
+{
+    /**
+     * @return The type the event is filtered by
+     */
+    Class<?> getFilterType();
+}
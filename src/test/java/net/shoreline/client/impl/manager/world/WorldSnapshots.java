@@ -0,0 +1,60 @@
+package net.shoreline.client.impl.manager.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.PalettedContainer;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Builds {@link WorldSnapshot}s of fixed blocks for the tests.
+ *
+ * @author linus
+ * @since 1.0
+ */
+public final class WorldSnapshots
+{
+    private static final int BOTTOM_Y = -64;
+    private static final int HEIGHT = 384;
+
+    private WorldSnapshots()
+    {
+
+    }
+
+    /**
+     * @param blocks The non-air blocks of the snapshot
+     * @return A snapshot of the blocks, all chunks which contain a block are
+     * loaded
+     */
+    public static WorldSnapshot of(Map<BlockPos, BlockState> blocks)
+    {
+        Long2ObjectMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+        LongSet chunks = new LongOpenHashSet();
+        int minSectionY = Integer.MAX_VALUE;
+        int maxSectionY = Integer.MIN_VALUE;
+        for (Map.Entry<BlockPos, BlockState> entry : blocks.entrySet())
+        {
+            BlockPos pos = entry.getKey();
+            PalettedContainer<BlockState> container = sections.computeIfAbsent(
+                    ChunkSectionPos.asLong(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4),
+                    k -> new PalettedContainer<>(Block.STATE_IDS, Blocks.AIR.getDefaultState(),
+                            PalettedContainer.PaletteProvider.BLOCK_STATE));
+            container.swap(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, entry.getValue());
+            chunks.add(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+            minSectionY = Math.min(minSectionY, pos.getY() >> 4);
+            maxSectionY = Math.max(maxSectionY, pos.getY() >> 4);
+        }
+        return new WorldSnapshot(sections, chunks, Collections.emptyList(), BOTTOM_Y, HEIGHT,
+                minSectionY, maxSectionY);
+    }
+}
@@ -0,0 +1,106 @@
+package net.shoreline.client.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author linus
+ * @since 1.0
+ */
+public class FloatRingBufferTest
+{
+    private static final int CAPACITY = 64;
+    private static final int THREADS = 8;
+    private static final int WRITES = 100_000;
+
+    @Test
+    public void testEvictsOldestValues()
+    {
+        FloatRingBuffer buffer = new FloatRingBuffer(CAPACITY);
+        assertEquals(-1.0f, buffer.latest(-1.0f));
+        assertEquals(-1.0f, buffer.min(-1.0f));
+        for (int i = 1; i <= CAPACITY * 3 + 5; i++)
+        {
+            buffer.add(i);
+            // The oldest kept value is the minimum of the increasing values
+            assertEquals(Math.max(1, i - CAPACITY + 1), buffer.min(-1.0f));
+            assertEquals(i, buffer.latest(-1.0f));
+            assertEquals(Math.min(i, CAPACITY), buffer.size());
+        }
+        assertTrue(buffer.isFull());
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertEquals(0.0f, buffer.average());
+    }
+
+    @Test
+    public void testConcurrentWriters() throws InterruptedException
+    {
+        FloatRingBuffer buffer = new FloatRingBuffer(CAPACITY);
+        AtomicReference<String> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++)
+        {
+            Thread writer = new Thread(() ->
+            {
+                awaitQuietly(start);
+                for (int i = 0; i < WRITES; i++)
+                {
+                    buffer.add(1.0f);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        Thread reader = new Thread(() ->
+        {
+            awaitQuietly(start);
+            while (writers.stream().anyMatch(Thread::isAlive))
+            {
+                // Every value is 1, so a consistent read averages to 1
+                float average = buffer.average();
+                int size = buffer.size();
+                if (size > CAPACITY || size > 0 && average != 1.0f)
+                {
+                    failure.compareAndSet(null, "size " + size + ", average " + average);
+                }
+            }
+        });
+        reader.start();
+        start.countDown();
+        for (Thread writer : writers)
+        {
+            writer.join();
+        }
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(CAPACITY, buffer.size());
+        assertEquals(CAPACITY, buffer.sum());
+        // Sequential writes after the concurrent writes evict all of them
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            buffer.add(2.0f);
+        }
+        assertEquals(2.0f, buffer.min(-1.0f));
+        assertEquals(CAPACITY * 2.0f, buffer.sum());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
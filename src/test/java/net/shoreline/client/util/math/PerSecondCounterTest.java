@@ -0,0 +1,94 @@
+package net.shoreline.client.util.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author linus
+ * @since 1.0
+ */
+public class PerSecondCounterTest
+{
+    private static final int THREADS = 8;
+    private static final int UPDATES = 10_000;
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException
+    {
+        AtomicLong time = new AtomicLong(10_000);
+        PerSecondCounter counter = new PerSecondCounter(time::get);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++)
+        {
+            Thread thread = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < UPDATES; i++)
+                {
+                    counter.updateCounter();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+        assertEquals(THREADS * UPDATES, counter.getPerSecond());
+    }
+
+    @Test
+    public void testEviction()
+    {
+        AtomicLong time = new AtomicLong(10_000);
+        PerSecondCounter counter = new PerSecondCounter(time::get);
+        // One update every 100ms over a second
+        for (int i = 0; i < 10; i++)
+        {
+            if (i > 0)
+            {
+                time.addAndGet(100);
+            }
+            counter.updateCounter();
+        }
+        assertEquals(10, counter.getPerSecond());
+        // Each step evicts the oldest update
+        for (int i = 9; i >= 0; i--)
+        {
+            time.addAndGet(100);
+            assertEquals(i, counter.getPerSecond());
+        }
+        counter.updateCounter();
+        assertEquals(1, counter.getPerSecond());
+    }
+
+    @Test
+    public void testOldUpdate()
+    {
+        AtomicLong time = new AtomicLong(10_000);
+        PerSecondCounter counter = new PerSecondCounter(time::get);
+        counter.updateCounter();
+        // An update with an older time stamp does not overwrite a newer bucket
+        time.addAndGet(-1000);
+        counter.updateCounter();
+        time.addAndGet(1000);
+        assertEquals(1, counter.getPerSecond());
+    }
+}
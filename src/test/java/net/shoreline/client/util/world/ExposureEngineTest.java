@@ -0,0 +1,186 @@
+package net.shoreline.client.util.world;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.BlockView;
+import net.shoreline.client.impl.manager.world.WorldSnapshot;
+import net.shoreline.client.impl.manager.world.WorldSnapshots;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential check of the {@link ExposureEngine} against the
+ * {@link BlockView#raycast} exposure it replaced, over random terrain with
+ * full, partial and blast resistant collision shapes.
+ *
+ * @author linus
+ * @since 1.0
+ */
+public class ExposureEngineTest
+{
+    private static final int SAMPLES = 500;
+    // Half size of the random terrain, spans several sections
+    private static final int TERRAIN_RANGE = 12;
+    // Max distance of the sampled sources and boxes from the origin
+    private static final double SAMPLE_RANGE = 8.0;
+
+    @BeforeAll
+    public static void bootstrap()
+    {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Test
+    public void testMatchesRaycast()
+    {
+        Random random = new Random(0x53484f52L);
+        WorldSnapshot world = WorldSnapshots.of(createTerrain(random));
+        for (int n = 0; n < SAMPLES; n++)
+        {
+            Vec3d source = randomPos(random);
+            Vec3d min = randomPos(random);
+            Box box = new Box(min, min.add(0.2 + random.nextDouble() * 1.8,
+                    0.2 + random.nextDouble() * 2.3, 0.2 + random.nextDouble() * 1.8));
+            // Half of the samples ignore blocks inside and around the box
+            Set<BlockPos> ignoreBlocks = new HashSet<>();
+            if (random.nextBoolean())
+            {
+                BlockPos origin = BlockPos.ofFloored(box.getCenter());
+                for (int i = 0; i < 3; i++)
+                {
+                    ignoreBlocks.add(origin.add(random.nextInt(3) - 1, random.nextInt(3) - 1, random.nextInt(3) - 1));
+                }
+            }
+            for (ExplosionUtil.IgnoreTerrain ignoreTerrain : ExplosionUtil.IgnoreTerrain.values())
+            {
+                float expected = getReferenceExposure(world, source, box, ignoreTerrain, ignoreBlocks);
+                float actual = ExposureEngine.getExposure(world, source, box, ignoreTerrain, ignoreBlocks);
+                assertEquals(expected, actual, String.format("%s source %s box %s", ignoreTerrain, source, box));
+            }
+        }
+    }
+
+    private Map<BlockPos, BlockState> createTerrain(Random random)
+    {
+        BlockState[] states =
+                {
+                        Blocks.STONE.getDefaultState(),
+                        Blocks.OBSIDIAN.getDefaultState(),
+                        Blocks.BEDROCK.getDefaultState(),
+                        Blocks.GLASS.getDefaultState(),
+                        Blocks.OAK_SLAB.getDefaultState(),
+                        Blocks.STONE_STAIRS.getDefaultState(),
+                        Blocks.OAK_FENCE.getDefaultState(),
+                        Blocks.ANVIL.getDefaultState(),
+                        Blocks.SHORT_GRASS.getDefaultState(),
+                        Blocks.TORCH.getDefaultState()
+                };
+        Map<BlockPos, BlockState> blocks = new HashMap<>();
+        for (int x = -TERRAIN_RANGE; x < TERRAIN_RANGE; x++)
+        {
+            for (int y = -TERRAIN_RANGE; y < TERRAIN_RANGE; y++)
+            {
+                for (int z = -TERRAIN_RANGE; z < TERRAIN_RANGE; z++)
+                {
+                    if (random.nextInt(4) == 0)
+                    {
+                        blocks.put(new BlockPos(x, y, z), states[random.nextInt(states.length)]);
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private Vec3d randomPos(Random random)
+    {
+        return new Vec3d((random.nextDouble() * 2.0 - 1.0) * SAMPLE_RANGE,
+                (random.nextDouble() * 2.0 - 1.0) * SAMPLE_RANGE,
+                (random.nextDouble() * 2.0 - 1.0) * SAMPLE_RANGE);
+    }
+
+    /**
+     * The exposure computed with {@link BlockView#raycast}, as before the
+     * {@link ExposureEngine}
+     */
+    private float getReferenceExposure(BlockView world, Vec3d source, Box box,
+                                       ExplosionUtil.IgnoreTerrain ignoreTerrain, Set<BlockPos> ignoreBlocks)
+    {
+        double xDiff = box.maxX - box.minX;
+        double yDiff = box.maxY - box.minY;
+        double zDiff = box.maxZ - box.minZ;
+
+        double xStep = 1 / (xDiff * 2 + 1);
+        double yStep = 1 / (yDiff * 2 + 1);
+        double zStep = 1 / (zDiff * 2 + 1);
+
+        if (xStep > 0 && yStep > 0 && zStep > 0)
+        {
+            int misses = 0;
+            int hits = 0;
+
+            double xOffset = (1 - Math.floor(1 / xStep) * xStep) * 0.5;
+            double zOffset = (1 - Math.floor(1 / zStep) * zStep) * 0.5;
+
+            xStep = xStep * xDiff;
+            yStep = yStep * yDiff;
+            zStep = zStep * zDiff;
+
+            double startX = box.minX + xOffset;
+            double startY = box.minY;
+            double startZ = box.minZ + zOffset;
+            double endX = box.maxX + xOffset;
+            double endY = box.maxY;
+            double endZ = box.maxZ + zOffset;
+
+            for (double x = startX; x <= endX; x += xStep)
+            {
+                for (double y = startY; y <= endY; y += yStep)
+                {
+                    for (double z = startZ; z <= endZ; z += zStep)
+                    {
+                        Vec3d position = new Vec3d(x, y, z);
+                        BlockHitResult result = BlockView.raycast(position, source, ignoreTerrain,
+                                (terrain, blockPos) -> raycastBlock(world, position, source, blockPos, terrain, ignoreBlocks),
+                                terrain -> null);
+                        if (result == null)
+                        {
+                            misses++;
+                        }
+                        hits++;
+                    }
+                }
+            }
+
+            return (float) misses / hits;
+        }
+
+        return 0f;
+    }
+
+    private BlockHitResult raycastBlock(BlockView world, Vec3d start, Vec3d end, BlockPos blockPos,
+                                        ExplosionUtil.IgnoreTerrain ignoreTerrain, Set<BlockPos> ignoreBlocks)
+    {
+        if (ignoreTerrain == ExplosionUtil.IgnoreTerrain.ALL || ignoreBlocks.contains(blockPos))
+        {
+            return null;
+        }
+        BlockState blockState = world.getBlockState(blockPos);
+        if (ignoreTerrain == ExplosionUtil.IgnoreTerrain.BLAST && blockState.getBlock().getBlastResistance() < 600)
+        {
+            return null;
+        }
+        return blockState.getCollisionShape(world, blockPos).raycast(start, end, blockPos);
+    }
+}